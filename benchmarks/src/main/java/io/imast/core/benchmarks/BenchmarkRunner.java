@@ -0,0 +1,228 @@
+package io.imast.core.benchmarks;
+
+import io.imast.core.json.Json;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The benchmarks entry point
+ *
+ * Runs the benchmarks matching the given patterns (all by default) and writes
+ * JMH results (jmh.json) and the merged report (report.json) with
+ * compression ratio and MB/s per codec and corpus, and binary to text JSON
+ * size ratio, into the output directory (target/benchmarks or the
+ * "benchmarks.output" system property).
+ *
+ * Usage: java -jar benchmarks/target/benchmarks.jar [pattern...]
+ *
+ * @author davitp
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Run the benchmarks
+     *
+     * @param args The benchmark patterns
+     * @throws RunnerException
+     * @throws IOException
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+
+        // the output directory
+        var output = Paths.get(System.getProperty("benchmarks.output", "target/benchmarks"));
+
+        Files.createDirectories(output);
+
+        // the options
+        var options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.resolve("jmh.json").toString());
+
+        if(args.length == 0){
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+
+        for(var pattern : args){
+            options.include(pattern);
+        }
+
+        // run and report
+        var results = new Runner(options.build()).run();
+
+        Files.write(output.resolve("report.json"), Json.to(report(results)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the report of results
+     *
+     * @param results The run results
+     * @return Returns the report
+     */
+    static Report report(Iterable<RunResult> results) {
+
+        // the report
+        var report = new Report();
+
+        report.timestamp = Instant.now().toString();
+        report.java = System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+        report.os = System.getProperty("os.name") + " " + System.getProperty("os.arch");
+        report.processors = Runtime.getRuntime().availableProcessors();
+        report.results = new ArrayList<>();
+
+        // the subjects by codec and corpus
+        var subjects = new HashMap<String, Subject>();
+
+        // the JSON sizes by encoding
+        var sizes = new HashMap<String, Long>();
+
+        for(var result : results){
+
+            // the entry
+            var entry = new Entry();
+            var params = result.getParams();
+
+            entry.benchmark = params.getBenchmark();
+            entry.mode = params.getMode().shortLabel();
+            entry.params = new LinkedHashMap<>();
+            entry.score = result.getPrimaryResult().getScore();
+            entry.error = result.getPrimaryResult().getScoreError();
+            entry.unit = result.getPrimaryResult().getScoreUnit();
+
+            for(var key : params.getParamsKeys()){
+                entry.params.put(key, params.getParam(key));
+            }
+
+            // the compression ratio and MB/s
+            if(entry.benchmark.startsWith(CompressionBenchmark.class.getName())){
+
+                // the subject of run
+                var codec = entry.params.get("codec");
+                var corpus = Corpus.valueOf(entry.params.get("corpus"));
+                var subject = subjects.computeIfAbsent(codec + "/" + corpus, k -> Subject.of(codec, corpus));
+
+                entry.rawBytes = subject.rawBytes();
+                entry.encodedBytes = subject.encodedBytes();
+                entry.ratio = (double) entry.encodedBytes / entry.rawBytes;
+                entry.megabytesPerSecond = entry.score * entry.rawBytes / 1e6;
+            }
+
+            // the JSON encoding size against compact text
+            if(entry.benchmark.startsWith(JsonBenchmark.class.getName())){
+
+                // the encoding of run
+                var encoding = entry.benchmark.endsWith("Binary") ? "binary" : entry.benchmark.endsWith("Text") ? "text" : null;
+
+                if(encoding != null){
+                    entry.rawBytes = sizes.computeIfAbsent("text", JsonBenchmark::encodedBytes);
+                    entry.encodedBytes = sizes.computeIfAbsent(encoding, JsonBenchmark::encodedBytes);
+                    entry.ratio = (double) entry.encodedBytes / entry.rawBytes;
+                    entry.megabytesPerSecond = entry.score * entry.rawBytes / 1e6;
+                }
+            }
+
+            report.results.add(entry);
+        }
+
+        return report;
+    }
+
+    /**
+     * The benchmarks report
+     */
+    static class Report {
+
+        /**
+         * The report time
+         */
+        String timestamp;
+
+        /**
+         * The Java runtime
+         */
+        String java;
+
+        /**
+         * The operating system
+         */
+        String os;
+
+        /**
+         * The number of processors
+         */
+        int processors;
+
+        /**
+         * The results
+         */
+        List<Entry> results;
+    }
+
+    /**
+     * The benchmark result entry
+     */
+    static class Entry {
+
+        /**
+         * The benchmark method
+         */
+        String benchmark;
+
+        /**
+         * The benchmark mode
+         */
+        String mode;
+
+        /**
+         * The benchmark parameters
+         */
+        Map<String, String> params;
+
+        /**
+         * The score
+         */
+        double score;
+
+        /**
+         * The score error (99.9%)
+         */
+        double error;
+
+        /**
+         * The score unit
+         */
+        String unit;
+
+        /**
+         * The raw corpus bytes (compression, compact text for JSON)
+         */
+        Long rawBytes;
+
+        /**
+         * The encoded corpus bytes (compression and JSON)
+         */
+        Long encodedBytes;
+
+        /**
+         * The ratio of encoded to raw bytes (compression and JSON)
+         */
+        Double ratio;
+
+        /**
+         * The raw megabytes per second (compression and JSON)
+         */
+        Double megabytesPerSecond;
+    }
+}
@@ -0,0 +1,82 @@
+package io.imast.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The compression throughput of codecs over corpora
+ *
+ * One operation encodes (or decodes) every record of the corpus, so the
+ * throughput in MB/s is the score times raw corpus bytes (see
+ * {@link BenchmarkRunner}).
+ *
+ * @author davitp
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    /**
+     * The subject name
+     */
+    @Param({ "gzip", "deflate", "deflate-fast", "lz4", "shoco", "deflate-dictionary", "str-gzip" })
+    public String codec;
+
+    /**
+     * The corpus
+     */
+    @Param({ "ENGLISH", "URLS", "IDENTIFIERS", "JSON", "RANDOM" })
+    public Corpus corpus;
+
+    /**
+     * The subject
+     */
+    private Subject subject;
+
+    /**
+     * Prepare the subject
+     */
+    @Setup
+    public void setup() {
+        this.subject = Subject.of(this.codec, this.corpus);
+    }
+
+    /**
+     * Encode all the records
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for(var i = 0; i < this.subject.size(); i++){
+            blackhole.consume(this.subject.encode(i));
+        }
+    }
+
+    /**
+     * Decode all the records
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for(var i = 0; i < this.subject.size(); i++){
+            blackhole.consume(this.subject.decode(i));
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package io.imast.core.benchmarks;
+
+import io.imast.core.json.Json;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The synthetic benchmark corpora
+ *
+ * Every corpus is generated from a fixed seed, so runs on different machines
+ * and releases measure exactly the same records.
+ *
+ * @author davitp
+ */
+public enum Corpus {
+
+    /**
+     * The short English strings (names, titles, sentences)
+     */
+    ENGLISH,
+
+    /**
+     * The URLs
+     */
+    URLS,
+
+    /**
+     * The identifiers (UUIDs, codes, keys)
+     */
+    IDENTIFIERS,
+
+    /**
+     * The JSON documents produced by Json.to
+     */
+    JSON,
+
+    /**
+     * The random bytes
+     */
+    RANDOM;
+
+    /**
+     * The number of records in corpus
+     */
+    public static final int RECORDS = 1000;
+
+    /**
+     * The seed of generators
+     */
+    private static final long SEED = 20210301L;
+
+    /**
+     * The English words by frequency
+     */
+    private static final String[] WORDS = {
+        "the", "of", "and", "to", "in", "is", "for", "that", "with", "on", "as", "was", "by", "from", "this", "are",
+        "order", "customer", "account", "service", "payment", "invoice", "delivery", "address", "status", "report",
+        "update", "request", "system", "user", "team", "project", "meeting", "review", "quarter", "market", "product",
+        "shipping", "standard", "express", "received", "pending", "completed", "cancelled", "approved", "new", "old"
+    };
+
+    /**
+     * The first names
+     */
+    private static final String[] NAMES = { "John", "Anna", "David", "Maria", "James", "Linda", "Robert", "Sarah", "Michael", "Laura", "Davit", "Elena" };
+
+    /**
+     * The hosts
+     */
+    private static final String[] HOSTS = { "www.example.com", "api.example.org", "cdn.imast.io", "docs.imast.io", "shop.example.net" };
+
+    /**
+     * Gets the records of corpus as strings
+     *
+     * @return Returns the records
+     */
+    public List<String> strings() {
+        return this.strings(SEED);
+    }
+
+    /**
+     * Gets the training records of the same shape as strings (other seed, for dictionaries)
+     *
+     * @return Returns the records
+     */
+    public List<String> training() {
+        return this.strings(~SEED);
+    }
+
+    /**
+     * Generate the records of corpus as strings
+     *
+     * @param seed The seed
+     * @return Returns the records
+     */
+    private List<String> strings(long seed) {
+
+        // the generator
+        var random = new Random(seed + this.ordinal());
+        var records = new ArrayList<String>(RECORDS);
+
+        for(var i = 0; i < RECORDS; i++){
+            records.add(this.next(random, i));
+        }
+
+        return records;
+    }
+
+    /**
+     * Gets the records of corpus as bytes (UTF-8 for text corpora)
+     *
+     * @return Returns the records
+     */
+    public List<byte[]> bytes() {
+
+        // random bytes are not text
+        if(this == RANDOM){
+
+            // the generator
+            var random = new Random(SEED + this.ordinal());
+            var records = new ArrayList<byte[]>(RECORDS);
+
+            for(var i = 0; i < RECORDS; i++){
+
+                // the record
+                var record = new byte[64 + random.nextInt(960)];
+
+                random.nextBytes(record);
+                records.add(record);
+            }
+
+            return records;
+        }
+
+        // the text records
+        var strings = this.strings();
+        var records = new ArrayList<byte[]>(strings.size());
+
+        for(var string : strings){
+            records.add(string.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return records;
+    }
+
+    /**
+     * Generate the next record
+     *
+     * @param random The generator
+     * @param index The record index
+     * @return Returns the record
+     */
+    private String next(Random random, int index) {
+
+        switch(this){
+            case ENGLISH:
+                return sentence(random, 2 + random.nextInt(10));
+            case URLS:
+                return "https://" + pick(random, HOSTS) + "/" + pick(random, WORDS) + "/" + random.nextInt(100000) + (random.nextBoolean() ? "?page=" + random.nextInt(50) + "&sort=" + pick(random, WORDS) : "/" + pick(random, WORDS) + ".html");
+            case IDENTIFIERS:
+                return random.nextBoolean() ? new UUID(random.nextLong(), random.nextLong()).toString() : pick(random, WORDS).toUpperCase() + "-" + (100000 + random.nextInt(900000));
+            case JSON:
+                return Json.to(Document.of(random, index));
+            default:
+
+                // random chars (random bytes are generated separately)
+                var builder = new StringBuilder();
+
+                for(var i = 0; i < 64 + random.nextInt(960); i++){
+                    builder.append((char) (32 + random.nextInt(95)));
+                }
+
+                return builder.toString();
+        }
+    }
+
+    /**
+     * Generate the sentence
+     *
+     * @param random The generator
+     * @param words The number of words
+     * @return Returns the sentence
+     */
+    private static String sentence(Random random, int words) {
+
+        // the sentence
+        var builder = new StringBuilder(pick(random, NAMES));
+
+        for(var i = 1; i < words; i++){
+            builder.append(' ').append(pick(random, WORDS));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Pick random item
+     *
+     * @param random The generator
+     * @param items The items
+     * @return Returns the item
+     */
+    private static String pick(Random random, String[] items) {
+        return items[random.nextInt(items.length)];
+    }
+
+    /**
+     * The synthetic order document
+     */
+    public static class Document {
+
+        /**
+         * The document ID
+         */
+        private String id;
+
+        /**
+         * The customer name
+         */
+        private String customer;
+
+        /**
+         * The status
+         */
+        private String status;
+
+        /**
+         * The total amount
+         */
+        private double total;
+
+        /**
+         * The creation time
+         */
+        private ZonedDateTime created;
+
+        /**
+         * The order lines
+         */
+        private List<Line> lines;
+
+        /**
+         * Generate the document
+         *
+         * @param random The generator
+         * @param index The document index
+         * @return Returns the document
+         */
+        static Document of(Random random, int index) {
+
+            // the document
+            var document = new Document();
+
+            document.id = "order-" + index;
+            document.customer = sentence(random, 2);
+            document.status = pick(random, new String[] { "pending", "approved", "completed", "cancelled" });
+            document.created = ZonedDateTime.of(2021, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), 0, 0, ZoneOffset.UTC);
+            document.lines = new ArrayList<>();
+
+            for(var i = 0; i < 1 + random.nextInt(5); i++){
+
+                // the line
+                var line = new Line();
+
+                line.sku = "SKU-" + random.nextInt(1000);
+                line.title = sentence(random, 3 + random.nextInt(4));
+                line.quantity = 1 + random.nextInt(9);
+                line.price = random.nextInt(100000) / 100.0;
+
+                document.lines.add(line);
+                document.total += line.quantity * line.price;
+            }
+
+            return document;
+        }
+    }
+
+    /**
+     * The synthetic order line
+     */
+    public static class Line {
+
+        /**
+         * The stock keeping unit
+         */
+        private String sku;
+
+        /**
+         * The line title
+         */
+        private String title;
+
+        /**
+         * The quantity
+         */
+        private int quantity;
+
+        /**
+         * The unit price
+         */
+        private double price;
+    }
+}
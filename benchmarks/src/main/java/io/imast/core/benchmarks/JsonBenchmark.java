@@ -0,0 +1,196 @@
+package io.imast.core.benchmarks;
+
+import io.imast.core.json.BinaryJson;
+import io.imast.core.json.Json;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The JSON paths over synthetic order documents
+ *
+ * Compares compact text and binary JSON encoding and decoding, and object
+ * copying through the JSON tree (adapt) with JSON text (adaptViaString) and
+ * the direct type mapper (map).
+ * The report has the encoded sizes of documents next to the text and binary
+ * runs (see {@link #encodedBytes(String)}).
+ *
+ * @author davitp
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    /**
+     * The number of documents
+     */
+    private static final int DOCUMENTS = 100;
+
+    /**
+     * The documents
+     */
+    private List<Corpus.Document> documents;
+
+    /**
+     * The text JSON of documents
+     */
+    private List<String> texts;
+
+    /**
+     * The binary JSON of documents
+     */
+    private List<byte[]> binaries;
+
+    /**
+     * Prepare the documents
+     */
+    @Setup
+    public void setup() {
+
+        this.documents = documents();
+        this.texts = new ArrayList<>(DOCUMENTS);
+        this.binaries = new ArrayList<>(DOCUMENTS);
+
+        for(var document : this.documents){
+            this.texts.add(Json.engine().to(document, false));
+            this.binaries.add(BinaryJson.to(document));
+        }
+    }
+
+    /**
+     * Generate the documents (same for every run)
+     *
+     * @return Returns the documents
+     */
+    static List<Corpus.Document> documents() {
+
+        // the generator
+        var random = new Random(DOCUMENTS);
+        var documents = new ArrayList<Corpus.Document>(DOCUMENTS);
+
+        for(var i = 0; i < DOCUMENTS; i++){
+            documents.add(Corpus.Document.of(random, i));
+        }
+
+        return documents;
+    }
+
+    /**
+     * Gets the total encoded bytes of documents
+     *
+     * @param encoding The encoding: "text" (compact UTF-8) or "binary"
+     * @return Returns the encoded bytes
+     */
+    static long encodedBytes(String encoding) {
+
+        // the total
+        var total = 0L;
+
+        for(var document : documents()){
+            total += "binary".equals(encoding) ? BinaryJson.to(document).length : Json.engine().to(document, false).getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        return total;
+    }
+
+    /**
+     * Write documents as compact text JSON bytes
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void toText(Blackhole blackhole) {
+        for(var document : this.documents){
+            blackhole.consume(Json.engine().to(document, false).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Write documents as binary JSON
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void toBinary(Blackhole blackhole) {
+        for(var document : this.documents){
+            blackhole.consume(BinaryJson.to(document));
+        }
+    }
+
+    /**
+     * Read documents from text JSON
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void fromText(Blackhole blackhole) {
+        for(var text : this.texts){
+            blackhole.consume(Json.from(text, Corpus.Document.class));
+        }
+    }
+
+    /**
+     * Read documents from binary JSON
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void fromBinary(Blackhole blackhole) {
+        for(var binary : this.binaries){
+            blackhole.consume(BinaryJson.from(binary, Corpus.Document.class));
+        }
+    }
+
+    /**
+     * Copy documents through the JSON tree
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void adapt(Blackhole blackhole) {
+        for(var document : this.documents){
+            blackhole.consume(Json.adapt(document, Corpus.Document.class));
+        }
+    }
+
+    /**
+     * Copy documents through JSON text (the former adapt)
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void adaptViaString(Blackhole blackhole) {
+        for(var document : this.documents){
+            blackhole.consume(Json.from(Json.to(document), Corpus.Document.class));
+        }
+    }
+
+    /**
+     * Copy documents with the type mapper
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void map(Blackhole blackhole) {
+        for(var document : this.documents){
+            blackhole.consume(Json.map(document, Corpus.Document.class));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.imast.core.benchmarks;
+
+import io.imast.core.compress.Shoco;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The Shoco API variants over short English strings
+ *
+ * Compares allocating compression with compression into a caller buffer,
+ * sequential with batch compression and string with zero-copy decompression.
+ *
+ * @author davitp
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShocoBenchmark {
+
+    /**
+     * The strings
+     */
+    private List<String> strings;
+
+    /**
+     * The compressed strings
+     */
+    private byte[][] compressed;
+
+    /**
+     * The caller buffer
+     */
+    private byte[] buffer;
+
+    /**
+     * Prepare the strings
+     */
+    @Setup
+    public void setup() {
+        this.strings = Corpus.ENGLISH.strings();
+        this.compressed = new byte[this.strings.size()][];
+        this.buffer = new byte[4096];
+
+        for(var i = 0; i < this.compressed.length; i++){
+            this.compressed[i] = Shoco.compress(this.strings.get(i));
+        }
+    }
+
+    /**
+     * Compress each string into new array
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void compress(Blackhole blackhole) {
+        for(var string : this.strings){
+            blackhole.consume(Shoco.compress(string));
+        }
+    }
+
+    /**
+     * Compress each string into the caller buffer
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void compressInto(Blackhole blackhole) {
+        for(var string : this.strings){
+            blackhole.consume(Shoco.compress(string, this.buffer, 0));
+        }
+    }
+
+    /**
+     * Compress all the strings as batch into one arena
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void compressAll(Blackhole blackhole) {
+        blackhole.consume(Shoco.compressAll(this.strings));
+    }
+
+    /**
+     * Decompress each string
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void decompress(Blackhole blackhole) {
+        for(var bytes : this.compressed){
+            blackhole.consume(Shoco.decompress(bytes));
+        }
+    }
+
+    /**
+     * Decompress each string into the caller buffer
+     *
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void decompressInto(Blackhole blackhole) {
+        for(var bytes : this.compressed){
+            blackhole.consume(Shoco.decompress(bytes, 0, bytes.length, this.buffer));
+        }
+    }
+}
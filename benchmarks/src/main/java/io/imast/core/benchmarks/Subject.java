@@ -0,0 +1,264 @@
+package io.imast.core.benchmarks;
+
+import io.imast.core.Str;
+import io.imast.core.compress.Codec;
+import io.imast.core.compress.Codecs;
+import io.imast.core.compress.DeflateDictionaryCodec;
+import io.imast.core.compress.DeflateDictionaryTrainer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The compression subject of benchmarks (codec prepared over corpus)
+ *
+ * @author davitp
+ */
+public abstract class Subject {
+
+    /**
+     * The names of subjects
+     */
+    public static final String[] NAMES = { "gzip", "deflate", "deflate-fast", "lz4", "shoco", "deflate-dictionary", "str-gzip" };
+
+    /**
+     * Creates the subject by name over corpus
+     *
+     * @param name The subject name
+     * @param corpus The corpus
+     * @return Returns the subject
+     */
+    public static Subject of(String name, Corpus corpus) {
+
+        switch(name){
+            case "gzip":
+                return new CodecSubject(Codecs.GZIP, corpus.bytes());
+            case "deflate":
+                return new CodecSubject(Codecs.DEFLATE, corpus.bytes());
+            case "deflate-fast":
+                return new CodecSubject(Codecs.DEFLATE_FAST, corpus.bytes());
+            case "lz4":
+                return new CodecSubject(Codecs.LZ4, corpus.bytes());
+            case "shoco":
+                return new CodecSubject(Codecs.SHOCO, corpus.bytes());
+            case "deflate-dictionary":
+
+                // the dictionary trained on other records of same shape
+                var dictionary = new DeflateDictionaryTrainer().addAll(corpus.training()).build(1);
+
+                return new CodecSubject(new DeflateDictionaryCodec().register(dictionary), corpus.bytes());
+            case "str-gzip":
+                return new StrGzipSubject(corpus.strings());
+            default:
+                throw new IllegalArgumentException("Unknown subject " + name);
+        }
+    }
+
+    /**
+     * Gets the number of records
+     *
+     * @return Returns the number of records
+     */
+    public abstract int size();
+
+    /**
+     * Gets the raw bytes of all records
+     *
+     * @return Returns the raw bytes
+     */
+    public abstract long rawBytes();
+
+    /**
+     * Gets the encoded bytes of all records
+     *
+     * @return Returns the encoded bytes
+     */
+    public abstract long encodedBytes();
+
+    /**
+     * Encode the record
+     *
+     * @param index The record index
+     * @return Returns the encoded record
+     */
+    public abstract Object encode(int index);
+
+    /**
+     * Decode the encoded record
+     *
+     * @param index The record index
+     * @return Returns the decoded record
+     */
+    public abstract Object decode(int index);
+
+    /**
+     * The codec over byte records
+     */
+    private static class CodecSubject extends Subject {
+
+        /**
+         * The codec
+         */
+        private final Codec codec;
+
+        /**
+         * The raw records
+         */
+        private final List<byte[]> records;
+
+        /**
+         * The encoded records
+         */
+        private final byte[][] encoded;
+
+        /**
+         * Creates new instance of codec subject
+         *
+         * @param codec The codec
+         * @param records The raw records
+         */
+        CodecSubject(Codec codec, List<byte[]> records) {
+            this.codec = codec;
+            this.records = records;
+            this.encoded = new byte[records.size()][];
+
+            for(var i = 0; i < this.encoded.length; i++){
+                this.encoded[i] = codec.encode(records.get(i));
+            }
+        }
+
+        /**
+         * Gets the number of records
+         *
+         * @return Returns the number of records
+         */
+        @Override
+        public int size() {
+            return this.records.size();
+        }
+
+        /**
+         * Gets the raw bytes of all records
+         *
+         * @return Returns the raw bytes
+         */
+        @Override
+        public long rawBytes() {
+            return this.records.stream().mapToLong(r -> r.length).sum();
+        }
+
+        /**
+         * Gets the encoded bytes of all records
+         *
+         * @return Returns the encoded bytes
+         */
+        @Override
+        public long encodedBytes() {
+            return Arrays.stream(this.encoded).mapToLong(r -> r.length).sum();
+        }
+
+        /**
+         * Encode the record
+         *
+         * @param index The record index
+         * @return Returns the encoded record
+         */
+        @Override
+        public Object encode(int index) {
+            return this.codec.encode(this.records.get(index));
+        }
+
+        /**
+         * Decode the encoded record
+         *
+         * @param index The record index
+         * @return Returns the decoded record
+         */
+        @Override
+        public Object decode(int index) {
+            return this.codec.decode(this.encoded[index]);
+        }
+    }
+
+    /**
+     * The Str.gzip over string records (Base64 output)
+     */
+    private static class StrGzipSubject extends Subject {
+
+        /**
+         * The raw records
+         */
+        private final List<String> records;
+
+        /**
+         * The encoded records
+         */
+        private final String[] encoded;
+
+        /**
+         * Creates new instance of Str.gzip subject
+         *
+         * @param records The raw records
+         */
+        StrGzipSubject(List<String> records) {
+            this.records = records;
+            this.encoded = new String[records.size()];
+
+            for(var i = 0; i < this.encoded.length; i++){
+                this.encoded[i] = Str.gzip(records.get(i));
+            }
+        }
+
+        /**
+         * Gets the number of records
+         *
+         * @return Returns the number of records
+         */
+        @Override
+        public int size() {
+            return this.records.size();
+        }
+
+        /**
+         * Gets the raw bytes of all records
+         *
+         * @return Returns the raw bytes
+         */
+        @Override
+        public long rawBytes() {
+            return this.records.stream().mapToLong(r -> r.getBytes(StandardCharsets.UTF_8).length).sum();
+        }
+
+        /**
+         * Gets the encoded bytes of all records
+         *
+         * @return Returns the encoded bytes
+         */
+        @Override
+        public long encodedBytes() {
+            return Arrays.stream(this.encoded).mapToLong(String::length).sum();
+        }
+
+        /**
+         * Encode the record
+         *
+         * @param index The record index
+         * @return Returns the encoded record
+         */
+        @Override
+        public Object encode(int index) {
+            return Str.gzip(this.records.get(index));
+        }
+
+        /**
+         * Decode the encoded record
+         *
+         * @param index The record index
+         * @return Returns the decoded record
+         */
+        @Override
+        public Object decode(int index) {
+            return Str.ungzip(this.encoded[index]);
+        }
+    }
+}
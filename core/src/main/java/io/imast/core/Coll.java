@@ -1,5 +1,9 @@
 package io.imast.core;
 
+import io.imast.core.adt.Int2ObjectMap;
+import io.imast.core.adt.IntList;
+import io.imast.core.adt.LongHashSet;
+import io.imast.core.adt.LongList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -7,6 +11,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * The collection-related extension methods
@@ -119,6 +125,80 @@ public class Coll {
         return result;
     }
     
+    /**
+     * Method to convert collection to map of int keys (no boxing)
+     *
+     * @param <T> The type of item
+     * @param <V> The type of value
+     * @param collection The collection to convert
+     * @param keySelector The int key selector
+     * @param valueSelector The value selector (not null values)
+     * @return Int to object map of collection
+     */
+    public static <T, V> Int2ObjectMap<V> toIntMap(Collection<T> collection, ToIntFunction<T> keySelector, Function<T, V> valueSelector) {
+        Int2ObjectMap<V> result = new Int2ObjectMap<>(collection.size());
+
+        for (T item : collection) {
+            result.put(keySelector.applyAsInt(item), valueSelector.apply(item));
+        }
+
+        return result;
+    }
+    
+    /**
+     * Method to collect int values of collection (no boxing)
+     *
+     * @param <T> The type of item
+     * @param collection The collection to convert
+     * @param selector The int value selector
+     * @return Int list of collection
+     */
+    public static <T> IntList toIntList(Collection<T> collection, ToIntFunction<T> selector) {
+        IntList result = new IntList(collection.size());
+
+        for (T item : collection) {
+            result.add(selector.applyAsInt(item));
+        }
+
+        return result;
+    }
+    
+    /**
+     * Method to collect long values of collection (no boxing)
+     *
+     * @param <T> The type of item
+     * @param collection The collection to convert
+     * @param selector The long value selector
+     * @return Long list of collection
+     */
+    public static <T> LongList toLongList(Collection<T> collection, ToLongFunction<T> selector) {
+        LongList result = new LongList(collection.size());
+
+        for (T item : collection) {
+            result.add(selector.applyAsLong(item));
+        }
+
+        return result;
+    }
+    
+    /**
+     * Method to collect distinct long values of collection (no boxing)
+     *
+     * @param <T> The type of item
+     * @param collection The collection to convert
+     * @param selector The long value selector
+     * @return Long hash set of collection
+     */
+    public static <T> LongHashSet toLongSet(Collection<T> collection, ToLongFunction<T> selector) {
+        LongHashSet result = new LongHashSet(collection.size());
+
+        for (T item : collection) {
+            result.add(selector.applyAsLong(item));
+        }
+
+        return result;
+    }
+    
     /**
      * Checks if collection does not have any value or is null
      * 
@@ -1,9 +1,10 @@
 package io.imast.core;
 
+import io.imast.core.compress.Gzip;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -11,8 +12,6 @@ import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * The String extensions
@@ -551,17 +550,7 @@ public class Str {
             return source;
         }
         
-        // create a byte stream
-        var byteStream = new ByteArrayOutputStream();
-        
-        // create gzip stream and write into byte stream
-        try (var gzipStream = new GZIPOutputStream(byteStream)) {
-            gzipStream.write(source.getBytes());
-        } catch (IOException ex) {
-            return null;
-        }
-        
-        return toBase64(byteStream.toByteArray());
+        return toBase64(Gzip.compress(source.getBytes()));
     }
     
     /**
@@ -579,21 +568,87 @@ public class Str {
         
         // decode base64 formatted compressed string into bytes
         var bytes = Base64.getDecoder().decode(compressed);
-                
-        // create gzip stream and write into byte stream
-        try (var gzipStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
-            
-            // read result
-            var result = gzipStream.readAllBytes();
-            
-            // handle null
-            if(result == null){
-                return null;
-            }
-            
-            return new String(result, StandardCharsets.UTF_8);
-        } catch (IOException ex) {
+        
+        // decompress bytes
+        var result = ungzip(bytes);
+        
+        // handle null
+        if(result == null){
             return null;
         }
+        
+        return new String(result, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * GZIP compress the bytes (no Base64)
+     * 
+     * @param source The source to compress
+     * @return Returns GZIP bytes
+     */
+    public static byte[] gzip(byte[] source) {
+        return gzip(source, Gzip.DEFAULT_LEVEL);
+    }
+    
+    /**
+     * GZIP compress the bytes with the level (no Base64)
+     * 
+     * @param source The source to compress
+     * @param level The compression level (-1 for default, 0 to 9)
+     * @return Returns GZIP bytes
+     */
+    public static byte[] gzip(byte[] source, int level) {
+        
+        // nothing to do
+        if(source == null){
+            return null;
+        }
+        
+        return Gzip.compress(source, 0, source.length, level);
+    }
+    
+    /**
+     * Decompress the GZIP bytes (no Base64)
+     * 
+     * @param compressed The GZIP bytes
+     * @return Returns decompressed bytes or null if malformed
+     */
+    public static byte[] ungzip(byte[] compressed) {
+        
+        // nothing to do
+        if(compressed == null){
+            return null;
+        }
+        
+        try {
+            return Gzip.decompress(compressed);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+    
+    /**
+     * GZIP compress the input stream directly into the output stream
+     * 
+     * @param source The source stream (not closed)
+     * @param target The target stream (not closed)
+     * @param level The compression level (-1 for default, 0 to 9)
+     * @return Returns the number of written bytes
+     * @throws IOException
+     */
+    public static long gzip(InputStream source, OutputStream target, int level) throws IOException {
+        return Gzip.compress(source, target, level);
+    }
+    
+    /**
+     * Decompress the GZIP input stream directly into the output stream
+     * 
+     * @param source The GZIP source stream (not closed)
+     * @param target The target stream (not closed)
+     * @return Returns the number of decompressed bytes
+     * @throws IOException
+     */
+    public static long ungzip(InputStream source, OutputStream target) throws IOException {
+        return Gzip.decompress(source, target);
     }
 }
@@ -0,0 +1,403 @@
+package io.imast.core.adt;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The arena of off-heap buffers
+ *
+ * Buffers are slices of large direct segments in power-of-two size classes
+ * (64 bytes up to the segment size). Released slices go to the small cache
+ * of releasing thread and, when it is full, to the shared free list of their
+ * class; allocation takes from the thread cache, then the free list, then
+ * carves the current segment. Segments are never returned to the system
+ * while the arena is alive. Requests larger than a segment get a dedicated
+ * direct buffer which is left to the garbage collector on release.
+ *
+ * The cache of thread which has finished is moved to the free lists once the
+ * thread is collected. Threads which release buffers allocated elsewhere
+ * (e.g. consumers of a pipeline) or pooled threads going idle should call
+ * {@link #trimCache()} to hand the cached slices back without waiting.
+ *
+ * In debug mode (constructor flag or the "io.imast.adt.arena.debug" system
+ * property) every buffer records its allocation site and buffers which
+ * become unreachable without release are counted and logged as leaks.
+ *
+ * @author davitp
+ */
+@Slf4j
+public class BufferArena {
+
+    /**
+     * The system property enabling leak detection of default arenas
+     */
+    public static final String DEBUG_PROPERTY = "io.imast.adt.arena.debug";
+
+    /**
+     * The default segment size
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 22;
+
+    /**
+     * The smallest size class
+     */
+    public static final int MIN_SIZE = 64;
+
+    /**
+     * The largest size class cached by threads
+     */
+    private static final int CACHE_MAX_SIZE = 1 << 16;
+
+    /**
+     * The number of buffers cached by thread per size class
+     */
+    private static final int CACHE_DEPTH = 8;
+
+    /**
+     * The shared arena
+     */
+    public static final BufferArena DEFAULT = new BufferArena();
+
+    /**
+     * The segment size
+     */
+    private final int segmentSize;
+
+    /**
+     * The leak detection is enabled
+     */
+    private final boolean debug;
+
+    /**
+     * The free lists by size class
+     */
+    private final List<ConcurrentLinkedQueue<ByteBuffer>> free;
+
+    /**
+     * The thread caches
+     */
+    private final ThreadLocal<ByteBuffer[][]> caches;
+
+    /**
+     * The bytes leased and not released
+     */
+    private final AtomicLong used;
+
+    /**
+     * The number of detected leaks
+     */
+    private final LongAdder leaks;
+
+    /**
+     * The current segment
+     */
+    private ByteBuffer segment;
+
+    /**
+     * The carve position in current segment
+     */
+    private int position;
+
+    /**
+     * The bytes allocated by segments
+     */
+    private volatile long allocated;
+
+    /**
+     * Creates new instance of arena with default segment size
+     */
+    public BufferArena() {
+        this(DEFAULT_SEGMENT_SIZE, Boolean.getBoolean(DEBUG_PROPERTY));
+    }
+
+    /**
+     * Creates new instance of arena
+     *
+     * @param segmentSize The segment size (power of two, at least 64KB)
+     * @param debug The leak detection is enabled
+     */
+    public BufferArena(int segmentSize, boolean debug) {
+
+        // validate segment size
+        if(segmentSize < CACHE_MAX_SIZE || Integer.bitCount(segmentSize) != 1){
+            throw new IllegalArgumentException("Segment size should be power of two and at least " + CACHE_MAX_SIZE);
+        }
+
+        this.segmentSize = segmentSize;
+        this.debug = debug;
+        this.free = new ArrayList<>(sizeClass(segmentSize) + 1);
+        this.caches = ThreadLocal.withInitial(this::createCache);
+        this.used = new AtomicLong();
+        this.leaks = new LongAdder();
+        this.segment = null;
+        this.position = segmentSize;
+        this.allocated = 0;
+
+        for(var i = 0; i <= sizeClass(segmentSize); i++){
+            this.free.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Lease the buffer of at least size bytes
+     *
+     * @param size The size
+     * @return Returns the buffer (capacity rounded up to size class)
+     */
+    public PooledBuffer allocate(int size) {
+
+        // validate size
+        if(size < 0){
+            throw new IllegalArgumentException("Buffer size should not be negative");
+        }
+
+        // the slice
+        var sizeClass = size > this.segmentSize ? -1 : sizeClass(size);
+        var buffer = sizeClass < 0 ? ByteBuffer.allocateDirect(size) : this.take(sizeClass);
+
+        this.used.addAndGet(buffer.capacity());
+
+        // the lease
+        var lease = new PooledBuffer.Lease(buffer, sizeClass, this.debug ? new Throwable("Buffer allocation site") : null);
+
+        return new PooledBuffer(this, lease, this.debug ? Reclaimer.CLEANER : null);
+    }
+
+    /**
+     * Gets the bytes leased and not released
+     *
+     * @return Returns the used bytes
+     */
+    public long usedBytes() {
+        return this.used.get();
+    }
+
+    /**
+     * Gets the bytes allocated by segments
+     *
+     * @return Returns the allocated bytes
+     */
+    public long allocatedBytes() {
+        return this.allocated;
+    }
+
+    /**
+     * Gets the number of buffers found unreachable without release (debug only)
+     *
+     * @return Returns the number of leaks
+     */
+    public long leaks() {
+        return this.leaks.sum();
+    }
+
+    /**
+     * Move the buffers cached by current thread to the shared free lists
+     *
+     * Call it from threads which mostly release buffers of other threads or
+     * before pooled threads go idle, so the cached slices are reused at once
+     */
+    public void trimCache() {
+        trim(this.caches.get(), this.free);
+    }
+
+    /**
+     * Return the lease to the arena
+     *
+     * @param lease The lease
+     */
+    void release(PooledBuffer.Lease lease) {
+
+        // the slice
+        var buffer = lease.buffer;
+
+        this.used.addAndGet(-buffer.capacity());
+
+        // unpooled buffer
+        if(lease.sizeClass < 0){
+            return;
+        }
+
+        buffer.clear();
+
+        // the thread cache first
+        var cache = this.caches.get();
+
+        if(lease.sizeClass < cache.length){
+
+            // the free slot of class
+            var slots = cache[lease.sizeClass];
+
+            for(var i = 0; i < CACHE_DEPTH; i++){
+                if(slots[i] == null){
+                    slots[i] = buffer;
+                    return;
+                }
+            }
+        }
+
+        this.free.get(lease.sizeClass).offer(buffer);
+    }
+
+    /**
+     * Report the lease which was not released
+     *
+     * @param lease The lease
+     */
+    void leaked(PooledBuffer.Lease lease) {
+
+        // the slice is not reused: its buffer may be still referenced
+        this.used.addAndGet(-lease.buffer.capacity());
+        this.leaks.increment();
+
+        log.error("Off-heap buffer of " + lease.buffer.capacity() + " bytes was not released", lease.site);
+    }
+
+    /**
+     * Take the slice of size class
+     *
+     * @param sizeClass The size class
+     * @return Returns the slice
+     */
+    private ByteBuffer take(int sizeClass) {
+
+        // the thread cache
+        var cache = this.caches.get();
+
+        if(sizeClass < cache.length){
+
+            // the cached slots of class
+            var slots = cache[sizeClass];
+
+            for(var i = CACHE_DEPTH - 1; i >= 0; i--){
+                if(slots[i] != null){
+
+                    // the cached slice
+                    var buffer = slots[i];
+
+                    slots[i] = null;
+
+                    return buffer;
+                }
+            }
+        }
+
+        // the shared free list
+        var buffer = this.free.get(sizeClass).poll();
+
+        return buffer != null ? buffer : this.carve(MIN_SIZE << sizeClass);
+    }
+
+    /**
+     * Carve the slice from current segment
+     *
+     * @param size The size (power of two)
+     * @return Returns the slice
+     */
+    private synchronized ByteBuffer carve(int size) {
+
+        // new segment
+        if(this.position + size > this.segmentSize){
+
+            // split the rest of segment into free slices
+            while(this.segment != null && this.segmentSize - this.position >= MIN_SIZE){
+
+                // the largest class fitting the rest
+                var rest = Integer.highestOneBit(this.segmentSize - this.position);
+
+                this.free.get(sizeClass(rest)).offer(this.slice(rest));
+            }
+
+            this.segment = ByteBuffer.allocateDirect(this.segmentSize);
+            this.position = 0;
+            this.allocated += this.segmentSize;
+        }
+
+        return this.slice(size);
+    }
+
+    /**
+     * Slice the segment at position
+     *
+     * @param size The size
+     * @return Returns the slice
+     */
+    private ByteBuffer slice(int size) {
+
+        // the slice at position
+        var slice = this.segment.duplicate();
+
+        slice.limit(this.position + size).position(this.position);
+        this.position += size;
+
+        return slice.slice();
+    }
+
+    /**
+     * Creates the cache of current thread
+     *
+     * The slots are moved to the free lists once the thread is collected
+     *
+     * @return Returns the cache slots by size class
+     */
+    private ByteBuffer[][] createCache() {
+
+        // the cache slots
+        var slots = new ByteBuffer[sizeClass(CACHE_MAX_SIZE) + 1][CACHE_DEPTH];
+
+        // the owner of slots (the drain must not reference the arena to let it be collected)
+        var free = this.free;
+
+        Reclaimer.CLEANER.register(Thread.currentThread(), () -> trim(slots, free));
+
+        return slots;
+    }
+
+    /**
+     * Move the cached slices to the free lists
+     *
+     * @param cache The cache slots by size class
+     * @param free The free lists by size class
+     */
+    private static void trim(ByteBuffer[][] cache, List<ConcurrentLinkedQueue<ByteBuffer>> free) {
+
+        for(var sizeClass = 0; sizeClass < cache.length; sizeClass++){
+
+            // the cached slots of class
+            var slots = cache[sizeClass];
+
+            for(var i = 0; i < CACHE_DEPTH; i++){
+                if(slots[i] != null){
+                    free.get(sizeClass).offer(slots[i]);
+                    slots[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the size class of size
+     *
+     * @param size The size
+     * @return Returns the size class
+     */
+    private static int sizeClass(int size) {
+        return size <= MIN_SIZE ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MIN_SIZE);
+    }
+
+    /**
+     * The lazily started cleaner of leaked buffers and thread caches
+     */
+    private static final class Reclaimer {
+
+        /**
+         * The cleaner
+         */
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+}
@@ -1,57 +1,650 @@
 package io.imast.core.adt;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * The byte buffer in place
- * 
+ *
+ * Growable bytes with a write pointer and a read cursor. Writes grow
+ * the storage (amortized doubling), reads consume bytes between the read
+ * cursor and the write pointer. Multi-byte values are written big-endian
+ * unless the method name says LE; varints are unsigned LEB128 and zigzag
+ * varints map signed values to small unsigned ones.
+ *
+ * The bytes live in heap array by default or in the off-heap storage leased
+ * from the buffer arena; off-heap buffers should be released (or closed)
+ * when done.
+ *
  * @author davitp
  */
-public class ByteBuffer {
-    
+public class ByteBuffer implements AutoCloseable {
+
+    /**
+     * The default initial capacity
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The maximum capacity
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     /**
      * The internal storage
      */
-    private final byte[] internal;
-    
+    private ByteStorage storage;
+
     /**
      * The current pointer
      */
     private int pointer;
 
+    /**
+     * The read cursor
+     */
+    private int position;
+
     /**
      * Creates new instance of buffer
-     * 
+     */
+    public ByteBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new instance of buffer
+     *
      * @param size The buffer size
      */
     public ByteBuffer(int size) {
-        this.internal = new byte[size];
+        this(new HeapStorage(size));
+    }
+
+    /**
+     * Creates new instance of buffer on the storage
+     *
+     * @param storage The storage
+     */
+    public ByteBuffer(ByteStorage storage) {
+        this.storage = storage;
         this.pointer = 0;
+        this.position = 0;
+    }
+
+    /**
+     * Creates new buffer on off-heap storage of default arena
+     *
+     * @param size The initial size
+     * @return Returns the buffer
+     */
+    public static ByteBuffer offHeap(int size) {
+        return offHeap(BufferArena.DEFAULT, size);
+    }
+
+    /**
+     * Creates new buffer on off-heap storage of arena
+     *
+     * @param arena The arena
+     * @param size The initial size
+     * @return Returns the buffer
+     */
+    public static ByteBuffer offHeap(BufferArena arena, int size) {
+        return new ByteBuffer(arena.allocate(size));
+    }
+
+    /**
+     * Wrap the bytes for reading (not copied)
+     *
+     * @param bytes The bytes
+     * @return Returns the buffer with bytes written
+     */
+    public static ByteBuffer wrap(byte[] bytes) {
+
+        // the buffer over bytes
+        var buffer = new ByteBuffer(new HeapStorage(bytes));
+
+        buffer.pointer = bytes.length;
+
+        return buffer;
     }
 
     /**
      * Gets the pointer to byte
-     * 
+     *
      * @return Returns the pointer
      */
     public int pointer() {
         return this.pointer;
     }
-     
+
+    /**
+     * Gets the number of written bytes
+     *
+     * @return Returns the size
+     */
+    public int size() {
+        return this.pointer;
+    }
+
+    /**
+     * Gets the current capacity
+     *
+     * @return Returns the capacity
+     */
+    public int capacity() {
+        return this.storage.capacity();
+    }
+
+    /**
+     * Gets the storage of buffer
+     *
+     * @return Returns the storage
+     */
+    public ByteStorage storage() {
+        return this.storage;
+    }
+
+    /**
+     * Clear the buffer for reuse (storage is kept)
+     *
+     * @return Returns the buffer
+     */
+    public ByteBuffer reset() {
+        this.pointer = 0;
+        this.position = 0;
+        return this;
+    }
+
+    /**
+     * Ensure the capacity for more bytes
+     *
+     * @param count The number of bytes to write
+     * @return Returns the buffer
+     */
+    public ByteBuffer ensure(int count) {
+
+        // the current capacity
+        var capacity = this.storage.capacity();
+
+        if(capacity - this.pointer >= count){
+            return this;
+        }
+
+        // the required capacity
+        var required = (long) this.pointer + count;
+
+        if(count < 0 || required > MAX_CAPACITY){
+            throw new OutOfMemoryError("Buffer capacity of " + required + " bytes is not supported");
+        }
+
+        this.storage = this.storage.resize((int) Math.max(required, Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, capacity * 2L))), this.pointer);
+
+        return this;
+    }
+
     /**
      * Put a byte into the buffer
-     * 
+     *
      * @param item The byte to add
      */
     public void put(byte item) {
-        this.internal[this.pointer] = item;
+        this.ensure(1);
+        this.storage.put(this.pointer, item);
         this.pointer++;
     }
 
     /**
-     * The array form 
-     * 
-     * @return Returns internal array
+     * Put the bytes into the buffer
+     *
+     * @param items The bytes to add
+     * @return Returns the buffer
+     */
+    public ByteBuffer put(byte[] items) {
+        return this.put(items, 0, items.length);
+    }
+
+    /**
+     * Put the range of bytes into the buffer
+     *
+     * @param items The bytes
+     * @param off The offset
+     * @param len The length
+     * @return Returns the buffer
+     */
+    public ByteBuffer put(byte[] items, int off, int len) {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > items.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.ensure(len);
+        this.storage.put(this.pointer, items, off, len);
+        this.pointer += len;
+
+        return this;
+    }
+
+    /**
+     * Put the big-endian int
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putInt(int value) {
+
+        this.ensure(4);
+
+        for(var shift = 24; shift >= 0; shift -= 8){
+            this.storage.put(this.pointer++, (byte) (value >>> shift));
+        }
+
+        return this;
+    }
+
+    /**
+     * Put the little-endian int
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putIntLE(int value) {
+
+        this.ensure(4);
+
+        for(var shift = 0; shift <= 24; shift += 8){
+            this.storage.put(this.pointer++, (byte) (value >>> shift));
+        }
+
+        return this;
+    }
+
+    /**
+     * Put the big-endian long
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putLong(long value) {
+
+        this.ensure(8);
+
+        for(var shift = 56; shift >= 0; shift -= 8){
+            this.storage.put(this.pointer++, (byte) (value >>> shift));
+        }
+
+        return this;
+    }
+
+    /**
+     * Put the little-endian long
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putLongLE(long value) {
+
+        this.ensure(8);
+
+        for(var shift = 0; shift <= 56; shift += 8){
+            this.storage.put(this.pointer++, (byte) (value >>> shift));
+        }
+
+        return this;
+    }
+
+    /**
+     * Put the unsigned varint (1 to 5 bytes)
+     *
+     * @param value The value (treated as unsigned)
+     * @return Returns the buffer
+     */
+    public ByteBuffer putVarInt(int value) {
+
+        this.ensure(5);
+
+        while((value & ~0x7F) != 0){
+            this.storage.put(this.pointer++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        this.storage.put(this.pointer++, (byte) value);
+
+        return this;
+    }
+
+    /**
+     * Put the unsigned varint (1 to 10 bytes)
+     *
+     * @param value The value (treated as unsigned)
+     * @return Returns the buffer
+     */
+    public ByteBuffer putVarLong(long value) {
+
+        this.ensure(10);
+
+        while((value & ~0x7FL) != 0){
+            this.storage.put(this.pointer++, (byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        this.storage.put(this.pointer++, (byte) value);
+
+        return this;
+    }
+
+    /**
+     * Put the signed zigzag varint
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putZigZagInt(int value) {
+        return this.putVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Put the signed zigzag varint
+     *
+     * @param value The value
+     * @return Returns the buffer
+     */
+    public ByteBuffer putZigZagLong(long value) {
+        return this.putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Gets the read cursor
+     *
+     * @return Returns the read position
+     */
+    public int position() {
+        return this.position;
+    }
+
+    /**
+     * Gets the number of bytes left to read
+     *
+     * @return Returns the remaining bytes
+     */
+    public int remaining() {
+        return this.pointer - this.position;
+    }
+
+    /**
+     * Move the read cursor to the start
+     *
+     * @return Returns the buffer
+     */
+    public ByteBuffer rewind() {
+        this.position = 0;
+        return this;
+    }
+
+    /**
+     * Read the byte
+     *
+     * @return Returns the byte
+     */
+    public byte get() {
+        this.require(1);
+        return this.storage.get(this.position++);
+    }
+
+    /**
+     * Read the bytes into the range of destination
+     *
+     * @param dst The destination
+     * @param off The offset
+     * @param len The length
+     * @return Returns the buffer
+     */
+    public ByteBuffer get(byte[] dst, int off, int len) {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > dst.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.require(len);
+        this.storage.get(this.position, dst, off, len);
+        this.position += len;
+
+        return this;
+    }
+
+    /**
+     * Read the big-endian int
+     *
+     * @return Returns the value
+     */
+    public int getInt() {
+
+        this.require(4);
+
+        // the value
+        var value = 0;
+
+        for(var i = 0; i < 4; i++){
+            value = (value << 8) | (this.storage.get(this.position++) & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Read the little-endian int
+     *
+     * @return Returns the value
+     */
+    public int getIntLE() {
+
+        this.require(4);
+
+        // the value
+        var value = 0;
+
+        for(var shift = 0; shift <= 24; shift += 8){
+            value |= (this.storage.get(this.position++) & 0xFF) << shift;
+        }
+
+        return value;
+    }
+
+    /**
+     * Read the big-endian long
+     *
+     * @return Returns the value
+     */
+    public long getLong() {
+
+        this.require(8);
+
+        // the value
+        var value = 0L;
+
+        for(var i = 0; i < 8; i++){
+            value = (value << 8) | (this.storage.get(this.position++) & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Read the little-endian long
+     *
+     * @return Returns the value
+     */
+    public long getLongLE() {
+
+        this.require(8);
+
+        // the value
+        var value = 0L;
+
+        for(var shift = 0; shift <= 56; shift += 8){
+            value |= (this.storage.get(this.position++) & 0xFFL) << shift;
+        }
+
+        return value;
+    }
+
+    /**
+     * Read the unsigned varint
+     *
+     * @return Returns the value
+     * @throws IllegalArgumentException if varint is longer than 5 bytes
+     */
+    public int getVarInt() {
+
+        // the value
+        var value = 0;
+
+        for(var shift = 0; shift < 35; shift += 7){
+
+            // the next byte
+            var b = this.get();
+
+            value |= (b & 0x7F) << shift;
+
+            if(b >= 0){
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Read the unsigned varint
+     *
+     * @return Returns the value
+     * @throws IllegalArgumentException if varint is longer than 10 bytes
+     */
+    public long getVarLong() {
+
+        // the value
+        var value = 0L;
+
+        for(var shift = 0; shift < 70; shift += 7){
+
+            // the next byte
+            var b = this.get();
+
+            value |= (long) (b & 0x7F) << shift;
+
+            if(b >= 0){
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Read the signed zigzag varint
+     *
+     * @return Returns the value
+     */
+    public int getZigZagInt() {
+
+        // the unsigned value
+        var value = this.getVarInt();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read the signed zigzag varint
+     *
+     * @return Returns the value
+     */
+    public long getZigZagLong() {
+
+        // the unsigned value
+        var value = this.getVarLong();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * The array form
+     *
+     * @return Returns internal array (valid up to the pointer)
+     * @throws UnsupportedOperationException if buffer is off-heap
      */
     public byte[] array() {
-        return this.internal;
-    }   
+        return this.storage.array();
+    }
+
+    /**
+     * Gets the copy of written bytes
+     *
+     * @return Returns the written bytes
+     */
+    public byte[] toByteArray() {
+
+        // the written bytes
+        var bytes = new byte[this.pointer];
+
+        this.storage.get(0, bytes, 0, this.pointer);
+
+        return bytes;
+    }
+
+    /**
+     * Write the written bytes to output stream
+     *
+     * @param out The output stream
+     * @throws IOException
+     */
+    public void writeTo(OutputStream out) throws IOException {
+
+        // heap bytes are written directly
+        if(this.storage.hasArray()){
+            out.write(this.storage.array(), 0, this.pointer);
+            return;
+        }
+
+        // off-heap bytes are copied by chunks
+        var chunk = new byte[Math.min(this.pointer, 8192)];
+
+        for(var offset = 0; offset < this.pointer; offset += chunk.length){
+
+            // the chunk length
+            var length = Math.min(chunk.length, this.pointer - offset);
+
+            this.storage.get(offset, chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Release the storage (off-heap storage returns to its arena)
+     */
+    public void release() {
+        this.storage.release();
+        this.storage = new HeapStorage(0);
+        this.reset();
+    }
+
+    /**
+     * Release the storage
+     */
+    @Override
+    public void close() {
+        this.release();
+    }
+
+    /**
+     * Ensure there are bytes to read
+     *
+     * @param count The number of bytes
+     */
+    private void require(int count) {
+        if(this.pointer - this.position < count){
+            throw new IndexOutOfBoundsException("Buffer has " + (this.pointer - this.position) + " bytes to read but " + count + " are required");
+        }
+    }
 }
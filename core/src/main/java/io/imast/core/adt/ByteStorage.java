@@ -0,0 +1,85 @@
+package io.imast.core.adt;
+
+/**
+ * The fixed-size byte storage under the byte buffer
+ *
+ * Storage is addressed absolutely and never moves by itself; growing creates
+ * the new storage and releases the old one. Heap storage is backed by byte
+ * array, pooled storage by a slice of off-heap arena segment.
+ *
+ * @author davitp
+ */
+public interface ByteStorage {
+
+    /**
+     * Gets the capacity of storage
+     *
+     * @return Returns the capacity
+     */
+    public int capacity();
+
+    /**
+     * Gets the byte at index
+     *
+     * @param index The index
+     * @return Returns the byte
+     */
+    public byte get(int index);
+
+    /**
+     * Sets the byte at index
+     *
+     * @param index The index
+     * @param value The byte
+     */
+    public void put(int index, byte value);
+
+    /**
+     * Copy the bytes from index to destination
+     *
+     * @param index The index
+     * @param dst The destination
+     * @param off The destination offset
+     * @param len The length
+     */
+    public void get(int index, byte[] dst, int off, int len);
+
+    /**
+     * Copy the bytes from source to index
+     *
+     * @param index The index
+     * @param src The source
+     * @param off The source offset
+     * @param len The length
+     */
+    public void put(int index, byte[] src, int off, int len);
+
+    /**
+     * Creates the storage of other capacity with the content and releases this one
+     *
+     * @param capacity The new capacity
+     * @param length The number of bytes to keep
+     * @return Returns the new storage
+     */
+    public ByteStorage resize(int capacity, int length);
+
+    /**
+     * Checks if storage is backed by accessible array
+     *
+     * @return Returns true if array is available
+     */
+    public boolean hasArray();
+
+    /**
+     * Gets the backing array
+     *
+     * @return Returns the backing array
+     * @throws UnsupportedOperationException if storage is not on heap
+     */
+    public byte[] array();
+
+    /**
+     * Release the storage (it cannot be used after)
+     */
+    public void release();
+}
@@ -0,0 +1,131 @@
+package io.imast.core.adt;
+
+import java.util.Arrays;
+
+/**
+ * The byte storage on heap array
+ *
+ * @author davitp
+ */
+public final class HeapStorage implements ByteStorage {
+
+    /**
+     * The backing array
+     */
+    private final byte[] array;
+
+    /**
+     * Creates new instance of heap storage
+     *
+     * @param capacity The capacity
+     */
+    public HeapStorage(int capacity) {
+        this(new byte[capacity]);
+    }
+
+    /**
+     * Creates new instance of heap storage over array (not copied)
+     *
+     * @param array The backing array
+     */
+    public HeapStorage(byte[] array) {
+        this.array = array;
+    }
+
+    /**
+     * Gets the capacity of storage
+     *
+     * @return Returns the capacity
+     */
+    @Override
+    public int capacity() {
+        return this.array.length;
+    }
+
+    /**
+     * Gets the byte at index
+     *
+     * @param index The index
+     * @return Returns the byte
+     */
+    @Override
+    public byte get(int index) {
+        return this.array[index];
+    }
+
+    /**
+     * Sets the byte at index
+     *
+     * @param index The index
+     * @param value The byte
+     */
+    @Override
+    public void put(int index, byte value) {
+        this.array[index] = value;
+    }
+
+    /**
+     * Copy the bytes from index to destination
+     *
+     * @param index The index
+     * @param dst The destination
+     * @param off The destination offset
+     * @param len The length
+     */
+    @Override
+    public void get(int index, byte[] dst, int off, int len) {
+        System.arraycopy(this.array, index, dst, off, len);
+    }
+
+    /**
+     * Copy the bytes from source to index
+     *
+     * @param index The index
+     * @param src The source
+     * @param off The source offset
+     * @param len The length
+     */
+    @Override
+    public void put(int index, byte[] src, int off, int len) {
+        System.arraycopy(src, off, this.array, index, len);
+    }
+
+    /**
+     * Creates the storage of other capacity with the content
+     *
+     * @param capacity The new capacity
+     * @param length The number of bytes to keep
+     * @return Returns the new storage
+     */
+    @Override
+    public ByteStorage resize(int capacity, int length) {
+        return new HeapStorage(Arrays.copyOf(this.array, capacity));
+    }
+
+    /**
+     * Checks if storage is backed by accessible array
+     *
+     * @return Returns true
+     */
+    @Override
+    public boolean hasArray() {
+        return true;
+    }
+
+    /**
+     * Gets the backing array
+     *
+     * @return Returns the backing array
+     */
+    @Override
+    public byte[] array() {
+        return this.array;
+    }
+
+    /**
+     * Release the storage (left to garbage collector)
+     */
+    @Override
+    public void release() {
+    }
+}
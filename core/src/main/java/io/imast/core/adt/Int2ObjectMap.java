@@ -0,0 +1,399 @@
+package io.imast.core.adt;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * The hash map of int keys to objects without boxing
+ *
+ * Open addressing with linear probing in a power-of-two table; zero marks
+ * the empty key slot, so the zero key is kept apart. Removal shifts the
+ * following entries back instead of leaving tombstones. Null values are
+ * not allowed (null means absent).
+ *
+ * @author davitp
+ * @param <V> The type of value
+ */
+public class Int2ObjectMap<V> {
+
+    /**
+     * The default expected size
+     */
+    public static final int DEFAULT_EXPECTED = 16;
+
+    /**
+     * The maximum load of table
+     */
+    private static final float LOAD_FACTOR = 0.7f;
+
+    /**
+     * The keys (0 is empty)
+     */
+    private int[] keys;
+
+    /**
+     * The values by slot
+     */
+    private Object[] values;
+
+    /**
+     * The value of zero key (null if absent)
+     */
+    private V zeroValue;
+
+    /**
+     * The number of entries
+     */
+    private int size;
+
+    /**
+     * The size to grow the table at
+     */
+    private int threshold;
+
+    /**
+     * Creates new instance of int to object map
+     */
+    public Int2ObjectMap() {
+        this(DEFAULT_EXPECTED);
+    }
+
+    /**
+     * Creates new instance of int to object map
+     *
+     * @param expected The expected number of entries
+     */
+    public Int2ObjectMap(int expected) {
+        this.allocate(LongHashSet.tableSize(expected));
+        this.zeroValue = null;
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of entries
+     *
+     * @return Returns the size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if map is empty
+     *
+     * @return Returns true if empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets the value of key
+     *
+     * @param key The key
+     * @return Returns the value or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+
+        // zero is kept apart
+        if(key == 0){
+            return this.zeroValue;
+        }
+
+        // the slot of key
+        var slot = this.find(key);
+
+        return slot < 0 ? null : (V) this.values[slot];
+    }
+
+    /**
+     * Gets the value of key or default
+     *
+     * @param key The key
+     * @param defaultValue The default value
+     * @return Returns the value or default if absent
+     */
+    public V getOrDefault(int key, V defaultValue) {
+
+        // the value
+        var value = this.get(key);
+
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Checks if map contains the key
+     *
+     * @param key The key
+     * @return Returns true if found
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? this.zeroValue != null : this.find(key) >= 0;
+    }
+
+    /**
+     * Put the value of key
+     *
+     * @param key The key
+     * @param value The value (not null)
+     * @return Returns the previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+
+        // validate value
+        if(value == null){
+            throw new NullPointerException("Null values are not supported");
+        }
+
+        // zero is kept apart
+        if(key == 0){
+
+            // the previous value
+            var previous = this.zeroValue;
+
+            if(previous == null){
+                this.size++;
+            }
+
+            this.zeroValue = value;
+
+            return previous;
+        }
+
+        // the slot of key
+        var mask = this.keys.length - 1;
+        var slot = mix(key) & mask;
+
+        while(this.keys[slot] != 0){
+
+            if(this.keys[slot] == key){
+
+                // the previous value
+                var previous = (V) this.values[slot];
+
+                this.values[slot] = value;
+
+                return previous;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+
+        if(++this.size > this.threshold){
+            this.rehash(this.keys.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the value of key or puts the computed one
+     *
+     * @param key The key
+     * @param mapping The value factory
+     * @return Returns the existing or computed value
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> mapping) {
+
+        // the existing value
+        var value = this.get(key);
+
+        if(value == null){
+
+            value = mapping.apply(key);
+
+            if(value != null){
+                this.put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove the key
+     *
+     * @param key The key
+     * @return Returns the removed value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+
+        // zero is kept apart
+        if(key == 0){
+
+            // the previous value
+            var previous = this.zeroValue;
+
+            if(previous != null){
+                this.zeroValue = null;
+                this.size--;
+            }
+
+            return previous;
+        }
+
+        // the slot of key
+        var slot = this.find(key);
+
+        if(slot < 0){
+            return null;
+        }
+
+        // the removed value
+        var removed = (V) this.values[slot];
+
+        // shift the following entries back to the gap
+        var mask = this.keys.length - 1;
+        var gap = slot;
+
+        for(var next = (gap + 1) & mask; this.keys[next] != 0; next = (next + 1) & mask){
+
+            // the entry may move if its home is not between gap and next
+            if(((next - (mix(this.keys[next]) & mask)) & mask) >= ((next - gap) & mask)){
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+        }
+
+        this.keys[gap] = 0;
+        this.values[gap] = null;
+        this.size--;
+
+        return removed;
+    }
+
+    /**
+     * Remove all entries (capacity is kept)
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.values, null);
+        this.zeroValue = null;
+        this.size = 0;
+    }
+
+    /**
+     * Apply the action to every entry (in no particular order)
+     *
+     * @param action The action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+
+        if(this.zeroValue != null){
+            action.accept(0, this.zeroValue);
+        }
+
+        for(var i = 0; i < this.keys.length; i++){
+            if(this.keys[i] != 0){
+                action.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the keys
+     *
+     * @return Returns the keys (in no particular order)
+     */
+    public int[] keys() {
+
+        // the keys
+        var keys = new int[this.size];
+        var index = this.zeroValue != null ? 1 : 0;
+
+        for(var key : this.keys){
+            if(key != 0){
+                keys[index++] = key;
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Find the slot of key
+     *
+     * @param key The non-zero key
+     * @return Returns the slot or -1 if not found
+     */
+    private int find(int key) {
+
+        // the slot of key
+        var mask = this.keys.length - 1;
+
+        for(var slot = mix(key) & mask; this.keys[slot] != 0; slot = (slot + 1) & mask){
+            if(this.keys[slot] == key){
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Move the entries to the table of capacity
+     *
+     * @param capacity The capacity (power of two)
+     */
+    private void rehash(int capacity) {
+
+        // the old table
+        var oldKeys = this.keys;
+        var oldValues = this.values;
+
+        this.allocate(capacity);
+
+        // the mask of new table
+        var mask = capacity - 1;
+
+        for(var i = 0; i < oldKeys.length; i++){
+
+            if(oldKeys[i] == 0){
+                continue;
+            }
+
+            // the free slot of key
+            var slot = mix(oldKeys[i]) & mask;
+
+            while(this.keys[slot] != 0){
+                slot = (slot + 1) & mask;
+            }
+
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * Allocate the table
+     *
+     * @param capacity The capacity (power of two)
+     */
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Mix the key bits
+     *
+     * @param key The key
+     * @return Returns the hash
+     */
+    private static int mix(int key) {
+
+        // the spread bits
+        var h = key * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+}
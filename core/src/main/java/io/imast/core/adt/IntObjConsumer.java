@@ -0,0 +1,19 @@
+package io.imast.core.adt;
+
+/**
+ * The action on int key and object value
+ *
+ * @author davitp
+ * @param <V> The type of value
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+
+    /**
+     * Apply the action
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void accept(int key, V value);
+}
@@ -0,0 +1,329 @@
+package io.imast.core.adt;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * The hash set of long values without boxing
+ *
+ * Open addressing with linear probing in a power-of-two table; zero marks
+ * the empty slot, so zero value is kept apart. Removal shifts the following
+ * entries back instead of leaving tombstones.
+ *
+ * @author davitp
+ */
+public class LongHashSet {
+
+    /**
+     * The default expected size
+     */
+    public static final int DEFAULT_EXPECTED = 16;
+
+    /**
+     * The maximum load of table
+     */
+    private static final float LOAD_FACTOR = 0.7f;
+
+    /**
+     * The keys (0 is empty)
+     */
+    private long[] keys;
+
+    /**
+     * The set contains zero
+     */
+    private boolean hasZero;
+
+    /**
+     * The number of values
+     */
+    private int size;
+
+    /**
+     * The size to grow the table at
+     */
+    private int threshold;
+
+    /**
+     * Creates new instance of long hash set
+     */
+    public LongHashSet() {
+        this(DEFAULT_EXPECTED);
+    }
+
+    /**
+     * Creates new instance of long hash set
+     *
+     * @param expected The expected number of values
+     */
+    public LongHashSet(int expected) {
+        this.allocate(tableSize(expected));
+        this.hasZero = false;
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of values
+     *
+     * @return Returns the size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if set is empty
+     *
+     * @return Returns true if empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Add the value
+     *
+     * @param value The value
+     * @return Returns true if value was added
+     */
+    public boolean add(long value) {
+
+        // zero is kept apart
+        if(value == 0){
+
+            if(this.hasZero){
+                return false;
+            }
+
+            this.hasZero = true;
+            this.size++;
+
+            return true;
+        }
+
+        // the slot of value
+        var mask = this.keys.length - 1;
+        var slot = mix(value) & mask;
+
+        while(this.keys[slot] != 0){
+
+            if(this.keys[slot] == value){
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        this.keys[slot] = value;
+
+        if(++this.size > this.threshold){
+            this.rehash(this.keys.length * 2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if set contains the value
+     *
+     * @param value The value
+     * @return Returns true if found
+     */
+    public boolean contains(long value) {
+
+        // zero is kept apart
+        if(value == 0){
+            return this.hasZero;
+        }
+
+        return this.find(value) >= 0;
+    }
+
+    /**
+     * Remove the value
+     *
+     * @param value The value
+     * @return Returns true if value was removed
+     */
+    public boolean remove(long value) {
+
+        // zero is kept apart
+        if(value == 0){
+
+            if(!this.hasZero){
+                return false;
+            }
+
+            this.hasZero = false;
+            this.size--;
+
+            return true;
+        }
+
+        // the slot of value
+        var slot = this.find(value);
+
+        if(slot < 0){
+            return false;
+        }
+
+        // shift the following entries back to the gap
+        var mask = this.keys.length - 1;
+        var gap = slot;
+
+        for(var next = (gap + 1) & mask; this.keys[next] != 0; next = (next + 1) & mask){
+
+            // the entry may move if its home is not between gap and next
+            if(((next - (mix(this.keys[next]) & mask)) & mask) >= ((next - gap) & mask)){
+                this.keys[gap] = this.keys[next];
+                gap = next;
+            }
+        }
+
+        this.keys[gap] = 0;
+        this.size--;
+
+        return true;
+    }
+
+    /**
+     * Remove all values (capacity is kept)
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        this.hasZero = false;
+        this.size = 0;
+    }
+
+    /**
+     * Apply the action to every value (in no particular order)
+     *
+     * @param action The action
+     */
+    public void forEach(LongConsumer action) {
+
+        if(this.hasZero){
+            action.accept(0);
+        }
+
+        for(var key : this.keys){
+            if(key != 0){
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the values
+     *
+     * @return Returns the values (in no particular order)
+     */
+    public long[] toArray() {
+
+        // the values
+        var values = new long[this.size];
+        var index = this.hasZero ? 1 : 0;
+
+        for(var key : this.keys){
+            if(key != 0){
+                values[index++] = key;
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Find the slot of value
+     *
+     * @param value The non-zero value
+     * @return Returns the slot or -1 if not found
+     */
+    private int find(long value) {
+
+        // the slot of value
+        var mask = this.keys.length - 1;
+
+        for(var slot = mix(value) & mask; this.keys[slot] != 0; slot = (slot + 1) & mask){
+            if(this.keys[slot] == value){
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Move the values to the table of capacity
+     *
+     * @param capacity The capacity (power of two)
+     */
+    private void rehash(int capacity) {
+
+        // the old keys
+        var old = this.keys;
+
+        this.allocate(capacity);
+
+        // the mask of new table
+        var mask = capacity - 1;
+
+        for(var key : old){
+
+            if(key == 0){
+                continue;
+            }
+
+            // the free slot of key
+            var slot = mix(key) & mask;
+
+            while(this.keys[slot] != 0){
+                slot = (slot + 1) & mask;
+            }
+
+            this.keys[slot] = key;
+        }
+    }
+
+    /**
+     * Allocate the table
+     *
+     * @param capacity The capacity (power of two)
+     */
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Gets the table size for expected number of values
+     *
+     * @param expected The expected number of values
+     * @return Returns the power of two size
+     */
+    static int tableSize(int expected) {
+
+        // the required size
+        var required = (long) Math.ceil(Math.max(expected, 2) / LOAD_FACTOR);
+
+        if(required > 1 << 30){
+            throw new IllegalArgumentException("Expected size " + expected + " is too large");
+        }
+
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * Mix the value bits
+     *
+     * @param value The value
+     * @return Returns the hash
+     */
+    private static int mix(long value) {
+
+        // the spread bits
+        var h = value * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32));
+    }
+}
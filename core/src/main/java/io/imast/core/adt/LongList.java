@@ -0,0 +1,308 @@
+package io.imast.core.adt;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * The growable list of long values without boxing
+ *
+ * @author davitp
+ */
+public class LongList {
+
+    /**
+     * The default initial capacity
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The values
+     */
+    private long[] values;
+
+    /**
+     * The number of values
+     */
+    private int size;
+
+    /**
+     * Creates new instance of long list
+     */
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates new instance of long list
+     *
+     * @param capacity The initial capacity
+     */
+    public LongList(int capacity) {
+        this.values = new long[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Creates the list of values
+     *
+     * @param values The values (copied)
+     * @return Returns the list
+     */
+    public static LongList of(long... values) {
+
+        // the list
+        var list = new LongList(values.length);
+
+        list.addAll(values);
+
+        return list;
+    }
+
+    /**
+     * Gets the number of values
+     *
+     * @return Returns the size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if list is empty
+     *
+     * @return Returns true if empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Add the value to the end
+     *
+     * @param value The value
+     */
+    public void add(long value) {
+
+        if(this.size == this.values.length){
+            this.grow(this.size + 1);
+        }
+
+        this.values[this.size++] = value;
+    }
+
+    /**
+     * Add the values to the end
+     *
+     * @param values The values
+     */
+    public void addAll(long... values) {
+
+        if(this.size + values.length > this.values.length){
+            this.grow(this.size + values.length);
+        }
+
+        System.arraycopy(values, 0, this.values, this.size, values.length);
+        this.size += values.length;
+    }
+
+    /**
+     * Gets the value at index
+     *
+     * @param index The index
+     * @return Returns the value
+     */
+    public long get(int index) {
+        this.check(index);
+        return this.values[index];
+    }
+
+    /**
+     * Sets the value at index
+     *
+     * @param index The index
+     * @param value The value
+     * @return Returns the previous value
+     */
+    public long set(int index, long value) {
+
+        this.check(index);
+
+        // the previous value
+        var previous = this.values[index];
+
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Remove the value at index (shifts the rest)
+     *
+     * @param index The index
+     * @return Returns the removed value
+     */
+    public long removeAt(int index) {
+
+        this.check(index);
+
+        // the removed value
+        var removed = this.values[index];
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+        this.size--;
+
+        return removed;
+    }
+
+    /**
+     * Gets the index of value
+     *
+     * @param value The value
+     * @return Returns the first index or -1 if not found
+     */
+    public int indexOf(long value) {
+
+        for(var i = 0; i < this.size; i++){
+            if(this.values[i] == value){
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if list contains the value
+     *
+     * @param value The value
+     * @return Returns true if found
+     */
+    public boolean contains(long value) {
+        return this.indexOf(value) >= 0;
+    }
+
+    /**
+     * Sort the values ascending
+     */
+    public void sort() {
+        Arrays.sort(this.values, 0, this.size);
+    }
+
+    /**
+     * Remove all values (capacity is kept)
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Ensure the capacity
+     *
+     * @param capacity The minimum capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if(capacity > this.values.length){
+            this.grow(capacity);
+        }
+    }
+
+    /**
+     * Shrink the capacity to the size
+     */
+    public void trimToSize() {
+        if(this.values.length > this.size){
+            this.values = Arrays.copyOf(this.values, this.size);
+        }
+    }
+
+    /**
+     * Apply the action to every value
+     *
+     * @param action The action
+     */
+    public void forEach(LongConsumer action) {
+        for(var i = 0; i < this.size; i++){
+            action.accept(this.values[i]);
+        }
+    }
+
+    /**
+     * Gets the copy of values
+     *
+     * @return Returns the values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    /**
+     * Checks if other is the list of same values
+     *
+     * @param other The other object
+     * @return Returns true if equal
+     */
+    @Override
+    public boolean equals(Object other) {
+
+        if(this == other){
+            return true;
+        }
+
+        if(!(other instanceof LongList)){
+            return false;
+        }
+
+        // the other list
+        var list = (LongList) other;
+
+        return Arrays.equals(this.values, 0, this.size, list.values, 0, list.size);
+    }
+
+    /**
+     * Gets the hash code of values
+     *
+     * @return Returns the hash code
+     */
+    @Override
+    public int hashCode() {
+
+        // the hash
+        var hash = 1;
+
+        for(var i = 0; i < this.size; i++){
+            hash = 31 * hash + Long.hashCode(this.values[i]);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Gets the string form
+     *
+     * @return Returns the values as string
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+    /**
+     * Grow the values for capacity
+     *
+     * @param capacity The minimum capacity
+     */
+    private void grow(int capacity) {
+        this.values = Arrays.copyOf(this.values, Math.max(capacity, Math.max(DEFAULT_CAPACITY, this.values.length + (this.values.length >> 1))));
+    }
+
+    /**
+     * Check the index
+     *
+     * @param index The index
+     */
+    private void check(int index) {
+        if(index < 0 || index >= this.size){
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package io.imast.core.adt;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The off-heap buffer leased from the arena
+ *
+ * The buffer is a slice of arena segment and should be released exactly once
+ * (directly or with try-with-resources), after that it returns to the arena
+ * and must not be used. The instance is not thread-safe.
+ *
+ * @author davitp
+ */
+public final class PooledBuffer implements ByteStorage, AutoCloseable {
+
+    /**
+     * The arena
+     */
+    private final BufferArena arena;
+
+    /**
+     * The lease of slice
+     */
+    private final Lease lease;
+
+    /**
+     * The leak detection registration (debug only)
+     */
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * The private view for bulk access
+     */
+    private ByteBuffer view;
+
+    /**
+     * Creates new instance of pooled buffer
+     *
+     * @param arena The arena
+     * @param lease The lease of slice
+     * @param cleaner The leak detecting cleaner (null if not tracked)
+     */
+    PooledBuffer(BufferArena arena, Lease lease, Cleaner cleaner) {
+        this.arena = arena;
+        this.lease = lease;
+        this.cleanable = cleaner == null ? null : cleaner.register(this, new Leak(arena, lease));
+        this.view = null;
+    }
+
+    /**
+     * Gets the direct buffer of slice (position 0, limit at capacity)
+     *
+     * @return Returns the direct buffer
+     */
+    public ByteBuffer buffer() {
+        return this.lease.buffer;
+    }
+
+    /**
+     * Gets the capacity of buffer (size class, at least requested)
+     *
+     * @return Returns the capacity
+     */
+    @Override
+    public int capacity() {
+        return this.lease.buffer.capacity();
+    }
+
+    /**
+     * Gets the byte at index
+     *
+     * @param index The index
+     * @return Returns the byte
+     */
+    @Override
+    public byte get(int index) {
+        return this.lease.buffer.get(index);
+    }
+
+    /**
+     * Sets the byte at index
+     *
+     * @param index The index
+     * @param value The byte
+     */
+    @Override
+    public void put(int index, byte value) {
+        this.lease.buffer.put(index, value);
+    }
+
+    /**
+     * Copy the bytes from index to destination
+     *
+     * @param index The index
+     * @param dst The destination
+     * @param off The destination offset
+     * @param len The length
+     */
+    @Override
+    public void get(int index, byte[] dst, int off, int len) {
+        this.view().limit(index + len).position(index);
+        this.view.get(dst, off, len);
+    }
+
+    /**
+     * Copy the bytes from source to index
+     *
+     * @param index The index
+     * @param src The source
+     * @param off The source offset
+     * @param len The length
+     */
+    @Override
+    public void put(int index, byte[] src, int off, int len) {
+        this.view().limit(index + len).position(index);
+        this.view.put(src, off, len);
+    }
+
+    /**
+     * Lease the buffer of other capacity from same arena with the content and release this one
+     *
+     * @param capacity The new capacity
+     * @param length The number of bytes to keep
+     * @return Returns the new buffer
+     */
+    @Override
+    public ByteStorage resize(int capacity, int length) {
+
+        // the new buffer
+        var resized = this.arena.allocate(capacity);
+
+        // copy the content
+        this.view().limit(length).position(0);
+        resized.view().clear();
+        resized.view.put(this.view);
+
+        this.release();
+
+        return resized;
+    }
+
+    /**
+     * Checks if storage is backed by accessible array
+     *
+     * @return Returns false
+     */
+    @Override
+    public boolean hasArray() {
+        return false;
+    }
+
+    /**
+     * The off-heap buffer has no array
+     *
+     * @return Never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public byte[] array() {
+        throw new UnsupportedOperationException("Off-heap buffer has no array");
+    }
+
+    /**
+     * Return the buffer to the arena
+     *
+     * @throws IllegalStateException if buffer is already released
+     */
+    @Override
+    public void release() {
+
+        if(!this.lease.released.compareAndSet(false, true)){
+            throw new IllegalStateException("Buffer is already released");
+        }
+
+        // the tracking is done
+        if(this.cleanable != null){
+            this.cleanable.clean();
+        }
+
+        this.arena.release(this.lease);
+    }
+
+    /**
+     * Return the buffer to the arena
+     */
+    @Override
+    public void close() {
+        this.release();
+    }
+
+    /**
+     * Gets the private view for bulk access
+     *
+     * @return Returns the view
+     */
+    private ByteBuffer view() {
+
+        if(this.view == null){
+            this.view = this.lease.buffer.duplicate();
+        }
+
+        return this.view;
+    }
+
+    /**
+     * The lease of arena slice (kept apart from buffer for leak tracking)
+     */
+    static final class Lease {
+
+        /**
+         * The slice
+         */
+        final ByteBuffer buffer;
+
+        /**
+         * The size class (negative for unpooled)
+         */
+        final int sizeClass;
+
+        /**
+         * The allocation site (debug only)
+         */
+        final Throwable site;
+
+        /**
+         * The slice is released
+         */
+        final AtomicBoolean released;
+
+        /**
+         * Creates new instance of lease
+         *
+         * @param buffer The slice
+         * @param sizeClass The size class
+         * @param site The allocation site
+         */
+        Lease(ByteBuffer buffer, int sizeClass, Throwable site) {
+            this.buffer = buffer;
+            this.sizeClass = sizeClass;
+            this.site = site;
+            this.released = new AtomicBoolean(false);
+        }
+    }
+
+    /**
+     * The cleaning action reporting the buffer unreachable before release
+     */
+    private static final class Leak implements Runnable {
+
+        /**
+         * The arena
+         */
+        private final BufferArena arena;
+
+        /**
+         * The lease
+         */
+        private final Lease lease;
+
+        /**
+         * Creates new instance of leak action
+         *
+         * @param arena The arena
+         * @param lease The lease
+         */
+        Leak(BufferArena arena, Lease lease) {
+            this.arena = arena;
+            this.lease = lease;
+        }
+
+        /**
+         * Report the leak if lease is not released
+         */
+        @Override
+        public void run() {
+            if(this.lease.released.compareAndSet(false, true)){
+                this.arena.leaked(this.lease);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.imast.core.compress;
+
+/**
+ * The compression codec
+ *
+ * Codecs work on raw payloads; {@link Codecs} adds the one-byte header with
+ * codec ID so that decoders can pick the right codec. IDs below 32 are
+ * reserved for built-in codecs, custom ones are discovered with
+ * ServiceLoader.
+ *
+ * @author davitp
+ */
+public interface Codec {
+
+    /**
+     * Gets the codec ID written in header (0 to 127)
+     *
+     * @return Returns the codec ID
+     */
+    public int getId();
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    public String getName();
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     */
+    public byte[] encode(byte[] data, int off, int len);
+
+    /**
+     * Decompress the range of bytes
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     * @throws IllegalArgumentException if data is malformed
+     */
+    public byte[] decode(byte[] data, int off, int len);
+
+    /**
+     * Compress the bytes
+     *
+     * @param data The data
+     * @return Returns compressed bytes
+     */
+    public default byte[] encode(byte[] data) {
+        return this.encode(data, 0, data.length);
+    }
+
+    /**
+     * Decompress the bytes
+     *
+     * @param data The compressed data
+     * @return Returns decompressed bytes
+     * @throws IllegalArgumentException if data is malformed
+     */
+    public default byte[] decode(byte[] data) {
+        return this.decode(data, 0, data.length);
+    }
+}
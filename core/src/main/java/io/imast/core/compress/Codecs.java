@@ -0,0 +1,286 @@
+package io.imast.core.compress;
+
+import java.util.ServiceLoader;
+
+/**
+ * The codec registry with self-describing format and adaptive selection
+ *
+ * Encoded form is one header byte with codec ID followed by the codec
+ * payload. Built-in codecs are registered by default, custom ones are
+ * discovered with ServiceLoader (META-INF/services/io.imast.core.compress.Codec).
+ *
+ * @author davitp
+ */
+public class Codecs {
+
+    /**
+     * The identity codec
+     */
+    public static final Codec IDENTITY = new IdentityCodec();
+
+    /**
+     * The GZIP codec
+     */
+    public static final Codec GZIP = new GzipCodec();
+
+    /**
+     * The raw deflate codec
+     */
+    public static final Codec DEFLATE = new DeflateCodec();
+
+    /**
+     * The Shoco codec
+     */
+    public static final Codec SHOCO = new ShocoCodec();
+
+    /**
+     * The fastest level deflate codec
+     */
+    public static final Codec DEFLATE_FAST = DeflateCodec.fast();
+
+    /**
+     * The LZ4 block codec
+     */
+    public static final Codec LZ4 = new Lz4Codec();
+
+    /**
+     * The preset dictionary deflate codec (selected once a dictionary is registered)
+     */
+    public static final DeflateDictionaryCodec DICTIONARY = new DeflateDictionaryCodec();
+
+    /**
+     * The fast block codec
+     */
+    public static final Codec FAST = LZ4;
+
+    /**
+     * The inputs below are stored as is
+     */
+    public static final int MIN_LENGTH = 16;
+
+    /**
+     * The inputs up to are considered short (Shoco if text)
+     */
+    public static final int SHORT_LENGTH = 256;
+
+    /**
+     * The inputs up to are compressed with dictionary (if registered)
+     */
+    public static final int DICTIONARY_LENGTH = 4096;
+
+    /**
+     * The sampled entropy (bits per byte) above which input is stored as is
+     */
+    public static final double MAX_ENTROPY = 7.5;
+
+    /**
+     * The number of bytes to sample for entropy
+     */
+    private static final int SAMPLE_SIZE = 4096;
+
+    /**
+     * The codecs by ID
+     */
+    private static final Codec[] CODECS = load();
+
+    /**
+     * Load the codecs
+     *
+     * @return Returns codecs by ID
+     */
+    private static Codec[] load() {
+
+        // the codecs
+        var codecs = new Codec[128];
+
+        for(var codec : new Codec[] { IDENTITY, GZIP, DEFLATE, SHOCO, DEFLATE_FAST, LZ4, DICTIONARY }){
+            codecs[codec.getId()] = codec;
+        }
+
+        // custom codecs
+        for(var codec : ServiceLoader.load(Codec.class, Codecs.class.getClassLoader())){
+
+            // the codec ID
+            var id = codec.getId();
+
+            if(id < 32 || id > 127){
+                throw new IllegalStateException("Codec " + codec.getName() + " should have ID from 32 to 127 but has " + id);
+            }
+
+            if(codecs[id] != null){
+                throw new IllegalStateException("Codec " + codec.getName() + " ID " + id + " is taken by " + codecs[id].getName());
+            }
+
+            codecs[id] = codec;
+        }
+
+        return codecs;
+    }
+
+    /**
+     * Gets the codec by ID
+     *
+     * @param id The codec ID
+     * @return Returns the codec or null if unknown
+     */
+    public static Codec get(int id) {
+        return id < 0 || id >= CODECS.length ? null : CODECS[id];
+    }
+
+    /**
+     * Encode the data with adaptively selected codec
+     *
+     * @param data The data
+     * @return Returns header and payload
+     */
+    public static byte[] encode(byte[] data) {
+        return encode(select(data), data);
+    }
+
+    /**
+     * Encode the data with the codec, stored as is if it does not shrink
+     *
+     * @param codec The codec
+     * @param data The data
+     * @return Returns header and payload
+     */
+    public static byte[] encode(Codec codec, byte[] data) {
+
+        // the payload
+        var payload = codec.encode(data);
+
+        // store as is when not smaller
+        if(codec != IDENTITY && payload.length >= data.length){
+            codec = IDENTITY;
+            payload = data;
+        }
+
+        // the framed result
+        var result = new byte[payload.length + 1];
+
+        result[0] = (byte) codec.getId();
+        System.arraycopy(payload, 0, result, 1, payload.length);
+
+        return result;
+    }
+
+    /**
+     * Decode the data by header
+     *
+     * @param data The header and payload
+     * @return Returns decoded data
+     * @throws IllegalArgumentException if data is malformed or codec is unknown
+     */
+    public static byte[] decode(byte[] data) {
+
+        // should have header
+        if(data.length == 0){
+            throw new IllegalArgumentException("Missing codec header");
+        }
+
+        // the codec
+        var codec = get(data[0]);
+
+        if(codec == null){
+            throw new IllegalArgumentException("Unknown codec " + data[0]);
+        }
+
+        return codec.decode(data, 1, data.length - 1);
+    }
+
+    /**
+     * Select the codec for the data
+     *
+     * Tiny or high-entropy inputs are stored as is, small inputs go to the
+     * dictionary codec when a dictionary is registered, short text goes to
+     * Shoco and everything else to the fast block codec.
+     *
+     * @param data The data
+     * @return Returns the codec
+     */
+    public static Codec select(byte[] data) {
+
+        // tiny input
+        if(data.length < MIN_LENGTH){
+            return IDENTITY;
+        }
+
+        // small input with dictionary
+        if(data.length <= DICTIONARY_LENGTH && DICTIONARY.getCurrent() != null){
+            return DICTIONARY;
+        }
+
+        // short text
+        if(data.length <= SHORT_LENGTH){
+            return text(data) ? SHOCO : IDENTITY;
+        }
+
+        // incompressible input
+        if(entropy(data) > MAX_ENTROPY){
+            return IDENTITY;
+        }
+
+        return FAST;
+    }
+
+    /**
+     * Estimate the entropy of data by sample
+     *
+     * @param data The data
+     * @return Returns the entropy in bits per byte (0 to 8)
+     */
+    public static double entropy(byte[] data) {
+
+        // nothing to estimate
+        if(data.length == 0){
+            return 0;
+        }
+
+        // the counts of sampled bytes (evenly spaced runs of 64 bytes)
+        var counts = new int[256];
+        var step = Math.max(64, data.length / (SAMPLE_SIZE / 64) / 64 * 64);
+        var total = 0;
+
+        for(var start = 0; start < data.length; start += step){
+            for(var i = start; i < Math.min(data.length, start + 64); i++){
+                counts[data[i] & 0xFF]++;
+                total++;
+            }
+        }
+
+        // the Shannon entropy
+        var entropy = 0.0;
+
+        for(var count : counts){
+            if(count > 0){
+
+                // the probability
+                var p = (double) count / total;
+
+                entropy -= p * Math.log(p);
+            }
+        }
+
+        return entropy / Math.log(2);
+    }
+
+    /**
+     * Checks if data looks like text Shoco can pack (mostly ASCII)
+     *
+     * @param data The data
+     * @return Returns true if text
+     */
+    private static boolean text(byte[] data) {
+
+        // the non-ASCII or control bytes
+        var other = 0;
+
+        for(var b : data){
+            if(b < 0x20 && b != '\t' && b != '\n' && b != '\r'){
+                other++;
+            }
+        }
+
+        return other * 8 < data.length;
+    }
+}
@@ -0,0 +1,520 @@
+package io.imast.core.compress;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The compact store of many short strings in off-heap arenas
+ *
+ * Strings are Shoco-compressed and appended to direct ByteBuffer arenas as
+ * varint length followed by compressed bytes, the caller keeps only the long
+ * handle (arena index in high bits, offset in low bits). Shoco encoding is
+ * deterministic, so equal strings have equal compressed forms and can be
+ * compared without decompression. With deduplication enabled, equal strings
+ * share one entry found through an open-addressing index of handles.
+ *
+ * Adding is synchronized; reading is safe for handles published to the
+ * reading thread through a happens-before relation (such as a concurrent
+ * collection or a volatile field).
+ *
+ * @author davitp
+ */
+public class CompactStringStore {
+
+    /**
+     * The handle of null string
+     */
+    public static final long NULL_HANDLE = -1L;
+
+    /**
+     * The default arena size
+     */
+    public static final int DEFAULT_ARENA_SIZE = 1 << 24;
+
+    /**
+     * The per-thread scratch bytes
+     */
+    private static final ThreadLocal<byte[][]> SCRATCH = ThreadLocal.withInitial(() -> new byte[][] { new byte[256], new byte[256] });
+
+    /**
+     * The largest scratch kept per thread (larger ones are allocated per call)
+     */
+    private static final int SCRATCH_RETAINED_SIZE = 1 << 16;
+
+    /**
+     * The Shoco instance
+     */
+    private final Shoco shoco;
+
+    /**
+     * The arena size
+     */
+    private final int arenaSize;
+
+    /**
+     * The deduplication is enabled
+     */
+    private final boolean dedup;
+
+    /**
+     * The arenas
+     */
+    private volatile ByteBuffer[] arenas;
+
+    /**
+     * The write position in last arena
+     */
+    private int position;
+
+    /**
+     * The number of added strings
+     */
+    private long count;
+
+    /**
+     * The deduplication index of handles (0 is empty, handles stored + 1)
+     */
+    private long[] index;
+
+    /**
+     * The number of distinct entries in index
+     */
+    private int distinct;
+
+    /**
+     * Creates new instance of compact string store with deduplication
+     */
+    public CompactStringStore() {
+        this(DEFAULT_ARENA_SIZE, true);
+    }
+
+    /**
+     * Creates new instance of compact string store
+     *
+     * @param arenaSize The arena size in bytes
+     * @param dedup The deduplication is enabled
+     */
+    public CompactStringStore(int arenaSize, boolean dedup) {
+        this(arenaSize, dedup, new Shoco());
+    }
+
+    /**
+     * Creates new instance of compact string store
+     *
+     * @param arenaSize The arena size in bytes
+     * @param dedup The deduplication is enabled
+     * @param shoco The Shoco instance (model) to compress with
+     */
+    public CompactStringStore(int arenaSize, boolean dedup, Shoco shoco) {
+
+        // validate size
+        if(arenaSize < 64){
+            throw new IllegalArgumentException("Arena size should be at least 64 bytes");
+        }
+
+        this.shoco = shoco;
+        this.arenaSize = arenaSize;
+        this.dedup = dedup;
+        this.arenas = new ByteBuffer[0];
+        this.position = arenaSize;
+        this.count = 0;
+        this.index = dedup ? new long[1024] : null;
+        this.distinct = 0;
+    }
+
+    /**
+     * Add the string to store
+     *
+     * @param value The string
+     * @return Returns the handle ({@link #NULL_HANDLE} for null)
+     * @throws IllegalArgumentException if compressed string does not fit arena
+     */
+    public long add(String value) {
+
+        // null string
+        if(value == null){
+            return NULL_HANDLE;
+        }
+
+        // the compressed form
+        var packed = scratch(0, Shoco.maxCompressedLength(value));
+        var length = this.shoco.encode(value, packed, 0);
+
+        synchronized(this) {
+
+            // the same string already stored
+            if(this.dedup){
+
+                // the slot of compressed form
+                var slot = this.find(packed, length);
+
+                if(this.index[slot] != 0){
+                    this.count++;
+                    return this.index[slot] - 1;
+                }
+            }
+
+            // the entry size
+            var size = varintLength(length) + length;
+
+            if(size > this.arenaSize){
+                throw new IllegalArgumentException("String of " + size + " compressed bytes does not fit arena of " + this.arenaSize);
+            }
+
+            // new arena
+            if(this.position + size > this.arenaSize){
+                var arenas = Arrays.copyOf(this.arenas, this.arenas.length + 1);
+
+                arenas[arenas.length - 1] = ByteBuffer.allocateDirect(this.arenaSize);
+                this.arenas = arenas;
+                this.position = 0;
+            }
+
+            // write the entry
+            var arena = this.arenas[this.arenas.length - 1];
+            var handle = (long) (this.arenas.length - 1) << 32 | this.position;
+
+            this.position = writeVarint(arena, this.position, length);
+
+            for(var i = 0; i < length; i++){
+                arena.put(this.position++, packed[i]);
+            }
+
+            this.count++;
+
+            // index the entry
+            if(this.dedup){
+                this.index[this.find(packed, length)] = handle + 1;
+
+                if(++this.distinct * 2 > this.index.length){
+                    this.rehash();
+                }
+            }
+
+            return handle;
+        }
+    }
+
+    /**
+     * Gets the string by handle
+     *
+     * @param handle The handle
+     * @return Returns the string (null for {@link #NULL_HANDLE})
+     */
+    public String get(long handle) {
+
+        // null string
+        if(handle == NULL_HANDLE){
+            return null;
+        }
+
+        // the arena and entry
+        var arena = this.arena(handle);
+        var offset = (int) handle;
+        var length = readVarint(arena, offset);
+
+        offset += varintLength(length);
+
+        // copy compressed bytes to decode
+        var packed = scratch(1, length);
+
+        for(var i = 0; i < length; i++){
+            packed[i] = arena.get(offset + i);
+        }
+
+        return this.shoco.decode(packed, 0, length);
+    }
+
+    /**
+     * Checks if the stored string equals to the value (compared compressed)
+     *
+     * @param handle The handle
+     * @param value The string
+     * @return Returns true if equal
+     */
+    public boolean equals(long handle, String value) {
+
+        // null string
+        if(handle == NULL_HANDLE || value == null){
+            return handle == NULL_HANDLE && value == null;
+        }
+
+        // the compressed value
+        var packed = scratch(0, Shoco.maxCompressedLength(value));
+        var length = this.shoco.encode(value, packed, 0);
+
+        return this.matches(handle, packed, length);
+    }
+
+    /**
+     * Checks if two stored strings are equal (compared compressed)
+     *
+     * @param left The left handle
+     * @param right The right handle
+     * @return Returns true if equal
+     */
+    public boolean equals(long left, long right) {
+
+        // same entry or null
+        if(left == right || left == NULL_HANDLE || right == NULL_HANDLE){
+            return left == right;
+        }
+
+        // the entries
+        var leftArena = this.arena(left);
+        var rightArena = this.arena(right);
+        var leftLength = readVarint(leftArena, (int) left);
+        var rightLength = readVarint(rightArena, (int) right);
+
+        if(leftLength != rightLength){
+            return false;
+        }
+
+        // the compressed bytes
+        var leftOffset = (int) left + varintLength(leftLength);
+        var rightOffset = (int) right + varintLength(rightLength);
+
+        for(var i = 0; i < leftLength; i++){
+            if(leftArena.get(leftOffset + i) != rightArena.get(rightOffset + i)){
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of added strings (including deduplicated)
+     *
+     * @return Returns the number of strings
+     */
+    public synchronized long size() {
+        return this.count;
+    }
+
+    /**
+     * Gets the off-heap bytes used by entries
+     *
+     * @return Returns the used bytes
+     */
+    public synchronized long usedBytes() {
+        return this.arenas.length == 0 ? 0 : (long) (this.arenas.length - 1) * this.arenaSize + this.position;
+    }
+
+    /**
+     * Gets the off-heap bytes allocated by arenas
+     *
+     * @return Returns the allocated bytes
+     */
+    public long allocatedBytes() {
+        return (long) this.arenas.length * this.arenaSize;
+    }
+
+    /**
+     * Checks if entry has the compressed bytes
+     *
+     * @param handle The handle
+     * @param packed The compressed bytes
+     * @param length The compressed length
+     * @return Returns true if same
+     */
+    private boolean matches(long handle, byte[] packed, int length) {
+
+        // the entry
+        var arena = this.arena(handle);
+        var offset = (int) handle;
+
+        if(readVarint(arena, offset) != length){
+            return false;
+        }
+
+        offset += varintLength(length);
+
+        for(var i = 0; i < length; i++){
+            if(arena.get(offset + i) != packed[i]){
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the index slot of compressed bytes (the entry or the empty slot)
+     *
+     * @param packed The compressed bytes
+     * @param length The compressed length
+     * @return Returns the slot
+     */
+    private int find(byte[] packed, int length) {
+
+        // the hash of compressed bytes
+        var hash = 1;
+
+        for(var i = 0; i < length; i++){
+            hash = 31 * hash + packed[i];
+        }
+
+        // linear probing
+        var mask = this.index.length - 1;
+
+        for(var slot = mix(hash) & mask; ; slot = (slot + 1) & mask){
+            if(this.index[slot] == 0 || this.matches(this.index[slot] - 1, packed, length)){
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Grow the deduplication index twice
+     */
+    private void rehash() {
+
+        // the old index
+        var old = this.index;
+
+        this.index = new long[old.length * 2];
+
+        // the entry bytes
+        var packed = new byte[256];
+
+        for(var entry : old){
+
+            if(entry == 0){
+                continue;
+            }
+
+            // read the entry
+            var arena = this.arena(entry - 1);
+            var offset = (int) (entry - 1);
+            var length = readVarint(arena, offset);
+
+            offset += varintLength(length);
+
+            if(packed.length < length){
+                packed = new byte[length];
+            }
+
+            for(var i = 0; i < length; i++){
+                packed[i] = arena.get(offset + i);
+            }
+
+            this.index[this.find(packed, length)] = entry;
+        }
+    }
+
+    /**
+     * Gets the arena of handle
+     *
+     * @param handle The handle
+     * @return Returns the arena
+     */
+    private ByteBuffer arena(long handle) {
+        return this.arenas[(int) (handle >>> 32)];
+    }
+
+    /**
+     * Gets the per-thread scratch of at least size
+     *
+     * @param slot The scratch slot
+     * @param size The required size
+     * @return Returns the scratch bytes (reused or a larger one-off buffer)
+     */
+    private static byte[] scratch(int slot, int size) {
+
+        // the scratch of thread
+        var scratch = SCRATCH.get();
+
+        // enough space
+        if(scratch[slot].length >= size){
+            return scratch[slot];
+        }
+
+        // the grown scratch
+        var bytes = new byte[Math.max(size, Math.min(scratch[slot].length * 2, SCRATCH_RETAINED_SIZE))];
+
+        // keep for reuse if small enough
+        if(bytes.length <= SCRATCH_RETAINED_SIZE){
+            scratch[slot] = bytes;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Write the varint at offset
+     *
+     * @param arena The arena
+     * @param offset The offset
+     * @param value The non-negative value
+     * @return Returns new offset
+     */
+    private static int writeVarint(ByteBuffer arena, int offset, int value) {
+
+        for(; ; value >>>= 7){
+            if((value & ~0x7F) == 0){
+                arena.put(offset++, (byte) value);
+                return offset;
+            }
+
+            arena.put(offset++, (byte) ((value & 0x7F) | 0x80));
+        }
+    }
+
+    /**
+     * Read the varint at offset
+     *
+     * @param arena The arena
+     * @param offset The offset
+     * @return Returns the value
+     */
+    private static int readVarint(ByteBuffer arena, int offset) {
+
+        // the value
+        var value = 0;
+
+        for(var shift = 0; ; shift += 7){
+
+            // the next byte
+            var b = arena.get(offset++);
+
+            value |= (b & 0x7F) << shift;
+
+            if(b >= 0){
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Gets the length of varint
+     *
+     * @param value The non-negative value
+     * @return Returns the number of bytes
+     */
+    private static int varintLength(int value) {
+
+        // the length
+        var length = 1;
+
+        while((value >>>= 7) != 0){
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Mix the hash bits
+     *
+     * @param hash The hash
+     * @return Returns mixed hash
+     */
+    private static int mix(int hash) {
+
+        // the spread bits
+        var h = hash * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+}
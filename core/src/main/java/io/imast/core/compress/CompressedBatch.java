@@ -0,0 +1,109 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+
+/**
+ * The batch of compressed strings in one contiguous arena
+ *
+ * Entry i occupies arena bytes from offsets[i] (inclusive) to offsets[i + 1]
+ * (exclusive).
+ *
+ * @author davitp
+ */
+public class CompressedBatch {
+
+    /**
+     * The Shoco instance of batch
+     */
+    private final Shoco shoco;
+
+    /**
+     * The arena of compressed bytes
+     */
+    private final byte[] arena;
+
+    /**
+     * The offsets index (size + 1 entries)
+     */
+    private final int[] offsets;
+
+    /**
+     * Creates new instance of compressed batch
+     *
+     * @param shoco The Shoco instance of batch
+     * @param arena The arena of compressed bytes
+     * @param offsets The offsets index
+     */
+    CompressedBatch(Shoco shoco, byte[] arena, int[] offsets) {
+        this.shoco = shoco;
+        this.arena = arena;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Gets the number of entries
+     *
+     * @return Returns the number of entries
+     */
+    public int size() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Gets the arena of compressed bytes (not copied)
+     *
+     * @return Returns the arena
+     */
+    public byte[] arena() {
+        return this.arena;
+    }
+
+    /**
+     * Gets the offsets index (not copied)
+     *
+     * @return Returns the offsets
+     */
+    public int[] offsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Gets the offset of entry in arena
+     *
+     * @param index The entry index
+     * @return Returns the offset
+     */
+    public int offset(int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * Gets the compressed length of entry
+     *
+     * @param index The entry index
+     * @return Returns the length
+     */
+    public int length(int index) {
+        return this.offsets[index + 1] - this.offsets[index];
+    }
+
+    /**
+     * Gets the compressed bytes of entry
+     *
+     * @param index The entry index
+     * @return Returns copy of compressed bytes
+     */
+    public byte[] toByteArray(int index) {
+        return Arrays.copyOfRange(this.arena, this.offsets[index], this.offsets[index + 1]);
+    }
+
+    /**
+     * Decompress the entry
+     *
+     * @param index The entry index
+     * @return Returns decompressed string
+     */
+    public String decode(int index) {
+        return this.shoco.decode(this.arena, this.offsets[index], this.length(index));
+    }
+}
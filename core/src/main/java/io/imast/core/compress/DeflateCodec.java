@@ -0,0 +1,165 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * The raw deflate codec (no zlib or GZIP wrapper)
+ *
+ * @author davitp
+ */
+public class DeflateCodec implements Codec {
+
+    /**
+     * The codec ID of default level
+     */
+    public static final int ID = 2;
+
+    /**
+     * The codec ID of fastest level
+     */
+    public static final int FAST_ID = 4;
+
+    /**
+     * The codec ID
+     */
+    private final int id;
+
+    /**
+     * The compression level
+     */
+    private final int level;
+
+    /**
+     * Creates new instance of deflate codec with default level
+     */
+    public DeflateCodec() {
+        this(ID, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates new instance of deflate codec
+     *
+     * @param id The codec ID
+     * @param level The compression level
+     */
+    public DeflateCodec(int id, int level) {
+        this.id = id;
+        this.level = level;
+    }
+
+    /**
+     * Creates the deflate codec of fastest level
+     *
+     * @return Returns the codec
+     */
+    public static DeflateCodec fast() {
+        return new DeflateCodec(FAST_ID, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return this.id == FAST_ID ? "deflate-fast" : "deflate";
+    }
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+
+        // the pooled raw deflater
+        var deflater = DeflaterPool.deflater(this.level);
+
+        try {
+            deflater.setInput(data, off, len);
+            deflater.finish();
+
+            // the output (grown when needed)
+            var output = new byte[Math.max(64, len / 2 + 16)];
+            var size = 0;
+
+            while(!deflater.finished()){
+
+                // grow output
+                if(size == output.length){
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                size += deflater.deflate(output, size, output.length - size);
+            }
+
+            return Arrays.copyOf(output, size);
+        } finally {
+            DeflaterPool.release(deflater);
+        }
+    }
+
+    /**
+     * Decompress the range of bytes
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+
+        // the pooled raw inflater
+        var inflater = DeflaterPool.inflater();
+
+        try {
+            inflater.setInput(data, off, len);
+
+            // the output (grown when needed)
+            var output = new byte[Math.max(64, len * 3)];
+            var size = 0;
+
+            while(!inflater.finished()){
+
+                // grow output
+                if(size == output.length){
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                // the inflated count
+                var count = inflater.inflate(output, size, output.length - size);
+
+                // no progress without more input
+                if(count == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    throw new IllegalArgumentException("Truncated deflate data");
+                }
+
+                size += count;
+            }
+
+            return Arrays.copyOf(output, size);
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Malformed deflate data", ex);
+        } finally {
+            DeflaterPool.release(inflater);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.imast.core.compress;
+
+/**
+ * The versioned preset dictionary of deflate
+ *
+ * The ID is written into every payload compressed with the dictionary, so it
+ * should change whenever the dictionary content changes (older dictionaries
+ * stay registered to decode older payloads).
+ *
+ * @author davitp
+ */
+public final class DeflateDictionary {
+
+    /**
+     * The maximum useful dictionary size (deflate window)
+     */
+    public static final int MAX_SIZE = 32768;
+
+    /**
+     * The dictionary ID
+     */
+    private final int id;
+
+    /**
+     * The dictionary bytes
+     */
+    private final byte[] bytes;
+
+    /**
+     * Creates new instance of deflate dictionary
+     *
+     * @param id The dictionary ID
+     * @param bytes The dictionary bytes
+     */
+    private DeflateDictionary(int id, byte[] bytes) {
+        this.id = id;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates the dictionary
+     *
+     * @param id The dictionary ID (non-negative)
+     * @param bytes The dictionary bytes (most common content last)
+     * @return Returns the dictionary
+     */
+    public static DeflateDictionary of(int id, byte[] bytes) {
+
+        // validate
+        if(id < 0){
+            throw new IllegalArgumentException("Dictionary ID should be non-negative");
+        }
+
+        if(bytes.length == 0 || bytes.length > MAX_SIZE){
+            throw new IllegalArgumentException("Dictionary size should be from 1 to " + MAX_SIZE);
+        }
+
+        return new DeflateDictionary(id, bytes.clone());
+    }
+
+    /**
+     * Gets the dictionary ID
+     *
+     * @return Returns the dictionary ID
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the dictionary bytes
+     *
+     * @return Returns copy of dictionary bytes
+     */
+    public byte[] getBytes() {
+        return this.bytes.clone();
+    }
+
+    /**
+     * Gets the dictionary size
+     *
+     * @return Returns the size
+     */
+    public int size() {
+        return this.bytes.length;
+    }
+
+    /**
+     * Gets the dictionary bytes (not copied)
+     *
+     * @return Returns the dictionary bytes
+     */
+    byte[] bytes() {
+        return this.bytes;
+    }
+}
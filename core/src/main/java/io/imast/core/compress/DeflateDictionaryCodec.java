@@ -0,0 +1,310 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * The raw deflate codec with preset dictionaries
+ *
+ * Payload is the varint dictionary ID, the varint original length and the
+ * raw deflate data compressed with the dictionary. New payloads use the
+ * latest registered dictionary, the older ones stay registered to decode
+ * payloads written before.
+ *
+ * @author davitp
+ */
+public class DeflateDictionaryCodec implements Codec {
+
+    /**
+     * The codec ID
+     */
+    public static final int ID = 6;
+
+    /**
+     * The dictionaries by ID
+     */
+    private final ConcurrentHashMap<Integer, DeflateDictionary> dictionaries;
+
+    /**
+     * The compression level
+     */
+    private final int level;
+
+    /**
+     * The current dictionary
+     */
+    private volatile DeflateDictionary current;
+
+    /**
+     * Creates new instance of dictionary codec with default level
+     */
+    public DeflateDictionaryCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates new instance of dictionary codec
+     *
+     * @param level The compression level
+     */
+    public DeflateDictionaryCodec(int level) {
+        this.dictionaries = new ConcurrentHashMap<>();
+        this.level = level;
+        this.current = null;
+    }
+
+    /**
+     * Register the dictionary and use it for new payloads
+     *
+     * @param dictionary The dictionary
+     * @return Returns the codec
+     * @throws IllegalArgumentException if other dictionary has same ID
+     */
+    public DeflateDictionaryCodec register(DeflateDictionary dictionary) {
+
+        // the registered dictionary of ID
+        var existing = this.dictionaries.putIfAbsent(dictionary.getId(), dictionary);
+
+        if(existing != null && existing != dictionary && !Arrays.equals(existing.bytes(), dictionary.bytes())){
+            throw new IllegalArgumentException("Dictionary ID " + dictionary.getId() + " is taken by other content");
+        }
+
+        this.current = dictionary;
+
+        return this;
+    }
+
+    /**
+     * Gets the dictionary by ID
+     *
+     * @param id The dictionary ID
+     * @return Returns the dictionary or null if unknown
+     */
+    public DeflateDictionary get(int id) {
+        return this.dictionaries.get(id);
+    }
+
+    /**
+     * Gets the dictionary of new payloads
+     *
+     * @return Returns the dictionary or null if none registered
+     */
+    public DeflateDictionary getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return "deflate-dictionary";
+    }
+
+    /**
+     * Compress the range of bytes with current dictionary
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     * @throws IllegalStateException if no dictionary is registered
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+
+        // the dictionary
+        var dictionary = this.current;
+
+        if(dictionary == null){
+            throw new IllegalStateException("No deflate dictionary is registered");
+        }
+
+        // the output (grown when needed)
+        var output = new byte[Math.max(64, len / 2 + 16)];
+        var size = writeVarint(output, writeVarint(output, 0, dictionary.getId()), len);
+
+        // the raw deflater with dictionary
+        var deflater = DeflaterPool.deflater(this.level);
+
+        try {
+            deflater.setDictionary(dictionary.bytes());
+            deflater.setInput(data, off, len);
+            deflater.finish();
+
+            while(!deflater.finished()){
+
+                // grow output
+                if(size == output.length){
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+
+                size += deflater.deflate(output, size, output.length - size);
+            }
+
+            return Arrays.copyOf(output, size);
+        } finally {
+            DeflaterPool.release(deflater);
+        }
+    }
+
+    /**
+     * Decompress the range of bytes with the dictionary of payload
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+
+        // the end of payload
+        var end = off + len;
+
+        // the dictionary ID
+        var id = readVarint(data, off, end);
+
+        off += varintLength(id);
+
+        // the dictionary
+        var dictionary = this.dictionaries.get(id);
+
+        if(dictionary == null){
+            throw new IllegalArgumentException("Unknown deflate dictionary " + id);
+        }
+
+        // the original length
+        var length = readVarint(data, off, end);
+
+        off += varintLength(length);
+
+        // deflate expands at most 1032 times (do not trust the length beyond)
+        if(length > (long) (end - off) * 1032){
+            throw new IllegalArgumentException("Deflate length " + length + " exceeds the data of " + (end - off) + " bytes");
+        }
+
+        // the raw inflater with dictionary
+        var inflater = DeflaterPool.inflater();
+
+        try {
+            inflater.setDictionary(dictionary.bytes());
+            inflater.setInput(data, off, end - off);
+
+            // the output
+            var output = new byte[length];
+            var size = 0;
+
+            while(size < length && !inflater.finished()){
+
+                // the inflated count
+                var count = inflater.inflate(output, size, length - size);
+
+                // no progress without more input
+                if(count == 0 && inflater.needsInput()){
+                    throw new IllegalArgumentException("Truncated deflate data");
+                }
+
+                size += count;
+            }
+
+            if(size != length || !inflater.finished() && inflater.inflate(new byte[1]) > 0){
+                throw new IllegalArgumentException("Deflate data does not match length " + length);
+            }
+
+            return output;
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Malformed deflate data", ex);
+        } finally {
+            DeflaterPool.release(inflater);
+        }
+    }
+
+    /**
+     * Write the varint
+     *
+     * @param output The output
+     * @param off The offset
+     * @param value The non-negative value
+     * @return Returns new offset
+     */
+    private static int writeVarint(byte[] output, int off, int value) {
+
+        for(; ; value >>>= 7){
+            if((value & ~0x7F) == 0){
+                output[off++] = (byte) value;
+                return off;
+            }
+
+            output[off++] = (byte) ((value & 0x7F) | 0x80);
+        }
+    }
+
+    /**
+     * Read the varint
+     *
+     * @param data The data
+     * @param off The offset
+     * @param end The end
+     * @return Returns the non-negative value
+     */
+    private static int readVarint(byte[] data, int off, int end) {
+
+        // the value
+        var value = 0;
+
+        for(var shift = 0; ; shift += 7){
+
+            if(off >= end || shift > 28){
+                throw new IllegalArgumentException("Malformed varint");
+            }
+
+            // the next byte
+            var b = data[off++];
+
+            value |= (b & 0x7F) << shift;
+
+            if(b >= 0){
+                break;
+            }
+        }
+
+        if(value < 0){
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the length of varint
+     *
+     * @param value The non-negative value
+     * @return Returns the number of bytes
+     */
+    private static int varintLength(int value) {
+
+        // the length
+        var length = 1;
+
+        while((value >>>= 7) != 0){
+            length++;
+        }
+
+        return length;
+    }
+}
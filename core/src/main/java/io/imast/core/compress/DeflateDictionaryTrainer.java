@@ -0,0 +1,262 @@
+package io.imast.core.compress;
+
+import io.imast.core.json.Json;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The deflate dictionary trainer
+ *
+ * Counts in how many samples each 8-byte gram occurs, then grows segments
+ * around the most frequent grams (seen in at least 1% of samples) over
+ * neighbouring grams at least half as frequent, skipping grams already
+ * covered. Segments are packed most valuable last, so they are closest to
+ * the compressed data. Works best on many small samples of the same shape,
+ * such as JSON documents of one type.
+ *
+ * @author davitp
+ */
+public class DeflateDictionaryTrainer {
+
+    /**
+     * The default dictionary size (dictionary is hashed on every call, so larger ones cost CPU)
+     */
+    public static final int DEFAULT_SIZE = 4096;
+
+    /**
+     * The gram length (minimum segment length)
+     */
+    private static final int GRAM = 8;
+
+    /**
+     * The maximum segment length
+     */
+    private static final int MAX_SEGMENT = 256;
+
+    /**
+     * The samples
+     */
+    private final List<byte[]> samples;
+
+    /**
+     * Creates new instance of deflate dictionary trainer
+     */
+    public DeflateDictionaryTrainer() {
+        this.samples = new ArrayList<>();
+    }
+
+    /**
+     * Add the sample to corpus
+     *
+     * @param sample The sample string
+     * @return Returns the trainer
+     */
+    public DeflateDictionaryTrainer add(String sample) {
+
+        // nothing to add
+        if(sample == null){
+            return this;
+        }
+
+        return this.add(sample.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add the sample to corpus
+     *
+     * @param sample The sample bytes
+     * @return Returns the trainer
+     */
+    public DeflateDictionaryTrainer add(byte[] sample) {
+
+        // nothing to add
+        if(sample == null || sample.length == 0){
+            return this;
+        }
+
+        this.samples.add(sample);
+
+        return this;
+    }
+
+    /**
+     * Add the samples to corpus
+     *
+     * @param samples The sample strings
+     * @return Returns the trainer
+     */
+    public DeflateDictionaryTrainer addAll(Iterable<String> samples) {
+
+        for(var sample : samples){
+            this.add(sample);
+        }
+
+        return this;
+    }
+
+    /**
+     * Add the JSON of object to corpus (as written by {@link Json#to(Object)})
+     *
+     * @param value The sample object
+     * @return Returns the trainer
+     */
+    public DeflateDictionaryTrainer addJson(Object value) {
+        return this.add(Json.to(value));
+    }
+
+    /**
+     * Build the dictionary of default size
+     *
+     * @param id The dictionary ID
+     * @return Returns the dictionary
+     */
+    public DeflateDictionary build(int id) {
+        return this.build(id, DEFAULT_SIZE);
+    }
+
+    /**
+     * Build the dictionary of the corpus so far
+     *
+     * @param id The dictionary ID
+     * @param size The maximum dictionary size
+     * @return Returns the dictionary
+     */
+    public DeflateDictionary build(int id, int size) {
+
+        // empty corpus
+        if(this.samples.isEmpty()){
+            throw new IllegalStateException("Cannot train dictionary on empty corpus");
+        }
+
+        if(size <= 0 || size > DeflateDictionary.MAX_SIZE){
+            throw new IllegalArgumentException("Dictionary size should be from 1 to " + DeflateDictionary.MAX_SIZE);
+        }
+
+        // the number of samples with each gram and its first occurrence
+        var grams = new HashMap<Long, Integer>();
+        var occurrences = new HashMap<Long, Long>();
+
+        for(var index = 0; index < this.samples.size(); index++){
+
+            // the sample and its distinct grams
+            var sample = this.samples.get(index);
+            var seen = new HashSet<Long>();
+
+            for(var i = 0; i + GRAM <= sample.length; i++){
+
+                // the gram
+                var gram = gram(sample, i);
+
+                if(seen.add(gram)){
+                    grams.merge(gram, 1, Integer::sum);
+                    occurrences.putIfAbsent(gram, (long) index << 32 | i);
+                }
+            }
+        }
+
+        // the grams seen in at least 1% of samples (and at least two) are repeated
+        var threshold = Math.max(2, this.samples.size() / 100);
+
+        // the seeds by frequency
+        var seeds = new ArrayList<Long>();
+
+        grams.forEach((gram, count) -> {
+            if(count >= threshold){
+                seeds.add(gram);
+            }
+        });
+
+        seeds.sort(Comparator.<Long>comparingInt(grams::get).reversed().thenComparing(g -> g));
+
+        // grow segments around seeds over grams nearly as frequent
+        var picked = new ArrayList<String>();
+        var covered = new HashSet<Long>();
+        var length = 0;
+
+        for(var seed : seeds){
+
+            // already in dictionary
+            if(covered.contains(seed)){
+                continue;
+            }
+
+            // the occurrence of seed
+            var occurrence = occurrences.get(seed);
+            var sample = this.samples.get((int) (occurrence >>> 32));
+            var start = (int) (long) occurrence;
+            var end = start;
+            var floor = Math.max(threshold, grams.get(seed) / 2);
+
+            // extend to the left and right
+            while(start > 0 && end - start + GRAM < MAX_SEGMENT && grams.get(gram(sample, start - 1)) >= floor){
+                start--;
+            }
+
+            while(end + GRAM < sample.length && end - start + GRAM < MAX_SEGMENT && grams.get(gram(sample, end + 1)) >= floor){
+                end++;
+            }
+
+            // the segment should fit
+            var segmentLength = end - start + GRAM;
+
+            if(length + segmentLength > size){
+                continue;
+            }
+
+            for(var i = start; i <= end; i++){
+                covered.add(gram(sample, i));
+            }
+
+            picked.add(new String(sample, start, segmentLength, StandardCharsets.ISO_8859_1));
+            length += segmentLength;
+        }
+
+        // nothing repeated, use the latest samples as is
+        if(picked.isEmpty()){
+            for(var i = this.samples.size() - 1; i >= 0 && length < size; i--){
+                picked.add(new String(this.samples.get(i), StandardCharsets.ISO_8859_1));
+                length += this.samples.get(i).length;
+            }
+        }
+
+        // the most valuable segments last
+        var dictionary = new StringBuilder(length);
+
+        for(var i = picked.size() - 1; i >= 0; i--){
+            dictionary.append(picked.get(i));
+        }
+
+        // the tail of size (the end is most valuable)
+        var bytes = dictionary.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        if(bytes.length > size){
+            bytes = Arrays.copyOfRange(bytes, bytes.length - size, bytes.length);
+        }
+
+        return DeflateDictionary.of(id, bytes);
+    }
+
+    /**
+     * Gets the gram at position
+     *
+     * @param data The data
+     * @param index The position
+     * @return Returns the gram as long
+     */
+    private static long gram(byte[] data, int index) {
+
+        // the gram value
+        var value = 0L;
+
+        for(var i = 0; i < GRAM; i++){
+            value = (value << 8) | (data[index + i] & 0xFF);
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package io.imast.core.compress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The per-thread pool of raw deflaters and inflaters
+ *
+ * Native zlib state is expensive to create, so released instances are reset
+ * and kept for reuse by the same thread (up to a small bound, the rest are
+ * ended).
+ *
+ * @author davitp
+ */
+final class DeflaterPool {
+
+    /**
+     * The maximum pooled deflaters (and inflaters) per thread
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * The per-thread pool
+     */
+    private static final ThreadLocal<DeflaterPool> POOL = ThreadLocal.withInitial(DeflaterPool::new);
+
+    /**
+     * The idle deflaters
+     */
+    private final List<Deflater> deflaters = new ArrayList<>(POOL_SIZE);
+
+    /**
+     * The idle inflaters
+     */
+    private final List<Inflater> inflaters = new ArrayList<>(POOL_SIZE);
+
+    /**
+     * Borrow the raw deflater of level
+     *
+     * @param level The compression level (-1 to 9)
+     * @return Returns the deflater
+     */
+    static Deflater deflater(int level) {
+
+        // validate level
+        if((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION){
+            throw new IllegalArgumentException("Invalid compression level " + level);
+        }
+
+        // the pool of thread
+        var pool = POOL.get();
+        var deflater = pool.deflaters.isEmpty() ? new Deflater(level, true) : pool.deflaters.remove(pool.deflaters.size() - 1);
+
+        deflater.setLevel(level);
+
+        return deflater;
+    }
+
+    /**
+     * Return the deflater to pool (or end it if pool is full)
+     *
+     * @param deflater The deflater
+     */
+    static void release(Deflater deflater) {
+
+        // the pool of thread
+        var pool = POOL.get();
+
+        if(pool.deflaters.size() >= POOL_SIZE){
+            deflater.end();
+            return;
+        }
+
+        deflater.reset();
+        pool.deflaters.add(deflater);
+    }
+
+    /**
+     * Borrow the raw inflater
+     *
+     * @return Returns the inflater
+     */
+    static Inflater inflater() {
+
+        // the pool of thread
+        var pool = POOL.get();
+
+        return pool.inflaters.isEmpty() ? new Inflater(true) : pool.inflaters.remove(pool.inflaters.size() - 1);
+    }
+
+    /**
+     * Return the inflater to pool (or end it if pool is full)
+     *
+     * @param inflater The inflater
+     */
+    static void release(Inflater inflater) {
+
+        // the pool of thread
+        var pool = POOL.get();
+
+        if(pool.inflaters.size() >= POOL_SIZE){
+            inflater.end();
+            return;
+        }
+
+        inflater.reset();
+        pool.inflaters.add(inflater);
+    }
+}
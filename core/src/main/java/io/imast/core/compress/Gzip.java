@@ -0,0 +1,618 @@
+package io.imast.core.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The GZIP compression with pooled deflaters and inflaters
+ *
+ * Writes and reads the GZIP format (RFC 1952) directly with raw Deflater and
+ * Inflater, so native state is reused from a small per-thread pool instead of
+ * being created for each call. Stream variants work in fixed chunks and never
+ * hold the whole payload in memory. Concatenated members are decompressed as
+ * one payload, same as GZIPInputStream.
+ *
+ * @author davitp
+ */
+public class Gzip {
+
+    /**
+     * The default compression level
+     */
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * The chunk size of streaming
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The maximum initial output of decompressing bytes (grown past it when needed)
+     */
+    private static final int MAX_HINT = 1 << 26;
+
+    /**
+     * The GZIP magic
+     */
+    private static final int MAGIC = 0x8b1f;
+
+    /**
+     * The header flags
+     */
+    private static final int FHCRC = 2, FEXTRA = 4, FNAME = 8, FCOMMENT = 16;
+
+    /**
+     * The header of written members (deflate, no flags, no time, unknown OS)
+     */
+    private static final byte[] HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    /**
+     * No instances
+     */
+    private Gzip() {
+    }
+
+    /**
+     * Compress the bytes with default level
+     *
+     * @param data The data
+     * @return Returns GZIP bytes
+     */
+    public static byte[] compress(byte[] data) {
+        return compress(data, 0, data.length, DEFAULT_LEVEL);
+    }
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @param level The compression level (-1 to 9)
+     * @return Returns GZIP bytes
+     */
+    public static byte[] compress(byte[] data, int off, int len, int level) {
+
+        // the output
+        var out = new Sink(len / 2 + 64);
+
+        try {
+            compress(data, off, len, level, out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Compress the range of bytes into output stream
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @param level The compression level (-1 to 9)
+     * @param out The output stream (not closed)
+     * @return Returns the number of written bytes
+     * @throws IOException
+     */
+    public static long compress(byte[] data, int off, int len, int level, OutputStream out) throws IOException {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > data.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        // the deflater and checksum
+        var deflater = DeflaterPool.deflater(level);
+        var crc = new CRC32();
+
+        try {
+            out.write(HEADER);
+
+            // compress all at once
+            crc.update(data, off, len);
+            deflater.setInput(data, off, len);
+            deflater.finish();
+
+            var written = HEADER.length + drain(deflater, true, new byte[CHUNK_SIZE], out);
+
+            writeTrailer(out, crc.getValue(), len);
+
+            return written + 8;
+        } finally {
+            DeflaterPool.release(deflater);
+        }
+    }
+
+    /**
+     * Compress the input stream into output stream
+     *
+     * @param in The input stream (not closed)
+     * @param out The output stream (not closed)
+     * @param level The compression level (-1 to 9)
+     * @return Returns the number of written bytes
+     * @throws IOException
+     */
+    public static long compress(InputStream in, OutputStream out, int level) throws IOException {
+
+        // the deflater and checksum
+        var deflater = DeflaterPool.deflater(level);
+        var crc = new CRC32();
+
+        try {
+            out.write(HEADER);
+
+            // the buffers
+            var input = new byte[CHUNK_SIZE];
+            var chunk = new byte[CHUNK_SIZE];
+            var written = (long) HEADER.length;
+            var total = 0L;
+
+            // compress chunk by chunk
+            for(var count = in.read(input); count >= 0; count = in.read(input)){
+                crc.update(input, 0, count);
+                deflater.setInput(input, 0, count);
+                total += count;
+                written += drain(deflater, false, chunk, out);
+            }
+
+            deflater.finish();
+            written += drain(deflater, true, chunk, out);
+
+            writeTrailer(out, crc.getValue(), total);
+
+            return written + 8;
+        } finally {
+            DeflaterPool.release(deflater);
+        }
+    }
+
+    /**
+     * Decompress the GZIP bytes
+     *
+     * @param data The GZIP data
+     * @return Returns decompressed bytes
+     * @throws IllegalArgumentException if data is malformed
+     */
+    public static byte[] decompress(byte[] data) {
+        return decompress(data, 0, data.length);
+    }
+
+    /**
+     * Decompress the range of GZIP bytes
+     *
+     * @param data The GZIP data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     * @throws IllegalArgumentException if data is malformed
+     */
+    public static byte[] decompress(byte[] data, int off, int len) {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > data.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        // size hint from trailer of the last member (bounded by deflate ratio)
+        var hint = 64L;
+
+        if(len >= 18){
+            hint = Math.min((data[off + len - 4] & 0xFFL) | (data[off + len - 3] & 0xFFL) << 8 | (data[off + len - 2] & 0xFFL) << 16 | (data[off + len - 1] & 0xFFL) << 24, len * 1032L);
+        }
+
+        // the output
+        var out = new Sink((int) Math.min(hint, MAX_HINT));
+
+        try {
+            decompress(new Source(data, off, len), out);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Malformed GZIP data", ex);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompress the GZIP input stream into output stream
+     *
+     * @param in The GZIP input stream (not closed)
+     * @param out The output stream (not closed)
+     * @return Returns the number of decompressed bytes
+     * @throws IOException if reading, writing fails or data is malformed
+     */
+    public static long decompress(InputStream in, OutputStream out) throws IOException {
+        return decompress(new Source(in), out);
+    }
+
+    /**
+     * Decompress all the members of source
+     *
+     * Same as GZIPInputStream, trailing bytes which do not start a member
+     * header end the data instead of failing it
+     *
+     * @param source The source
+     * @param out The output
+     * @return Returns the number of decompressed bytes
+     * @throws IOException
+     */
+    private static long decompress(Source source, OutputStream out) throws IOException {
+
+        // the inflater and checksum
+        var inflater = DeflaterPool.inflater();
+        var crc = new CRC32();
+        var chunk = new byte[CHUNK_SIZE];
+        var total = 0L;
+
+        try {
+
+            // the first member is required
+            var first = true;
+
+            while(first || !source.eof()){
+
+                // the member header (bytes after the last member which are not a header are ignored, as by GZIPInputStream)
+                try {
+                    readHeader(source);
+                } catch (IOException ex) {
+
+                    if(first){
+                        throw ex;
+                    }
+
+                    break;
+                }
+
+                first = false;
+
+                // inflate the member
+                inflater.reset();
+                crc.reset();
+
+                var size = 0L;
+
+                while(!inflater.finished()){
+
+                    // feed input
+                    if(inflater.needsInput()){
+
+                        if(!source.fill()){
+                            throw new EOFException("Unexpected end of GZIP data");
+                        }
+
+                        inflater.setInput(source.buffer, source.position, source.limit - source.position);
+                        source.position = source.limit;
+                    }
+
+                    // the inflated count
+                    var count = inflater.inflate(chunk);
+
+                    if(count == 0 && inflater.needsDictionary()){
+                        throw new ZipException("Unexpected deflate dictionary");
+                    }
+
+                    crc.update(chunk, 0, count);
+                    out.write(chunk, 0, count);
+                    size += count;
+                }
+
+                // return unused input
+                source.position -= inflater.getRemaining();
+
+                // check trailer
+                if(source.readInt() != (int) crc.getValue() || source.readInt() != (int) size){
+                    throw new ZipException("Corrupt GZIP trailer");
+                }
+
+                total += size;
+            }
+
+            return total;
+        } catch (DataFormatException ex) {
+            throw new ZipException(ex.getMessage());
+        } finally {
+            DeflaterPool.release(inflater);
+        }
+    }
+
+    /**
+     * Read and skip the member header
+     *
+     * @param source The source
+     * @throws IOException
+     */
+    private static void readHeader(Source source) throws IOException {
+
+        // magic and method
+        if(source.readShort() != MAGIC || source.read() != 8){
+            throw new ZipException("Not in GZIP format");
+        }
+
+        // the flags
+        var flags = source.read();
+
+        // time, extra flags and OS
+        source.skip(6);
+
+        // optional fields
+        if((flags & FEXTRA) != 0){
+            source.skip(source.readShort());
+        }
+
+        if((flags & FNAME) != 0){
+            while(source.read() != 0){
+            }
+        }
+
+        if((flags & FCOMMENT) != 0){
+            while(source.read() != 0){
+            }
+        }
+
+        if((flags & FHCRC) != 0){
+            source.skip(2);
+        }
+    }
+
+    /**
+     * Write the member trailer
+     *
+     * @param out The output
+     * @param crc The checksum
+     * @param size The uncompressed size
+     * @throws IOException
+     */
+    private static void writeTrailer(OutputStream out, long crc, long size) throws IOException {
+
+        // the trailer bytes
+        var trailer = new byte[8];
+
+        for(var i = 0; i < 4; i++){
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[i + 4] = (byte) (size >>> (8 * i));
+        }
+
+        out.write(trailer);
+    }
+
+    /**
+     * Deflate the pending output
+     *
+     * @param deflater The deflater
+     * @param finish Deflate until finished (otherwise until more input is needed)
+     * @param chunk The chunk buffer
+     * @param out The output
+     * @return Returns the number of written bytes
+     * @throws IOException
+     */
+    private static long drain(Deflater deflater, boolean finish, byte[] chunk, OutputStream out) throws IOException {
+
+        // the written count
+        var written = 0L;
+
+        while(finish ? !deflater.finished() : !deflater.needsInput()){
+
+            // the deflated count
+            var count = deflater.deflate(chunk);
+
+            out.write(chunk, 0, count);
+            written += count;
+        }
+
+        return written;
+    }
+
+    /**
+     * The buffered GZIP source over stream or byte range
+     */
+    private static class Source {
+
+        /**
+         * The stream (null for byte range)
+         */
+        private final InputStream in;
+
+        /**
+         * The buffer
+         */
+        private final byte[] buffer;
+
+        /**
+         * The read position
+         */
+        private int position;
+
+        /**
+         * The buffered limit
+         */
+        private int limit;
+
+        /**
+         * Creates new instance of source over stream
+         *
+         * @param in The input stream
+         */
+        Source(InputStream in) {
+            this.in = in;
+            this.buffer = new byte[CHUNK_SIZE];
+            this.position = 0;
+            this.limit = 0;
+        }
+
+        /**
+         * Creates new instance of source over byte range (not copied)
+         *
+         * @param data The data
+         * @param off The offset
+         * @param len The length
+         */
+        Source(byte[] data, int off, int len) {
+            this.in = null;
+            this.buffer = data;
+            this.position = off;
+            this.limit = off + len;
+        }
+
+        /**
+         * Ensure there are buffered bytes
+         *
+         * @return Returns false if at the end
+         * @throws IOException
+         */
+        boolean fill() throws IOException {
+
+            // still buffered or byte range
+            if(this.position < this.limit || this.in == null){
+                return this.position < this.limit;
+            }
+
+            // the read count
+            var count = this.in.read(this.buffer);
+
+            this.position = 0;
+            this.limit = Math.max(count, 0);
+
+            return count > 0 || (count == 0 && this.fill());
+        }
+
+        /**
+         * Checks if source is at the end
+         *
+         * @return Returns true if no more bytes
+         * @throws IOException
+         */
+        boolean eof() throws IOException {
+            return !this.fill();
+        }
+
+        /**
+         * Read the byte
+         *
+         * @return Returns the byte
+         * @throws IOException
+         */
+        int read() throws IOException {
+
+            if(!this.fill()){
+                throw new EOFException("Unexpected end of GZIP data");
+            }
+
+            return this.buffer[this.position++] & 0xFF;
+        }
+
+        /**
+         * Read little-endian short
+         *
+         * @return Returns the value
+         * @throws IOException
+         */
+        int readShort() throws IOException {
+            return this.read() | this.read() << 8;
+        }
+
+        /**
+         * Read little-endian int
+         *
+         * @return Returns the value
+         * @throws IOException
+         */
+        int readInt() throws IOException {
+            return this.readShort() | this.readShort() << 16;
+        }
+
+        /**
+         * Skip the bytes
+         *
+         * @param count The number of bytes
+         * @throws IOException
+         */
+        void skip(int count) throws IOException {
+            for(var i = 0; i < count; i++){
+                this.read();
+            }
+        }
+    }
+
+    /**
+     * The growable byte output exposing exact-sized result without copy when full
+     */
+    private static class Sink extends OutputStream {
+
+        /**
+         * The buffer
+         */
+        private byte[] buffer;
+
+        /**
+         * The size
+         */
+        private int size;
+
+        /**
+         * Creates new instance of sink
+         *
+         * @param capacity The initial capacity
+         */
+        Sink(int capacity) {
+            this.buffer = new byte[Math.max(capacity, 16)];
+            this.size = 0;
+        }
+
+        /**
+         * Write the byte
+         *
+         * @param b The byte
+         */
+        @Override
+        public void write(int b) {
+            this.ensure(1);
+            this.buffer[this.size++] = (byte) b;
+        }
+
+        /**
+         * Write the bytes
+         *
+         * @param b The bytes
+         * @param off The offset
+         * @param len The length
+         */
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.ensure(len);
+            System.arraycopy(b, off, this.buffer, this.size, len);
+            this.size += len;
+        }
+
+        /**
+         * Gets the written bytes
+         *
+         * @return Returns the bytes
+         */
+        byte[] toByteArray() {
+            return this.size == this.buffer.length ? this.buffer : Arrays.copyOf(this.buffer, this.size);
+        }
+
+        /**
+         * Ensure the capacity for more bytes
+         *
+         * @param count The number of bytes
+         */
+        private void ensure(int count) {
+
+            // grow the buffer
+            if(this.buffer.length - this.size < count){
+                this.buffer = Arrays.copyOf(this.buffer, (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) this.size + count, this.buffer.length * 2L)));
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.imast.core.compress;
+
+/**
+ * The GZIP codec (same format as Str.gzip before Base64)
+ *
+ * Uses {@link Gzip} so deflaters and inflaters are pooled per thread.
+ *
+ * @author davitp
+ */
+public class GzipCodec implements Codec {
+
+    /**
+     * The codec ID
+     */
+    public static final int ID = 1;
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return "gzip";
+    }
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+        return Gzip.compress(data, off, len, Gzip.DEFAULT_LEVEL);
+    }
+
+    /**
+     * Decompress the range of bytes
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+        return Gzip.decompress(data, off, len);
+    }
+}
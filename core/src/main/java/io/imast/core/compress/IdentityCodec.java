@@ -0,0 +1,62 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+
+/**
+ * The identity codec (stored as is)
+ *
+ * @author davitp
+ */
+public class IdentityCodec implements Codec {
+
+    /**
+     * The codec ID
+     */
+    public static final int ID = 0;
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return "identity";
+    }
+
+    /**
+     * Copy the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns the copy
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+        return Arrays.copyOfRange(data, off, off + len);
+    }
+
+    /**
+     * Copy the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns the copy
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+        return Arrays.copyOfRange(data, off, off + len);
+    }
+}
@@ -0,0 +1,598 @@
+package io.imast.core.compress;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The LZ4 block format compressor and decompressor
+ *
+ * Pure Java implementation of the LZ4 block format (no frame), compatible with
+ * the reference LZ4_compress_default / LZ4_decompress_safe. Compression uses
+ * a greedy hash-table match finder reused per thread, decompression checks
+ * all the bounds so malformed input never reads or writes out of range.
+ *
+ * @author davitp
+ */
+public class Lz4 {
+
+    /**
+     * The minimum match length
+     */
+    private static final int MIN_MATCH = 4;
+
+    /**
+     * The number of trailing bytes always emitted as literals
+     */
+    private static final int LAST_LITERALS = 5;
+
+    /**
+     * The last match should start before this distance to the end
+     */
+    private static final int MF_LIMIT = 12;
+
+    /**
+     * The maximum match distance
+     */
+    private static final int MAX_DISTANCE = 65535;
+
+    /**
+     * The hash table bits
+     */
+    private static final int HASH_LOG = 12;
+
+    /**
+     * The acceleration of skipping when no matches
+     */
+    private static final int SKIP_TRIGGER = 6;
+
+    /**
+     * The per-thread scratch state
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * No instances
+     */
+    private Lz4() {
+    }
+
+    /**
+     * Gets the maximum compressed length
+     *
+     * @param length The input length
+     * @return Returns the maximum compressed length
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compress the bytes into new array
+     *
+     * @param data The data
+     * @return Returns the compressed block
+     */
+    public static byte[] compress(byte[] data) {
+
+        // the output of worst case size
+        var output = new byte[maxCompressedLength(data.length)];
+
+        return Arrays.copyOf(output, compress(data, 0, data.length, output, 0, output.length));
+    }
+
+    /**
+     * Compress the range of bytes into destination
+     *
+     * @param src The source
+     * @param off The source offset
+     * @param len The source length
+     * @param dst The destination
+     * @param dstOff The destination offset
+     * @param maxLen The destination capacity
+     * @return Returns the written length
+     * @throws IndexOutOfBoundsException if destination is too small ({@link #maxCompressedLength(int)} is always enough)
+     */
+    public static int compress(byte[] src, int off, int len, byte[] dst, int dstOff, int maxLen) {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > src.length || dstOff < 0 || maxLen < 0 || dstOff + maxLen > dst.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        // the hash table of positions (+1, 0 is empty)
+        var table = SCRATCH.get().table;
+
+        Arrays.fill(table, 0);
+
+        // the bounds
+        var end = off + len;
+        var matchLimit = end - LAST_LITERALS;
+        var mfLimit = end - MF_LIMIT;
+        var dstEnd = dstOff + maxLen;
+
+        // the positions
+        var anchor = off;
+        var ip = off;
+        var op = dstOff;
+
+        // too short to have matches
+        if(len >= MF_LIMIT + 1){
+
+            // the search attempts since last match
+            var attempts = 1 << SKIP_TRIGGER;
+
+            while(ip < mfLimit){
+
+                // the candidate
+                var sequence = readInt(src, ip);
+                var hash = hash(sequence);
+                var ref = table[hash] - 1 + off;
+
+                table[hash] = ip - off + 1;
+
+                // no match, skip faster over incompressible data
+                if(ref < off || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence){
+                    ip += attempts++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+
+                attempts = 1 << SKIP_TRIGGER;
+
+                // extend backwards
+                while(ip > anchor && ref > off && src[ip - 1] == src[ref - 1]){
+                    ip--;
+                    ref--;
+                }
+
+                // extend forwards
+                var matchLength = MIN_MATCH;
+
+                while(ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]){
+                    matchLength++;
+                }
+
+                // write sequence
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op, dstEnd);
+
+                ip += matchLength;
+                anchor = ip;
+
+                // index the position before match end
+                if(ip - 2 < mfLimit){
+                    table[hash(readInt(src, ip - 2))] = ip - 2 - off + 1;
+                }
+            }
+        }
+
+        // last literals
+        op = writeSequence(src, anchor, end - anchor, 0, 0, dst, op, dstEnd);
+
+        return op - dstOff;
+    }
+
+    /**
+     * Compress the remaining bytes of source into destination (both positions are advanced)
+     *
+     * @param src The source buffer
+     * @param dst The destination buffer
+     * @return Returns the written length
+     * @throws BufferOverflowException if destination remaining is too small
+     */
+    public static int compress(ByteBuffer src, ByteBuffer dst) {
+
+        // the source range
+        var length = src.remaining();
+
+        // the written length
+        int written;
+
+        // both heap buffers
+        if(src.hasArray() && dst.hasArray()){
+            try {
+                written = compress(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            } catch (IndexOutOfBoundsException ex) {
+                throw new BufferOverflowException();
+            }
+
+            dst.position(dst.position() + written);
+        } else {
+
+            // the source bytes
+            var scratch = SCRATCH.get();
+            var input = scratch.input(length);
+
+            src.duplicate().get(input, 0, length);
+
+            // the output bytes
+            var output = scratch.output(maxCompressedLength(length));
+
+            written = compress(input, 0, length, output, 0, output.length);
+
+            if(written > dst.remaining()){
+                throw new BufferOverflowException();
+            }
+
+            dst.put(output, 0, written);
+        }
+
+        src.position(src.position() + length);
+
+        return written;
+    }
+
+    /**
+     * Decompress the block into new array
+     *
+     * @param data The compressed block
+     * @param length The decompressed length
+     * @return Returns decompressed bytes
+     * @throws IllegalArgumentException if block is malformed or does not decompress to length
+     */
+    public static byte[] decompress(byte[] data, int length) {
+
+        // the output
+        var output = new byte[length];
+
+        // the decompressed length
+        var size = decompress(data, 0, data.length, output, 0, length);
+
+        if(size != length){
+            throw new IllegalArgumentException("LZ4 block decompressed to " + size + " bytes instead of " + length);
+        }
+
+        return output;
+    }
+
+    /**
+     * Decompress the block into destination
+     *
+     * @param src The source
+     * @param off The source offset
+     * @param len The block length
+     * @param dst The destination
+     * @param dstOff The destination offset
+     * @param maxLen The destination capacity
+     * @return Returns the decompressed length
+     * @throws IllegalArgumentException if block is malformed or does not fit destination
+     */
+    public static int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int maxLen) {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > src.length || dstOff < 0 || maxLen < 0 || dstOff + maxLen > dst.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        // the bounds
+        var end = off + len;
+        var dstEnd = dstOff + maxLen;
+
+        // the positions
+        var ip = off;
+        var op = dstOff;
+
+        // empty block
+        if(len == 0){
+            throw new IllegalArgumentException("Empty LZ4 block");
+        }
+
+        while(true){
+
+            // the block should end with literals
+            if(ip >= end){
+                throw malformed();
+            }
+
+            // the token
+            var token = src[ip++] & 0xFF;
+
+            // the literal length
+            var literals = token >>> 4;
+
+            if(literals == 15){
+                for(var b = 255; b == 255; ){
+                    if(ip >= end){
+                        throw malformed();
+                    }
+
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+
+                    // the literals should fit input (and the counter int)
+                    if(literals < 0 || literals > end - ip){
+                        throw malformed();
+                    }
+                }
+            }
+
+            // copy literals
+            if(literals > end - ip || literals > dstEnd - op){
+                throw malformed();
+            }
+
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+
+            // the last sequence has no match
+            if(ip == end){
+                return op - dstOff;
+            }
+
+            // the match offset
+            if(end - ip < 2){
+                throw malformed();
+            }
+
+            var offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+
+            ip += 2;
+
+            if(offset == 0 || offset > op - dstOff){
+                throw malformed();
+            }
+
+            // the match length
+            var matchLength = token & 0x0F;
+
+            if(matchLength == 15){
+                for(var b = 255; b == 255; ){
+                    if(ip >= end){
+                        throw malformed();
+                    }
+
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+
+                    // the match should fit output (and the counter int)
+                    if(matchLength < 0 || matchLength > dstEnd - op){
+                        throw malformed();
+                    }
+                }
+            }
+
+            matchLength += MIN_MATCH;
+
+            if(matchLength > dstEnd - op){
+                throw malformed();
+            }
+
+            // copy match (may overlap)
+            var ref = op - offset;
+
+            if(offset >= matchLength){
+                System.arraycopy(dst, ref, dst, op, matchLength);
+                op += matchLength;
+            } else {
+                for(var i = 0; i < matchLength; i++){
+                    dst[op++] = dst[ref++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Decompress the remaining block of source into destination (both positions are advanced)
+     *
+     * @param src The source buffer (all remaining bytes are one block)
+     * @param dst The destination buffer
+     * @return Returns the decompressed length
+     * @throws IllegalArgumentException if block is malformed or does not fit destination
+     */
+    public static int decompress(ByteBuffer src, ByteBuffer dst) {
+
+        // the source range
+        var length = src.remaining();
+
+        // the decompressed length
+        int size;
+
+        // both heap buffers
+        if(src.hasArray() && dst.hasArray()){
+            size = decompress(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            dst.position(dst.position() + size);
+        } else {
+
+            // the source bytes
+            var scratch = SCRATCH.get();
+            var input = scratch.input(length);
+
+            src.duplicate().get(input, 0, length);
+
+            // the output bytes (a block byte expands to at most 255 bytes)
+            var limit = (int) Math.min(dst.remaining(), (long) length * 255);
+            var output = scratch.output(limit);
+
+            size = decompress(input, 0, length, output, 0, limit);
+            dst.put(output, 0, size);
+        }
+
+        src.position(src.position() + length);
+
+        return size;
+    }
+
+    /**
+     * Write the sequence of literals and match
+     *
+     * @param src The source
+     * @param literalsStart The literals start
+     * @param literals The literals length
+     * @param offset The match offset
+     * @param matchLength The match length (0 for last literals)
+     * @param dst The destination
+     * @param op The destination position
+     * @param dstEnd The destination end
+     * @return Returns new destination position
+     */
+    private static int writeSequence(byte[] src, int literalsStart, int literals, int offset, int matchLength, byte[] dst, int op, int dstEnd) {
+
+        // the worst case size of sequence
+        var required = 1 + literals / 255 + 1 + literals + (matchLength > 0 ? 2 + matchLength / 255 + 1 : 0);
+
+        if(required > dstEnd - op){
+            throw new IndexOutOfBoundsException("Destination is too small");
+        }
+
+        // the token
+        var token = op++;
+        var matchCode = matchLength > 0 ? matchLength - MIN_MATCH : 0;
+
+        dst[token] = (byte) ((Math.min(literals, 15) << 4) | Math.min(matchCode, 15));
+
+        // literal length
+        if(literals >= 15){
+            op = writeLength(dst, op, literals - 15);
+        }
+
+        System.arraycopy(src, literalsStart, dst, op, literals);
+        op += literals;
+
+        // the match
+        if(matchLength > 0){
+            dst[op++] = (byte) offset;
+            dst[op++] = (byte) (offset >>> 8);
+
+            if(matchCode >= 15){
+                op = writeLength(dst, op, matchCode - 15);
+            }
+        }
+
+        return op;
+    }
+
+    /**
+     * Write the length extension bytes
+     *
+     * @param dst The destination
+     * @param op The destination position
+     * @param length The remaining length
+     * @return Returns new destination position
+     */
+    private static int writeLength(byte[] dst, int op, int length) {
+
+        while(length >= 255){
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+
+        dst[op++] = (byte) length;
+
+        return op;
+    }
+
+    /**
+     * Read little-endian int
+     *
+     * @param data The data
+     * @param index The index
+     * @return Returns the value
+     */
+    private static int readInt(byte[] data, int index) {
+        return (data[index] & 0xFF) | ((data[index + 1] & 0xFF) << 8) | ((data[index + 2] & 0xFF) << 16) | ((data[index + 3] & 0xFF) << 24);
+    }
+
+    /**
+     * Hash the 4-byte sequence
+     *
+     * @param sequence The sequence
+     * @return Returns the hash table index
+     */
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    /**
+     * Creates malformed block error
+     *
+     * @return Returns the error
+     */
+    private static IllegalArgumentException malformed() {
+        return new IllegalArgumentException("Malformed LZ4 block");
+    }
+
+    /**
+     * The reusable per-thread state
+     */
+    private static class Scratch {
+
+        /**
+         * The match finder hash table
+         */
+        private final int[] table = new int[1 << HASH_LOG];
+
+        /**
+         * The largest buffer kept for reuse (larger ones are allocated per call)
+         */
+        private static final int RETAINED_SIZE = 1 << 16;
+
+        /**
+         * The input copy of direct buffers
+         */
+        private byte[] input = new byte[0];
+
+        /**
+         * The output of direct buffers
+         */
+        private byte[] output = new byte[0];
+
+        /**
+         * Gets the input of at least given size
+         *
+         * @param size The required size
+         * @return Returns the input (reused or a larger one-off buffer)
+         */
+        byte[] input(int size) {
+
+            // enough space
+            if(this.input.length >= size){
+                return this.input;
+            }
+
+            // the grown input
+            var input = grow(this.input, size);
+
+            // keep for reuse if small enough
+            if(input.length <= RETAINED_SIZE){
+                this.input = input;
+            }
+
+            return input;
+        }
+
+        /**
+         * Gets the output of at least given size
+         *
+         * @param size The required size
+         * @return Returns the output (reused or a larger one-off buffer)
+         */
+        byte[] output(int size) {
+
+            // enough space
+            if(this.output.length >= size){
+                return this.output;
+            }
+
+            // the grown output
+            var output = grow(this.output, size);
+
+            // keep for reuse if small enough
+            if(output.length <= RETAINED_SIZE){
+                this.output = output;
+            }
+
+            return output;
+        }
+
+        /**
+         * Allocate the buffer larger than current one
+         *
+         * @param current The current buffer
+         * @param size The required size
+         * @return Returns new buffer
+         */
+        private static byte[] grow(byte[] current, int size) {
+            return new byte[Math.max(size, Math.min(current.length * 2, RETAINED_SIZE))];
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+
+/**
+ * The LZ4 block codec
+ *
+ * Payload is the varint original length followed by the LZ4 block.
+ *
+ * @author davitp
+ */
+public class Lz4Codec implements Codec {
+
+    /**
+     * The codec ID
+     */
+    public static final int ID = 5;
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return "lz4";
+    }
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+
+        // the output of worst case size
+        var output = new byte[5 + Lz4.maxCompressedLength(len)];
+        var size = 0;
+
+        // varint length
+        for(var value = len; ; value >>>= 7){
+            if((value & ~0x7F) == 0){
+                output[size++] = (byte) value;
+                break;
+            }
+
+            output[size++] = (byte) ((value & 0x7F) | 0x80);
+        }
+
+        size += Lz4.compress(data, off, len, output, size, output.length - size);
+
+        return Arrays.copyOf(output, size);
+    }
+
+    /**
+     * Decompress the range of bytes
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+
+        // the end of payload
+        var end = off + len;
+
+        // the varint length
+        var length = 0;
+
+        for(var shift = 0; ; shift += 7){
+
+            if(off >= end || shift > 28){
+                throw new IllegalArgumentException("Malformed LZ4 length");
+            }
+
+            // the next byte
+            var b = data[off++];
+
+            length |= (b & 0x7F) << shift;
+
+            if(b >= 0){
+                break;
+            }
+        }
+
+        if(length < 0){
+            throw new IllegalArgumentException("Malformed LZ4 length");
+        }
+
+        // a block byte expands to at most 255 bytes (do not trust the length beyond)
+        if(length > (long) (end - off) * 255){
+            throw new IllegalArgumentException("LZ4 length " + length + " exceeds the block of " + (end - off) + " bytes");
+        }
+
+        // the output
+        var output = new byte[length];
+
+        // the decompressed length
+        var size = Lz4.decompress(data, off, end - off, output, 0, length);
+
+        if(size != length){
+            throw new IllegalArgumentException("LZ4 block decompressed to " + size + " bytes instead of " + length);
+        }
+
+        return output;
+    }
+}
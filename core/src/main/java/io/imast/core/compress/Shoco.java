@@ -1,7 +1,14 @@
 package io.imast.core.compress;
 
-import io.imast.core.adt.ByteBuffer;
+import java.nio.BufferOverflowException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * The Shoco compression Refer to GitHub/Quantum64/Jstx
@@ -10,6 +17,169 @@ import java.nio.charset.StandardCharsets;
  */
 public class Shoco {
     
+    /**
+     * The per-thread scratch state
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    
+    /**
+     * The number of strings per batch task
+     */
+    private static final int BATCH_CHUNK = 512;
+    
+    /**
+     * The model of instance
+     */
+    private final ShocoModel model;
+    
+    /**
+     * Creates new instance of Shoco with default model
+     */
+    public Shoco() {
+        this(ShocoModel.DEFAULT);
+    }
+    
+    /**
+     * Creates new instance of Shoco with the given model
+     * 
+     * @param model The model
+     */
+    public Shoco(ShocoModel model) {
+        this.model = model;
+    }
+    
+    /**
+     * Creates new instance of Shoco with the given model
+     * 
+     * @param model The model
+     * @return Returns the Shoco instance
+     */
+    public static Shoco of(ShocoModel model) {
+        return new Shoco(model);
+    }
+    
+    /**
+     * Gets the model of instance
+     * 
+     * @return Returns the model
+     */
+    public ShocoModel getModel() {
+        return this.model;
+    }
+    
+    /**
+     * Compress a given string with the instance model
+     * 
+     * @param str The given string
+     * @return Returns compressed output
+     */
+    public byte[] encode(String str) {
+        
+        // no string
+        if(str == null){
+            return new byte[0];
+        }
+        
+        // the scratch state
+        var scratch = SCRATCH.get();
+        
+        // the UTF-8 input and length
+        var input = scratch.utf8(str);
+        var length = scratch.length;
+        
+        // the output of worst case size
+        var output = scratch.output(length * 2);
+        
+        // compress into scratch
+        var written = pack(this.model, input, 0, length, output, 0, output.length, scratch.indices);
+        
+        return Arrays.copyOf(output, written);
+    }
+    
+    /**
+     * Compress a given string with the instance model into the destination array
+     * 
+     * @param str The given string
+     * @param dst The destination array
+     * @param off The offset in destination
+     * @return Returns the written length
+     * @throws IndexOutOfBoundsException if destination is too small
+     */
+    public int encode(CharSequence str, byte[] dst, int off) {
+        
+        // no string
+        if(str == null){
+            return 0;
+        }
+        
+        // check offset
+        if(off < 0 || off > dst.length){
+            throw new IndexOutOfBoundsException("Offset " + off + " is out of destination bounds");
+        }
+        
+        // the scratch state
+        var scratch = SCRATCH.get();
+        
+        // the UTF-8 input and length
+        var input = scratch.utf8(str);
+        var length = scratch.length;
+        
+        // compress into destination
+        var end = pack(this.model, input, 0, length, dst, off, dst.length, scratch.indices);
+        
+        if(end < 0){
+            throw new IndexOutOfBoundsException("Destination is too small");
+        }
+        
+        return end - off;
+    }
+    
+    /**
+     * Decompress the given bytes with the instance model
+     * 
+     * @param bytes The bytes to decompress
+     * @return Returns decompressed string
+     * @throws IllegalArgumentException if input is malformed for the model
+     */
+    public String decode(byte[] bytes) {
+        
+        // no input
+        if(bytes == null){
+            return "";
+        }
+        
+        return this.decode(bytes, 0, bytes.length);
+    }
+    
+    /**
+     * Decompress the given range of bytes with the instance model
+     * 
+     * @param bytes The bytes to decompress
+     * @param off The offset of range
+     * @param len The length of range
+     * @return Returns decompressed string
+     * @throws IllegalArgumentException if input is malformed for the model
+     */
+    public String decode(byte[] bytes, int off, int len) {
+        
+        // check bounds
+        if(off < 0 || len < 0 || off + len > bytes.length){
+            throw new IndexOutOfBoundsException();
+        }
+        
+        // the output of worst case size
+        var output = SCRATCH.get().output(len * 2);
+        
+        // decompress into scratch
+        var length = decompress(this.model, bytes, off, off + len, output, 0);
+        
+        if(length < 0){
+            throw new IllegalArgumentException("Malformed Shoco input");
+        }
+        
+        return string(output, length);
+    }
+    
     /**
      * Compress a given string into a byte array
      * 
@@ -23,29 +193,281 @@ public class Shoco {
             return new byte[0];
         }
         
-        // string as chars
-        var chars = str.getBytes(StandardCharsets.UTF_8);
+        // the scratch state
+        var scratch = SCRATCH.get();
+        
+        // the UTF-8 input and length
+        var input = scratch.utf8(str);
+        var length = scratch.length;
+        
+        // the output of worst case size
+        var output = scratch.output(length * 2);
+        
+        // compress into scratch
+        var written = pack(ShocoModel.DEFAULT, input, 0, length, output, 0, output.length, scratch.indices);
+        
+        return Arrays.copyOf(output, written);
+    }
+    
+    /**
+     * Compress a given string into the destination array without allocations
+     * 
+     * @param str The given string
+     * @param dst The destination array
+     * @param off The offset in destination
+     * @return Returns the written length
+     * @throws IndexOutOfBoundsException if destination is too small (at most {@link #maxCompressedLength(CharSequence)} bytes are needed)
+     */
+    public static int compress(CharSequence str, byte[] dst, int off) {
+        
+        // no string
+        if(str == null){
+            return 0;
+        }
+        
+        // check offset
+        if(off < 0 || off > dst.length){
+            throw new IndexOutOfBoundsException("Offset " + off + " is out of destination bounds");
+        }
+        
+        // the scratch state
+        var scratch = SCRATCH.get();
+        
+        // the UTF-8 input and length
+        var input = scratch.utf8(str);
+        var length = scratch.length;
+        
+        // compress into destination
+        var end = pack(ShocoModel.DEFAULT, input, 0, length, dst, off, dst.length, scratch.indices);
+        
+        if(end < 0){
+            throw new IndexOutOfBoundsException("Destination is too small");
+        }
+        
+        return end - off;
+    }
+    
+    /**
+     * Compress a given string into the buffer at its position (position is advanced)
+     * 
+     * @param str The given string
+     * @param dst The destination buffer
+     * @return Returns the written length
+     * @throws BufferOverflowException if buffer remaining is too small
+     */
+    public static int compress(String str, java.nio.ByteBuffer dst) {
+        
+        // no string
+        if(str == null){
+            return 0;
+        }
+        
+        // the scratch state
+        var scratch = SCRATCH.get();
+        
+        // the UTF-8 input and length
+        var input = scratch.utf8(str);
+        var length = scratch.length;
+        
+        // the position
+        var position = dst.position();
+        
+        // write directly into backing array
+        if(dst.hasArray()){
+            
+            // the array bounds
+            var start = dst.arrayOffset() + position;
+            var end = pack(ShocoModel.DEFAULT, input, 0, length, dst.array(), start, dst.arrayOffset() + dst.limit(), scratch.indices);
+            
+            if(end < 0){
+                throw new BufferOverflowException();
+            }
+            
+            dst.position(position + end - start);
+            
+            return end - start;
+        }
+        
+        // compress into scratch and copy
+        var output = scratch.output(length * 2);
+        var written = pack(ShocoModel.DEFAULT, input, 0, length, output, 0, output.length, scratch.indices);
+        
+        dst.put(output, 0, written);
+        
+        return written;
+    }
+    
+    /**
+     * Compress the strings in parallel into one arena with default model
+     * 
+     * @param strings The strings to compress (null ones are empty)
+     * @return Returns the compressed batch
+     */
+    public static CompressedBatch compressAll(List<? extends CharSequence> strings) {
+        return new Shoco().encodeAll(strings, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Compress the strings in parallel into one arena with the instance model
+     * 
+     * @param strings The strings to compress (null ones are empty)
+     * @return Returns the compressed batch
+     */
+    public CompressedBatch encodeAll(List<? extends CharSequence> strings) {
+        return this.encodeAll(strings, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Compress the strings in parallel into one arena with the instance model
+     * 
+     * @param strings The strings to compress (null ones are empty)
+     * @param pool The pool to run in
+     * @return Returns the compressed batch
+     */
+    public CompressedBatch encodeAll(List<? extends CharSequence> strings, ForkJoinPool pool) {
+        
+        // random access to strings
+        List<? extends CharSequence> items = strings instanceof RandomAccess ? strings : new ArrayList<>(strings);
         
-        // buffer data
-        var data = new ByteBuffer(chars.length * 2);
+        // the count and chunks
+        var count = items.size();
+        var chunks = (count + BATCH_CHUNK - 1) / BATCH_CHUNK;
         
+        // the compressed segments of chunks and entry ends within them
+        var segments = new byte[chunks][];
+        var ends = new int[count];
+        var totals = new int[chunks];
         
-        for (int index = 0; index < chars.length; index++) {
+        // compress chunks in parallel
+        pool.invoke(new BatchTask(0, chunks, chunk -> {
+            
+            // the chunk range
+            var from = chunk * BATCH_CHUNK;
+            var to = Math.min(count, from + BATCH_CHUNK);
+            
+            // the estimated segment
+            var estimate = 16;
+            
+            for(var i = from; i < to; i++){
+                estimate += items.get(i) == null ? 0 : items.get(i).length();
+            }
+            
+            // the worker state
+            var scratch = SCRATCH.get();
+            var segment = new byte[estimate];
+            var position = 0;
+            
+            for(var i = from; i < to; i++){
+                
+                // the string
+                var str = items.get(i);
+                
+                if(str != null){
+                    
+                    // the UTF-8 input and length
+                    var input = scratch.utf8(str);
+                    var length = scratch.length;
+                    
+                    // grow for worst case
+                    if(segment.length - position < length * 2){
+                        segment = Arrays.copyOf(segment, Math.max(segment.length * 2, position + length * 2));
+                    }
+                    
+                    position = pack(this.model, input, 0, length, segment, position, segment.length, scratch.indices);
+                }
+                
+                ends[i] = position;
+            }
+            
+            segments[chunk] = segment;
+            totals[chunk] = position;
+        }));
+        
+        // the chunk bases in arena
+        var bases = new int[chunks];
+        long total = 0;
+        
+        for(var chunk = 0; chunk < chunks; chunk++){
+            bases[chunk] = (int) total;
+            total += totals[chunk];
+        }
+        
+        // one array limit
+        if(total > Integer.MAX_VALUE - 8){
+            throw new IllegalStateException("Compressed batch of " + total + " bytes does not fit one arena");
+        }
+        
+        // the arena and offsets
+        var arena = new byte[(int) total];
+        var offsets = new int[count + 1];
+        
+        // copy segments in parallel
+        pool.invoke(new BatchTask(0, chunks, chunk -> {
+            
+            System.arraycopy(segments[chunk], 0, arena, bases[chunk], totals[chunk]);
+            
+            // the chunk range
+            var from = chunk * BATCH_CHUNK;
+            var to = Math.min(count, from + BATCH_CHUNK);
+            
+            for(var i = from; i < to; i++){
+                offsets[i + 1] = bases[chunk] + ends[i];
+            }
+        }));
+        
+        return new CompressedBatch(this, arena, offsets);
+    }
+    
+    /**
+     * Gets the maximum compressed length of the string
+     * 
+     * @param str The given string
+     * @return Returns the maximum compressed length
+     */
+    public static int maxCompressedLength(CharSequence str) {
+        
+        // no string
+        if(str == null){
+            return 0;
+        }
+        
+        // up to 3 UTF-8 bytes per char, each may be escaped
+        return str.length() * 6;
+    }
+    
+    /**
+     * Pack the UTF-8 input into destination
+     * 
+     * @param model The model
+     * @param chars The UTF-8 input
+     * @param from The input start
+     * @param to The input end
+     * @param dst The destination
+     * @param off The destination offset
+     * @param limit The destination limit
+     * @param indices The scratch indices
+     * @return Returns end position in destination or -1 if it does not fit
+     */
+    private static int pack(ShocoModel model, byte[] chars, int from, int to, byte[] dst, int off, int limit, short[] indices) {
+        
+        // the position in destination
+        var position = off;
+        
+        for (int index = from; index < to; index++) {
             byte in = chars[index];
-            short[] indices = new short[8];
-            indices[0] = ShocoConstants.FIRST_CHARS[in & 0xff];
+            indices[0] = model.firstChars[in & 0xff];
             int lastIndex = indices[0];
             if (lastIndex >= 0) {
                 int consecutive = 1;
                 for (; consecutive <= 7; ++consecutive) {
-                    if (index + consecutive >= chars.length) {
+                    if (index + consecutive >= to) {
                         break;
                     }
-                    int currentIndex = ShocoConstants.FIRST_CHARS[chars[index + consecutive] & 0xff];
+                    int currentIndex = model.firstChars[chars[index + consecutive] & 0xff];
                     if (currentIndex < 0) {
                         break;
                     }
-                    int successorIndex = ShocoConstants.SUCCESSOR_IDS[lastIndex][currentIndex];
+                    int successorIndex = model.successorIds[lastIndex][currentIndex];
                     if (successorIndex < 0) {
                         break;
                     }
@@ -53,103 +475,474 @@ public class Shoco {
                     lastIndex = currentIndex;
                 }
                 if (consecutive > 1) {
-                    int pack = -1;
-                    for (int p = ShocoConstants.PACKS.length - 1; p >= 0; --p) {
-                        boolean indice = true;
-                        for (int i = 0; i < ShocoConstants.PACKS[p].unpacked; ++i) {
-                            if (indices[i] > ShocoConstants.PACKS[p].masks[i]) {
-                                indice = false;
+                    
+                    // the best pack fitting the indices
+                    ShocoPack pack = null;
+                    for (int p = model.packs.length - 1; p >= 0 && pack == null; --p) {
+                        var candidate = model.packs[p];
+                        if (consecutive < candidate.unpacked) {
+                            continue;
+                        }
+                        pack = candidate;
+                        for (int i = 0; i < candidate.unpacked; ++i) {
+                            if (indices[i] > candidate.masks[i]) {
+                                pack = null;
                                 break;
                             }
                         }
-                        if ((consecutive >= ShocoConstants.PACKS[p].unpacked) && indice) {
-                            pack = p;
-                            break;
-                        }
                     }
-                    if (pack >= 0) {
-                        long word = ShocoConstants.PACKS[pack].word;
-                        for (int i = 0; i < ShocoConstants.PACKS[pack].unpacked; ++i) {
-                            word |= indices[i] << ShocoConstants.PACKS[pack].offsets[i];
+                    if (pack != null) {
+                        
+                        // the packed word (only low 32 bits are written)
+                        int word = (int) pack.word;
+                        for (int i = 0; i < pack.unpacked; ++i) {
+                            word |= indices[i] << pack.offsets[i];
                         }
-
-                        byte[] packed = new byte[8];
-                        for (int i = 7; i >= 0; i--) {
-                            packed[i] = (byte) (word & 0xFF);
-                            word >>= 8;
+                        
+                        if (position + pack.packed > limit) {
+                            return -1;
                         }
-
-                        for (int i = 0; i < ShocoConstants.PACKS[pack].packed; ++i) {
-                            data.put(packed[4 + i]);
+                        
+                        // big-endian leading bytes
+                        for (int i = 0; i < pack.packed; ++i) {
+                            dst[position++] = (byte) (word >>> (24 - 8 * i));
                         }
-
-                        index += ShocoConstants.PACKS[pack].unpacked - 1;
+                        
+                        index += pack.unpacked - 1;
                         continue;
                     }
                 }
             }
-            if ((in & 0x80) != 0) {
-                data.put((byte) 0x00);
+            // non-ASCII and NUL bytes are escaped (NUL is the escape marker)
+            if ((in & 0x80) != 0 || in == 0x00) {
+                if (position >= limit) {
+                    return -1;
+                }
+                dst[position++] = 0x00;
+            }
+            if (position >= limit) {
+                return -1;
             }
-            data.put(in);
+            dst[position++] = in;
         }
         
-        // the result stream
-        var result = new byte[data.pointer()];
-        
-        // copy array form buffer
-        System.arraycopy(data.array(), 0, result, 0, result.length);
-        return result;
+        return position;
     }
 
+    /**
+     * Compress the raw bytes into destination
+     * 
+     * @param model The model
+     * @param src The source bytes
+     * @param from The source start
+     * @param to The source end
+     * @param dst The destination
+     * @param off The destination offset
+     * @param limit The destination limit (2 bytes per source byte are always enough)
+     * @return Returns end position in destination or -1 if it does not fit
+     */
+    static int compress(ShocoModel model, byte[] src, int from, int to, byte[] dst, int off, int limit) {
+        return pack(model, src, from, to, dst, off, limit, SCRATCH.get().indices);
+    }
+    
+    /**
+     * Decompress the raw bytes into destination
+     * 
+     * @param model The model
+     * @param src The compressed bytes
+     * @param from The source start
+     * @param to The source end
+     * @param dst The destination (2 bytes per source byte are always enough)
+     * @param off The destination offset
+     * @return Returns end position in destination or -1 if input is malformed
+     */
+    static int decompress(ShocoModel model, byte[] src, int from, int to, byte[] dst, int off) {
+        
+        // the position in destination
+        var position = off;
+        
+        for (int index = from; index < to; index++) {
+            byte in = src[index];
+            
+            // the pack marker is the count of leading ones
+            int mark = Integer.numberOfLeadingZeros(~(in << 24));
+            
+            // literal or escaped byte
+            if (mark == 0) {
+                if (in == 0x00) {
+                    if (++index >= to) {
+                        return -1;
+                    }
+                    dst[position++] = src[index];
+                    continue;
+                }
+                dst[position++] = in;
+                continue;
+            }
+            
+            // unknown or truncated pack
+            if (mark > model.packs.length || index + model.packs[mark - 1].packed > to) {
+                return -1;
+            }
+            
+            // the pack
+            var pack = model.packs[mark - 1];
+            
+            // the big-endian word
+            int word = 0;
+            for (int i = 0; i < 4; i++) {
+                word = (word << 8) | (i < pack.packed ? src[index + i] & 0xFF : 0);
+            }
+            
+            // the first char
+            int id = (word >>> pack.offsets[0]) & pack.masks[0];
+            if (id >= model.firstIds.length) {
+                return -1;
+            }
+            byte lastChar = (byte) model.firstIds[id];
+            dst[position++] = lastChar;
+            
+            // the successors
+            for (int i = 1; i < pack.unpacked; ++i) {
+                var row = model.firstChars[lastChar & 0xff];
+                var successor = (word >>> pack.offsets[i]) & pack.masks[i];
+                if (row < 0 || successor >= model.successorChars[row].length) {
+                    return -1;
+                }
+                lastChar = (byte) model.successorChars[row][successor];
+                dst[position++] = lastChar;
+            }
+            index += pack.packed - 1;
+        }
+        
+        return position;
+    }
+    
     /**
      * Decompress the given bytes into a string
      * 
      * @param chars The chars to decompress
      * @return Returns decompressed string
+     * @throws IllegalArgumentException if input is malformed
      */
     public static String decompress(byte[] chars) {
-        ByteBuffer out = new ByteBuffer(chars.length * 2);
-        for (int index = 0; index < chars.length; index++) {
-            byte in = chars[index];
-            int mark = -1;
-            byte val = chars[index];
-            while (val < 0) {
-                val <<= 1;
-                ++mark;
+        
+        // the output of worst case size (a pack of 4 bytes is up to 8 chars)
+        var output = SCRATCH.get().output(chars.length * 2);
+        
+        // decompress into scratch
+        var length = decompress(ShocoModel.DEFAULT, chars, 0, chars.length, output, 0);
+        
+        if(length < 0){
+            throw new IllegalArgumentException("Malformed Shoco input");
+        }
+        
+        return string(output, length);
+    }
+    
+    /**
+     * Decompress the given range of bytes into destination (UTF-8)
+     * 
+     * @param src The compressed bytes
+     * @param off The offset of range
+     * @param len The length of range
+     * @param dst The destination of decompressed bytes (from index 0)
+     * @return Returns the decompressed length
+     * @throws IndexOutOfBoundsException if destination is too small ({@link #decompressedLength(byte[], int, int)} is exact)
+     * @throws IllegalArgumentException if input is malformed
+     */
+    public static int decompress(byte[] src, int off, int len, byte[] dst) {
+        
+        // check bounds
+        if(off < 0 || len < 0 || off + len > src.length){
+            throw new IndexOutOfBoundsException();
+        }
+        
+        // the exact length
+        var length = decompressedLength(ShocoModel.DEFAULT, src, off, off + len);
+        
+        if(length < 0){
+            throw new IllegalArgumentException("Malformed Shoco input");
+        }
+        
+        if(length > dst.length){
+            throw new IndexOutOfBoundsException("Destination is too small");
+        }
+        
+        // decompress into destination
+        if(decompress(ShocoModel.DEFAULT, src, off, off + len, dst, 0) < 0){
+            throw new IllegalArgumentException("Malformed Shoco input");
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Gets the exact decompressed length of the given range of bytes (UTF-8)
+     * 
+     * @param src The compressed bytes
+     * @param off The offset of range
+     * @param len The length of range
+     * @return Returns the decompressed length
+     * @throws IllegalArgumentException if input is malformed
+     */
+    public static int decompressedLength(byte[] src, int off, int len) {
+        
+        // check bounds
+        if(off < 0 || len < 0 || off + len > src.length){
+            throw new IndexOutOfBoundsException();
+        }
+        
+        // the exact length
+        var length = decompressedLength(ShocoModel.DEFAULT, src, off, off + len);
+        
+        if(length < 0){
+            throw new IllegalArgumentException("Malformed Shoco input");
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Gets the exact decompressed length by pack markers
+     * 
+     * @param model The model
+     * @param src The compressed bytes
+     * @param from The start of input
+     * @param to The end of input (exclusive)
+     * @return Returns the decompressed length or -1 if packs are truncated or unknown
+     */
+    static int decompressedLength(ShocoModel model, byte[] src, int from, int to) {
+        
+        // the length
+        var length = 0;
+        
+        for (int index = from; index < to; length++) {
+            byte in = src[index];
+            
+            // literal byte
+            if (in > 0) {
+                index++;
+                continue;
             }
-            if (mark < 0) {
-                if (in == 0x00) {
-                    index++;
-                    out.put(chars[index]);
-                    continue;
+            
+            // escaped byte
+            if (in == 0x00) {
+                if ((index += 2) > to) {
+                    return -1;
                 }
-                out.put(in);
-            } else {
-                byte[] packed = new byte[]{0, 0, 0, 0, 0, 0, 0, 0};
-                for (int i = 0; i < ShocoConstants.PACKS[mark].packed; i++) {
-                    packed[4 + i] = chars[index + i];
+                continue;
+            }
+            
+            // the pack marker is the count of leading ones
+            int mark = Integer.numberOfLeadingZeros(~(in << 24));
+            
+            if (mark > model.packs.length || index + model.packs[mark - 1].packed > to) {
+                return -1;
+            }
+            
+            index += model.packs[mark - 1].packed;
+            length += model.packs[mark - 1].unpacked - 1;
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Creates string of decompressed UTF-8 bytes
+     * 
+     * Pack chars are ASCII and other bytes are escaped, so output is decoded
+     * as Latin-1 (a plain copy) unless it has a byte above 0x7F.
+     * 
+     * @param bytes The bytes
+     * @param length The length
+     * @return Returns the string
+     */
+    private static String string(byte[] bytes, int length) {
+        
+        for(var i = 0; i < length; i++){
+            if(bytes[i] < 0){
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+        
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+    
+    /**
+     * The fork-join task over a range of batch chunks
+     */
+    private static class BatchTask extends RecursiveAction {
+        
+        /**
+         * The serialization version
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The first chunk
+         */
+        private final int from;
+        
+        /**
+         * The end chunk (exclusive)
+         */
+        private final int to;
+        
+        /**
+         * The chunk action
+         */
+        private final IntConsumer action;
+        
+        /**
+         * Creates new instance of batch task
+         * 
+         * @param from The first chunk
+         * @param to The end chunk (exclusive)
+         * @param action The chunk action
+         */
+        BatchTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+        
+        /**
+         * Run the chunks, splitting the range in halves
+         */
+        @Override
+        protected void compute() {
+            
+            // single chunk
+            if(this.to - this.from <= 1){
+                if(this.from < this.to){
+                    this.action.accept(this.from);
                 }
-                long word = 0;
-                for (int i = 0; i < 8; i++) {
-                    word <<= 8;
-                    word |= (packed[i] & 0xFF);
+                
+                return;
+            }
+            
+            // the middle chunk
+            var middle = (this.from + this.to) >>> 1;
+            
+            invokeAll(new BatchTask(this.from, middle, this.action), new BatchTask(middle, this.to, this.action));
+        }
+    }
+    
+    /**
+     * The reusable per-thread compression state
+     * 
+     * Buffers up to {@link #RETAINED_SIZE} are kept for reuse, larger ones are
+     * allocated per call so one large string does not pin memory on the thread
+     */
+    private static class Scratch {
+        
+        /**
+         * The largest buffer kept for reuse
+         */
+        private static final int RETAINED_SIZE = 1 << 16;
+        
+        /**
+         * The UTF-8 input
+         */
+        private byte[] input = new byte[64];
+        
+        /**
+         * The UTF-8 length of last encoded string
+         */
+        private int length;
+        
+        /**
+         * The compressed output
+         */
+        private byte[] output = new byte[128];
+        
+        /**
+         * The successor indices
+         */
+        private final short[] indices = new short[8];
+        
+        /**
+         * Encode the string as UTF-8 (the length is set to {@link #length})
+         * 
+         * @param str The string
+         * @return Returns the encoded bytes (input or a larger one-off buffer)
+         */
+        byte[] utf8(CharSequence str) {
+            
+            // the chars count
+            var count = str.length();
+            
+            // the encoded bytes (at most 3 bytes per char)
+            var bytes = this.input;
+            var length = 0;
+            
+            if(bytes.length < count * 3){
+                bytes = new byte[Math.max(count * 3, Math.min(bytes.length * 2, RETAINED_SIZE))];
+                
+                // keep for reuse if small enough
+                if(bytes.length <= RETAINED_SIZE){
+                    this.input = bytes;
                 }
-                int offset = ShocoConstants.PACKS[mark].offsets[0];
-                int mask = ShocoConstants.PACKS[mark].masks[0];
-                byte lastChar = (byte) ShocoConstants.FIRST_IDS[(int) ((word >> offset) & mask)];
-                out.put(lastChar);
-                for (int i = 1; i < ShocoConstants.PACKS[mark].unpacked; ++i) {
-                    offset = ShocoConstants.PACKS[mark].offsets[i];
-                    mask = ShocoConstants.PACKS[mark].masks[i];
-                    lastChar = (byte) ShocoConstants.SUCCESSOR_CHARS[(lastChar & 0xff) - 39][(int) ((word >> offset) & mask)];
-                    out.put(lastChar);
+            }
+            
+            for(var i = 0; i < count; i++){
+                
+                // the char
+                var c = str.charAt(i);
+                
+                if(c < 0x80){
+                    bytes[length++] = (byte) c;
+                } else if(c < 0x800){
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if(Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(str.charAt(i + 1))){
+                    
+                    // the code point of surrogate pair
+                    var codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if(Character.isSurrogate(c)){
+                    
+                    // malformed surrogate as String.getBytes does
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
                 }
-                index += ShocoConstants.PACKS[mark].packed - 1;
             }
+            
+            this.length = length;
+            
+            return bytes;
+        }
+        
+        /**
+         * Gets the output of at least given size
+         * 
+         * @param size The required size
+         * @return Returns the output (reused or a larger one-off buffer)
+         */
+        byte[] output(int size) {
+            
+            // enough space
+            if(this.output.length >= size){
+                return this.output;
+            }
+            
+            // the grown output
+            var output = new byte[Math.max(size, Math.min(this.output.length * 2, RETAINED_SIZE))];
+            
+            // keep for reuse if small enough
+            if(output.length <= RETAINED_SIZE){
+                this.output = output;
+            }
+            
+            return output;
         }
-        byte[] data = new byte[out.pointer()];
-        System.arraycopy(out.array(), 0, data, 0, data.length);
-        return new String(data, StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,105 @@
+package io.imast.core.compress;
+
+import java.util.Arrays;
+
+/**
+ * The Shoco codec for short text
+ *
+ * @author davitp
+ */
+public class ShocoCodec implements Codec {
+
+    /**
+     * The codec ID of default model
+     */
+    public static final int ID = 3;
+
+    /**
+     * The codec ID
+     */
+    private final int id;
+
+    /**
+     * The model
+     */
+    private final ShocoModel model;
+
+    /**
+     * Creates new instance of Shoco codec with default model
+     */
+    public ShocoCodec() {
+        this(ID, ShocoModel.DEFAULT);
+    }
+
+    /**
+     * Creates new instance of Shoco codec with custom model
+     *
+     * @param id The codec ID (should be unique per model)
+     * @param model The model
+     */
+    public ShocoCodec(int id, ShocoModel model) {
+        this.id = id;
+        this.model = model;
+    }
+
+    /**
+     * Gets the codec ID
+     *
+     * @return Returns the codec ID
+     */
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the codec name
+     *
+     * @return Returns the codec name
+     */
+    @Override
+    public String getName() {
+        return "shoco";
+    }
+
+    /**
+     * Compress the range of bytes
+     *
+     * @param data The data
+     * @param off The offset
+     * @param len The length
+     * @return Returns compressed bytes
+     */
+    @Override
+    public byte[] encode(byte[] data, int off, int len) {
+
+        // the output of worst case size
+        var output = new byte[len * 2];
+
+        return Arrays.copyOf(output, Shoco.compress(this.model, data, off, off + len, output, 0, output.length));
+    }
+
+    /**
+     * Decompress the range of bytes
+     *
+     * @param data The compressed data
+     * @param off The offset
+     * @param len The length
+     * @return Returns decompressed bytes
+     */
+    @Override
+    public byte[] decode(byte[] data, int off, int len) {
+
+        // the output of worst case size
+        var output = new byte[len * 2];
+
+        // the decompressed length
+        var size = Shoco.decompress(this.model, data, off, off + len, output, 0);
+
+        if(size < 0){
+            throw new IllegalArgumentException("Malformed Shoco data");
+        }
+
+        return Arrays.copyOf(output, size);
+    }
+}
@@ -0,0 +1,306 @@
+package io.imast.core.compress;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The Shoco decompressing input stream
+ *
+ * Reads frames written by {@link ShocoOutputStream} one at a time, so memory
+ * use is bounded by the record size regardless of the stream length.
+ *
+ * @author davitp
+ */
+public class ShocoInputStream extends FilterInputStream {
+
+    /**
+     * The compressed frame
+     */
+    private byte[] frame;
+
+    /**
+     * The decompressed record
+     */
+    private byte[] record;
+
+    /**
+     * The maximum frame length
+     */
+    private final int maxFrame;
+
+    /**
+     * The model
+     */
+    private final ShocoModel model;
+
+    /**
+     * The read position in record
+     */
+    private int position;
+
+    /**
+     * The length of record
+     */
+    private int length;
+
+    /**
+     * The end of stream reached
+     */
+    private boolean eof;
+
+    /**
+     * Creates new instance of Shoco input stream
+     *
+     * @param in The source stream
+     */
+    public ShocoInputStream(InputStream in) {
+        this(in, ShocoOutputStream.DEFAULT_RECORD_SIZE);
+    }
+
+    /**
+     * Creates new instance of Shoco input stream
+     *
+     * @param in The source stream
+     * @param recordSize The maximum record length used by writer
+     */
+    public ShocoInputStream(InputStream in, int recordSize) {
+        this(in, recordSize, ShocoModel.DEFAULT);
+    }
+
+    /**
+     * Creates new instance of Shoco input stream
+     *
+     * @param in The source stream
+     * @param recordSize The maximum record length used by writer
+     * @param model The model used by writer
+     */
+    public ShocoInputStream(InputStream in, int recordSize, ShocoModel model) {
+        super(in);
+
+        // validate size
+        if(recordSize <= 0){
+            throw new IllegalArgumentException("Record size should be positive");
+        }
+
+        this.maxFrame = recordSize * 2;
+        this.frame = new byte[Math.min(this.maxFrame, 1024)];
+        this.record = new byte[this.frame.length * 2];
+        this.model = model;
+        this.position = 0;
+        this.length = 0;
+    }
+
+    /**
+     * Open decompressing stream over the channel
+     *
+     * @param channel The source channel
+     * @return Returns the stream
+     */
+    public static ShocoInputStream open(ReadableByteChannel channel) {
+        return new ShocoInputStream(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Read the byte
+     *
+     * @return Returns the byte or -1 at the end
+     * @throws IOException
+     */
+    @Override
+    public int read() throws IOException {
+
+        // fill the record
+        if(this.position == this.length && !this.readFrame()){
+            return -1;
+        }
+
+        return this.record[this.position++] & 0xFF;
+    }
+
+    /**
+     * Read the bytes
+     *
+     * @param b The target
+     * @param off The offset
+     * @param len The length
+     * @return Returns number of bytes read or -1 at the end
+     * @throws IOException
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        // check bounds
+        if(off < 0 || len < 0 || off + len > b.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        if(len == 0){
+            return 0;
+        }
+
+        // fill the record
+        if(this.position == this.length && !this.readFrame()){
+            return -1;
+        }
+
+        // the count to copy
+        var count = Math.min(len, this.length - this.position);
+
+        System.arraycopy(this.record, this.position, b, off, count);
+        this.position += count;
+
+        return count;
+    }
+
+    /**
+     * Skip the bytes
+     *
+     * @param n The count to skip
+     * @return Returns skipped count
+     * @throws IOException
+     */
+    @Override
+    public long skip(long n) throws IOException {
+
+        // the skipped count
+        long skipped = 0;
+
+        while(skipped < n && (this.position < this.length || this.readFrame())){
+
+            // the count in record
+            var count = (int) Math.min(n - skipped, this.length - this.position);
+
+            this.position += count;
+            skipped += count;
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Gets the bytes available without blocking
+     *
+     * @return Returns decompressed bytes left in record
+     * @throws IOException
+     */
+    @Override
+    public int available() throws IOException {
+        return this.length - this.position;
+    }
+
+    /**
+     * Mark is not supported
+     *
+     * @return Returns false
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Read and decompress the next frame
+     *
+     * @return Returns false at the end of stream
+     * @throws IOException
+     */
+    private boolean readFrame() throws IOException {
+
+        // skip empty frames
+        while(!this.eof){
+
+            // the frame length
+            var size = this.readLength();
+
+            if(size < 0){
+                this.eof = true;
+                return false;
+            }
+
+            // bounded frame
+            if(size > this.maxFrame){
+                throw new IOException("Shoco frame of " + size + " bytes exceeds maximum of " + this.maxFrame);
+            }
+
+            // grow buffers up to bound
+            if(this.frame.length < size){
+                this.frame = new byte[Math.min(this.maxFrame, Math.max(size, this.frame.length * 2))];
+                this.record = new byte[this.frame.length * 2];
+            }
+
+            // read the frame fully
+            for(var read = 0; read < size; ){
+
+                // the count read
+                var count = this.in.read(this.frame, read, size - read);
+
+                if(count < 0){
+                    throw new EOFException("Truncated Shoco frame");
+                }
+
+                read += count;
+            }
+
+            // decompress the frame
+            this.length = Shoco.decompress(this.model, this.frame, 0, size, this.record, 0);
+            this.position = 0;
+
+            if(this.length < 0){
+                this.length = 0;
+                throw new IOException("Malformed Shoco frame");
+            }
+
+            if(this.length > 0){
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Read the varint frame length
+     *
+     * @return Returns the length or -1 at the clean end of stream
+     * @throws IOException
+     */
+    private int readLength() throws IOException {
+
+        // the result
+        var result = 0;
+
+        for(var shift = 0; shift < 32; shift += 7){
+
+            // the next byte
+            var b = this.in.read();
+
+            if(b < 0){
+
+                // clean end before frame
+                if(shift == 0){
+                    return -1;
+                }
+
+                throw new EOFException("Truncated Shoco frame length");
+            }
+
+            result |= (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0){
+
+                // overflow of length
+                if(result < 0){
+                    throw new IOException("Malformed Shoco frame length");
+                }
+
+                return result;
+            }
+        }
+
+        throw new IOException("Malformed Shoco frame length");
+    }
+}
@@ -0,0 +1,298 @@
+package io.imast.core.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * The Shoco model: the tables of frequent chars and their successors
+ *
+ * The default model is the English text one from {@link ShocoConstants},
+ * custom ones are built with {@link ShocoTrainer} and can be stored with
+ * {@link #write(OutputStream)} and loaded back with {@link #read(InputStream)}.
+ * Data compressed with one model can only be decompressed with the same model.
+ *
+ * @author davitp
+ */
+public final class ShocoModel {
+
+    /**
+     * The maximum number of first chars
+     */
+    public static final int MAX_CHARS = 32;
+
+    /**
+     * The maximum number of successors per char
+     */
+    public static final int MAX_SUCCESSORS = 16;
+
+    /**
+     * The serialized form magic
+     */
+    private static final int MAGIC = 0x53484d31;
+
+    /**
+     * The default English text model
+     */
+    public static final ShocoModel DEFAULT = fromConstants();
+
+    /**
+     * The first chars by ID
+     */
+    final char[] firstIds;
+
+    /**
+     * The first char ID by byte value (-1 if none)
+     */
+    final byte[] firstChars;
+
+    /**
+     * The successor ID by first char ID and next char ID (-1 if none)
+     */
+    final byte[][] successorIds;
+
+    /**
+     * The successor chars by first char ID and successor ID
+     */
+    final char[][] successorChars;
+
+    /**
+     * The packs
+     */
+    final ShocoPack[] packs;
+
+    /**
+     * Creates new instance of Shoco model
+     *
+     * @param firstIds The first chars by ID
+     * @param successorChars The successor chars by first char ID and successor ID
+     */
+    ShocoModel(char[] firstIds, char[][] successorChars) {
+        this.firstIds = firstIds;
+        this.successorChars = successorChars;
+        this.packs = ShocoConstants.PACKS;
+
+        // the first char IDs
+        this.firstChars = new byte[256];
+        Arrays.fill(this.firstChars, (byte) -1);
+
+        for(var i = 0; i < firstIds.length; i++){
+            this.firstChars[firstIds[i]] = (byte) i;
+        }
+
+        // the successor IDs of first chars only
+        this.successorIds = new byte[firstIds.length][firstIds.length];
+
+        for(var i = 0; i < firstIds.length; i++){
+            Arrays.fill(this.successorIds[i], (byte) -1);
+
+            for(var j = 0; j < successorChars[i].length; j++){
+
+                // the successor char ID
+                var id = this.firstChars[successorChars[i][j]];
+
+                if(id >= 0 && this.successorIds[i][id] < 0){
+                    this.successorIds[i][id] = (byte) j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the default model from constants
+     *
+     * @return Returns the default model
+     */
+    private static ShocoModel fromConstants() {
+
+        // successor rows by first char ID
+        var successors = new char[ShocoConstants.FIRST_IDS.length][];
+
+        for(var i = 0; i < successors.length; i++){
+            successors[i] = ShocoConstants.SUCCESSOR_CHARS[ShocoConstants.FIRST_IDS[i] - 39];
+        }
+
+        return new ShocoModel(ShocoConstants.FIRST_IDS, successors);
+    }
+
+    /**
+     * Gets the first chars by ID
+     *
+     * @return Returns copy of first chars
+     */
+    public char[] getFirstChars() {
+        return this.firstIds.clone();
+    }
+
+    /**
+     * Gets the successors of the char
+     *
+     * @param c The char
+     * @return Returns successors by ID or empty if char is not a first char
+     */
+    public char[] getSuccessors(char c) {
+
+        // the first char ID
+        var id = c < 256 ? this.firstChars[c] : -1;
+
+        return id < 0 ? new char[0] : this.successorChars[id].clone();
+    }
+
+    /**
+     * Write the model in binary form
+     *
+     * @param out The target stream
+     * @throws IOException
+     */
+    public void write(OutputStream out) throws IOException {
+
+        // the data output
+        var data = new DataOutputStream(out);
+
+        data.writeInt(MAGIC);
+        data.writeByte(this.firstIds.length);
+
+        for(var i = 0; i < this.firstIds.length; i++){
+            data.writeByte(this.firstIds[i]);
+            data.writeByte(this.successorChars[i].length);
+
+            for(var successor : this.successorChars[i]){
+                data.writeByte(successor);
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Gets the model in binary form
+     *
+     * @return Returns serialized model
+     */
+    public byte[] toBytes() {
+
+        // the output
+        var out = new ByteArrayOutputStream();
+
+        try {
+            this.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Read the model from binary form
+     *
+     * @param in The source stream
+     * @return Returns the model
+     * @throws IOException
+     */
+    public static ShocoModel read(InputStream in) throws IOException {
+
+        // the data input
+        var data = new DataInputStream(in);
+
+        if(data.readInt() != MAGIC){
+            throw new IOException("Not a Shoco model");
+        }
+
+        // the first chars
+        var count = data.readUnsignedByte();
+
+        if(count == 0 || count > MAX_CHARS){
+            throw new IOException("Invalid number of Shoco model chars " + count);
+        }
+
+        var firstIds = new char[count];
+        var successors = new char[count][];
+
+        for(var i = 0; i < count; i++){
+            firstIds[i] = (char) data.readUnsignedByte();
+
+            // the successors
+            var successorCount = data.readUnsignedByte();
+
+            if(successorCount > MAX_SUCCESSORS){
+                throw new IOException("Invalid number of Shoco model successors " + successorCount);
+            }
+
+            successors[i] = new char[successorCount];
+
+            for(var j = 0; j < successorCount; j++){
+                successors[i][j] = (char) data.readUnsignedByte();
+            }
+        }
+
+        return of(firstIds, successors);
+    }
+
+    /**
+     * Read the model from binary form
+     *
+     * @param bytes The serialized model
+     * @return Returns the model
+     */
+    public static ShocoModel fromBytes(byte[] bytes) {
+        try {
+            return read(new ByteArrayInputStream(bytes));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Invalid Shoco model", ex);
+        }
+    }
+
+    /**
+     * Creates the model from tables
+     *
+     * @param firstChars The first chars by ID (up to 32 ASCII chars, most frequent first)
+     * @param successors The successor chars by first char ID (up to 16 per char, most frequent first)
+     * @return Returns the model
+     */
+    public static ShocoModel of(char[] firstChars, char[][] successors) {
+
+        // validate shape
+        if(firstChars.length == 0 || firstChars.length > MAX_CHARS || successors.length != firstChars.length){
+            throw new IllegalArgumentException("Shoco model should have from 1 to " + MAX_CHARS + " first chars with successors");
+        }
+
+        // the seen chars
+        var seen = new boolean[128];
+
+        for(var i = 0; i < firstChars.length; i++){
+
+            // ASCII without zero (zero is the escape)
+            if(firstChars[i] == 0 || firstChars[i] >= 128 || seen[firstChars[i]]){
+                throw new IllegalArgumentException("Shoco model first chars should be distinct non-zero ASCII");
+            }
+
+            seen[firstChars[i]] = true;
+
+            if(successors[i].length > MAX_SUCCESSORS){
+                throw new IllegalArgumentException("Shoco model should have up to " + MAX_SUCCESSORS + " successors per char");
+            }
+
+            for(var successor : successors[i]){
+                if(successor == 0 || successor >= 128){
+                    throw new IllegalArgumentException("Shoco model successors should be non-zero ASCII");
+                }
+            }
+        }
+
+        // defensive copies
+        var rows = new char[successors.length][];
+
+        for(var i = 0; i < rows.length; i++){
+            rows[i] = successors[i].clone();
+        }
+
+        return new ShocoModel(firstChars.clone(), rows);
+    }
+}
@@ -0,0 +1,244 @@
+package io.imast.core.compress;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The Shoco compressing output stream
+ *
+ * Input is split into records at line ends (or when the record buffer is
+ * full), each record is compressed on its own and written as a frame of
+ * varint compressed length followed by the compressed bytes. Packs and
+ * escapes never cross frame boundaries, so {@link ShocoInputStream} can
+ * decode frame by frame with bounded buffers.
+ *
+ * @author davitp
+ */
+public class ShocoOutputStream extends FilterOutputStream {
+
+    /**
+     * The default maximum record length
+     */
+    public static final int DEFAULT_RECORD_SIZE = 8192;
+
+    /**
+     * The pending record
+     */
+    private final byte[] record;
+
+    /**
+     * The compressed record
+     */
+    private final byte[] packed;
+
+    /**
+     * The model
+     */
+    private final ShocoModel model;
+
+    /**
+     * The length of pending record
+     */
+    private int length;
+
+    /**
+     * The stream is closed
+     */
+    private boolean closed;
+
+    /**
+     * Creates new instance of Shoco output stream
+     *
+     * @param out The target stream
+     */
+    public ShocoOutputStream(OutputStream out) {
+        this(out, DEFAULT_RECORD_SIZE);
+    }
+
+    /**
+     * Creates new instance of Shoco output stream
+     *
+     * @param out The target stream
+     * @param recordSize The maximum record length (longer lines are split)
+     */
+    public ShocoOutputStream(OutputStream out, int recordSize) {
+        this(out, recordSize, ShocoModel.DEFAULT);
+    }
+
+    /**
+     * Creates new instance of Shoco output stream
+     *
+     * @param out The target stream
+     * @param recordSize The maximum record length (longer lines are split)
+     * @param model The model to compress with
+     */
+    public ShocoOutputStream(OutputStream out, int recordSize, ShocoModel model) {
+        super(out);
+
+        // validate size
+        if(recordSize <= 0){
+            throw new IllegalArgumentException("Record size should be positive");
+        }
+
+        this.record = new byte[recordSize];
+        this.packed = new byte[recordSize * 2];
+        this.model = model;
+        this.length = 0;
+    }
+
+    /**
+     * Open compressing stream over the channel
+     *
+     * @param channel The target channel
+     * @return Returns the stream
+     */
+    public static ShocoOutputStream open(WritableByteChannel channel) {
+        return new ShocoOutputStream(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Write the byte
+     *
+     * @param b The byte to write
+     * @throws IOException
+     */
+    @Override
+    public void write(int b) throws IOException {
+
+        // check state
+        this.ensureOpen();
+
+        this.record[this.length++] = (byte) b;
+
+        // record complete
+        if(b == '\n' || this.length == this.record.length){
+            this.writeRecord();
+        }
+    }
+
+    /**
+     * Write the bytes
+     *
+     * @param b The bytes
+     * @param off The offset
+     * @param len The length
+     * @throws IOException
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        // check state and bounds
+        this.ensureOpen();
+
+        if(off < 0 || len < 0 || off + len > b.length){
+            throw new IndexOutOfBoundsException();
+        }
+
+        // the end of input
+        var end = off + len;
+
+        while(off < end){
+
+            // the chunk up to the line end or the full record
+            var limit = Math.min(end, off + this.record.length - this.length);
+            var line = false;
+            var i = off;
+
+            while(i < limit){
+                if(b[i++] == '\n'){
+                    line = true;
+                    break;
+                }
+            }
+
+            System.arraycopy(b, off, this.record, this.length, i - off);
+            this.length += i - off;
+            off = i;
+
+            // record complete
+            if(line || this.length == this.record.length){
+                this.writeRecord();
+            }
+        }
+    }
+
+    /**
+     * Write the pending partial record and flush the target
+     *
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+
+        // check state
+        this.ensureOpen();
+
+        this.writeRecord();
+        this.out.flush();
+    }
+
+    /**
+     * Write the pending record and close the target
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+
+        // already closed
+        if(this.closed){
+            return;
+        }
+
+        try {
+            this.writeRecord();
+            this.out.flush();
+        } finally {
+            this.closed = true;
+            this.out.close();
+        }
+    }
+
+    /**
+     * Compress and write the pending record as frame
+     *
+     * @throws IOException
+     */
+    private void writeRecord() throws IOException {
+
+        // nothing pending
+        if(this.length == 0){
+            return;
+        }
+
+        // the compressed length (always fits twice the record)
+        var size = Shoco.compress(this.model, this.record, 0, this.length, this.packed, 0, this.packed.length);
+
+        // varint length
+        for(var value = size; ; value >>>= 7){
+            if((value & ~0x7F) == 0){
+                this.out.write(value);
+                break;
+            }
+
+            this.out.write((value & 0x7F) | 0x80);
+        }
+
+        this.out.write(this.packed, 0, size);
+        this.length = 0;
+    }
+
+    /**
+     * Ensure the stream is open
+     *
+     * @throws IOException
+     */
+    private void ensureOpen() throws IOException {
+        if(this.closed){
+            throw new IOException("Stream is closed");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.imast.core.compress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The Shoco model trainer
+ *
+ * Counts byte and byte-pair frequencies of a sample corpus and picks the most
+ * frequent ASCII chars (up to 32) and, for each, the most frequent following
+ * chars among them (up to 16). More frequent entries get lower IDs, so they
+ * fit the narrow fields of the short packs.
+ *
+ * @author davitp
+ */
+public class ShocoTrainer {
+
+    /**
+     * The char frequencies
+     */
+    private final long[] chars;
+
+    /**
+     * The pair frequencies by first and next char
+     */
+    private final long[][] pairs;
+
+    /**
+     * Creates new instance of Shoco trainer
+     */
+    public ShocoTrainer() {
+        this.chars = new long[128];
+        this.pairs = new long[128][128];
+    }
+
+    /**
+     * Add the sample to corpus
+     *
+     * @param sample The sample string
+     * @return Returns the trainer
+     */
+    public ShocoTrainer add(String sample) {
+
+        // nothing to add
+        if(sample == null){
+            return this;
+        }
+
+        return this.add(sample.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add the samples to corpus
+     *
+     * @param samples The sample strings
+     * @return Returns the trainer
+     */
+    public ShocoTrainer addAll(Iterable<String> samples) {
+
+        for(var sample : samples){
+            this.add(sample);
+        }
+
+        return this;
+    }
+
+    /**
+     * Add the UTF-8 sample to corpus
+     *
+     * @param sample The sample bytes
+     * @return Returns the trainer
+     */
+    public ShocoTrainer add(byte[] sample) {
+
+        // the previous char (-1 if not candidate)
+        var previous = -1;
+
+        for(var b : sample){
+
+            // only non-zero ASCII can be modeled
+            if(b <= 0){
+                previous = -1;
+                continue;
+            }
+
+            this.chars[b]++;
+
+            if(previous > 0){
+                this.pairs[previous][b]++;
+            }
+
+            previous = b;
+        }
+
+        return this;
+    }
+
+    /**
+     * Build the model of the corpus so far
+     *
+     * @return Returns the trained model
+     */
+    public ShocoModel build() {
+
+        // the most frequent chars
+        var firsts = IntStream.range(1, 128)
+                .filter(c -> this.chars[c] > 0)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(c -> this.chars[c]).reversed().thenComparing(c -> c))
+                .limit(ShocoModel.MAX_CHARS)
+                .collect(Collectors.toList());
+
+        // empty corpus
+        if(firsts.isEmpty()){
+            throw new IllegalStateException("Cannot train Shoco model on empty corpus");
+        }
+
+        // the model tables
+        var firstChars = new char[firsts.size()];
+        var successors = new char[firsts.size()][];
+
+        for(var i = 0; i < firstChars.length; i++){
+
+            // the first char
+            int first = firsts.get(i);
+
+            firstChars[i] = (char) first;
+
+            // the most frequent followers among first chars
+            var followers = new ArrayList<Integer>(firsts);
+
+            followers.removeIf(next -> this.pairs[first][next] == 0);
+            followers.sort(Comparator.<Integer>comparingLong(next -> this.pairs[first][next]).reversed().thenComparing(next -> next));
+
+            // the successors
+            var count = Math.min(followers.size(), ShocoModel.MAX_SUCCESSORS);
+
+            successors[i] = new char[count];
+
+            for(var j = 0; j < count; j++){
+                successors[i][j] = (char) (int) followers.get(j);
+            }
+        }
+
+        return ShocoModel.of(firstChars, successors);
+    }
+}
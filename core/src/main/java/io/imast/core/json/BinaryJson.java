@@ -0,0 +1,488 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compact binary JSON-compatible encoding
+ *
+ * Objects are written through the same Gson adapters as text JSON (so
+ * Duration and java.time values map the same way) into a tagged binary form:
+ *
+ * <pre>
+ * header   : 0xB0 | flags (0x01 = string back-references)
+ * value    : tag [payload]
+ * NULL     : 0x00
+ * FALSE    : 0x01
+ * TRUE     : 0x02
+ * INTEGER  : 0x03 zigzag varint
+ * DOUBLE   : 0x04 8 bytes big-endian IEEE 754
+ * STRING   : 0x05 varint length, UTF-8 bytes
+ * REFERENCE: 0x06 varint index of previous string
+ * NUMBER   : 0x07 varint length, textual number
+ * ARRAY    : 0x08 value* END
+ * OBJECT   : 0x09 (name value)* END, names are STRING or REFERENCE
+ * END      : 0x0A
+ * </pre>
+ *
+ * With back-references every string (names and values) of up to 64 chars is
+ * numbered on first occurrence and repeated ones are written as index.
+ *
+ * The form is smaller than compact text JSON mostly through back-references
+ * and faster to write, but it is not faster to read: decoding builds the
+ * {@link JsonElement} tree before binding, since Gson map binding depends on
+ * text reader internals. JsonBenchmark reports both sizes and speeds.
+ *
+ * @author davitp
+ */
+public class BinaryJson {
+
+    /**
+     * The header magic
+     */
+    static final byte MAGIC = (byte) 0xB0;
+
+    /**
+     * The header flag of string references
+     */
+    static final byte FLAG_REFERENCES = 0x01;
+
+    /**
+     * The null tag
+     */
+    static final byte NULL = 0x00;
+
+    /**
+     * The false tag
+     */
+    static final byte FALSE = 0x01;
+
+    /**
+     * The true tag
+     */
+    static final byte TRUE = 0x02;
+
+    /**
+     * The integer tag
+     */
+    static final byte INTEGER = 0x03;
+
+    /**
+     * The double tag
+     */
+    static final byte DOUBLE = 0x04;
+
+    /**
+     * The string tag
+     */
+    static final byte STRING = 0x05;
+
+    /**
+     * The string reference tag
+     */
+    static final byte REFERENCE = 0x06;
+
+    /**
+     * The textual number tag
+     */
+    static final byte NUMBER = 0x07;
+
+    /**
+     * The array start tag
+     */
+    static final byte ARRAY = 0x08;
+
+    /**
+     * The object start tag
+     */
+    static final byte OBJECT = 0x09;
+
+    /**
+     * The container end tag
+     */
+    static final byte END = 0x0A;
+
+    /**
+     * The maximum length of referenced string
+     */
+    static final int MAX_REFERENCE_LENGTH = 64;
+
+    /**
+     * The maximum number of referenced strings
+     */
+    static final int MAX_REFERENCES = 4096;
+
+    /**
+     * The maximum nesting of arrays and objects (same as Gson reader default)
+     */
+    static final int MAX_DEPTH = 255;
+
+    /**
+     * Encode the object into binary form with string references
+     *
+     * @param object The object to encode
+     * @return Returns encoded bytes
+     */
+    public static byte[] to(Object object) {
+        return to(Json.profile(), object, true);
+    }
+
+    /**
+     * Encode the object into binary form
+     *
+     * @param profile The JSON profile
+     * @param object The object to encode
+     * @param stringReferences Use back-references for repeated strings
+     * @return Returns encoded bytes
+     */
+    public static byte[] to(JsonProfile profile, Object object, boolean stringReferences) {
+
+        // the binary writer
+        var writer = new BinaryJsonWriter(stringReferences);
+
+        try {
+            // write null or the object with runtime type
+            if(object == null){
+                writer.nullValue();
+            } else {
+                profile.compact().toJson(object, object.getClass(), writer);
+            }
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encode the JSON tree into binary form
+     *
+     * @param element The JSON tree
+     * @param stringReferences Use back-references for repeated strings
+     * @return Returns encoded bytes
+     */
+    public static byte[] encode(JsonElement element, boolean stringReferences) {
+
+        // the binary writer
+        var writer = new BinaryJsonWriter(stringReferences);
+
+        try {
+            writer.value(element);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode the object from binary form
+     *
+     * @param <T> The target type
+     * @param data The encoded bytes
+     * @param type The target type
+     * @return Returns decoded object
+     */
+    public static <T> T from(byte[] data, Class<T> type) {
+        return from(Json.profile(), data, type);
+    }
+
+    /**
+     * Decode the object from binary form
+     *
+     * @param <T> The target type
+     * @param data The encoded bytes
+     * @param type The target type
+     * @return Returns decoded object
+     */
+    public static <T> T from(byte[] data, Type type) {
+        return from(Json.profile(), data, type);
+    }
+
+    /**
+     * Decode the object from binary form
+     *
+     * @param <T> The target type
+     * @param profile The JSON profile
+     * @param data The encoded bytes
+     * @param type The target type
+     * @return Returns decoded object
+     */
+    public static <T> T from(JsonProfile profile, byte[] data, Type type) {
+
+        // nothing to decode
+        if(data == null){
+            return null;
+        }
+
+        return profile.reader().fromJson(decode(data), type);
+    }
+
+    /**
+     * Decode the JSON tree from binary form
+     *
+     * @param data The encoded bytes
+     * @return Returns the JSON tree
+     */
+    public static JsonElement decode(byte[] data) {
+        return new Decoder(data).decode();
+    }
+
+    /**
+     * The binary form decoder
+     */
+    private static class Decoder {
+
+        /**
+         * The encoded bytes
+         */
+        private final byte[] data;
+
+        /**
+         * The read position
+         */
+        private int position;
+
+        /**
+         * The referenced strings, null if disabled
+         */
+        private List<String> references;
+
+        /**
+         * The current nesting of arrays and objects
+         */
+        private int depth;
+
+        /**
+         * Creates new instance of decoder
+         *
+         * @param data The encoded bytes
+         */
+        Decoder(byte[] data) {
+            this.data = data;
+            this.position = 0;
+        }
+
+        /**
+         * Decode the document
+         *
+         * @return Returns the JSON tree
+         */
+        JsonElement decode() {
+            try {
+                // the header
+                var header = this.data[this.position++];
+
+                // validate header
+                if((header & 0xF0) != (MAGIC & 0xF0)){
+                    throw new JsonSyntaxException("Not a binary JSON document");
+                }
+
+                // references are used
+                if((header & FLAG_REFERENCES) != 0){
+                    this.references = new ArrayList<>();
+                }
+
+                // the root value
+                var root = this.value(this.data[this.position++]);
+
+                // should be fully consumed
+                if(this.position != this.data.length){
+                    throw new JsonSyntaxException("Unexpected data after binary JSON document at " + this.position);
+                }
+
+                return root;
+            } catch (ArrayIndexOutOfBoundsException ex) {
+                throw new JsonSyntaxException("Truncated binary JSON document", ex);
+            }
+        }
+
+        /**
+         * Decode the value of the tag
+         *
+         * @param tag The value tag
+         * @return Returns the value
+         */
+        private JsonElement value(byte tag) {
+            switch(tag){
+                case NULL:
+                    return JsonNull.INSTANCE;
+                case FALSE:
+                    return new JsonPrimitive(false);
+                case TRUE:
+                    return new JsonPrimitive(true);
+                case INTEGER:
+                    var zigzag = this.varint();
+                    return new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+                case DOUBLE:
+                    return new JsonPrimitive(Double.longBitsToDouble(this.fixed64()));
+                case STRING:
+                case REFERENCE:
+                    return new JsonPrimitive(this.string(tag));
+                case NUMBER:
+                    return new JsonPrimitive(new BigDecimal(this.utf8()));
+                case ARRAY:
+
+                    // the array
+                    var array = new JsonArray();
+
+                    this.enter();
+
+                    for(var next = this.data[this.position++]; next != END; next = this.data[this.position++]){
+                        array.add(this.value(next));
+                    }
+
+                    this.depth--;
+
+                    return array;
+                case OBJECT:
+
+                    // the object
+                    var object = new JsonObject();
+
+                    this.enter();
+
+                    for(var next = this.data[this.position++]; next != END; next = this.data[this.position++]){
+
+                        // the property name
+                        var name = this.string(next);
+
+                        object.add(name, this.value(this.data[this.position++]));
+                    }
+
+                    this.depth--;
+
+                    return object;
+                default:
+                    throw new JsonSyntaxException("Unknown binary JSON tag " + tag + " at " + (this.position - 1));
+            }
+        }
+
+        /**
+         * Enter the nested array or object
+         */
+        private void enter() {
+            if(++this.depth > MAX_DEPTH){
+                throw new JsonSyntaxException("Binary JSON nesting exceeds " + MAX_DEPTH + " at " + (this.position - 1));
+            }
+        }
+
+        /**
+         * Decode string or reference
+         *
+         * @param tag The string tag
+         * @return Returns the string
+         */
+        private String string(byte tag) {
+
+            // reference to previous string
+            if(tag == REFERENCE){
+
+                // should be enabled
+                if(this.references == null){
+                    throw new JsonSyntaxException("String reference in document without references");
+                }
+
+                // the index of previous string
+                var at = this.position;
+                var index = this.varint();
+
+                if(index < 0 || index >= this.references.size()){
+                    throw new JsonSyntaxException("Unknown string reference " + index + " at " + at);
+                }
+
+                return this.references.get((int) index);
+            }
+
+            // should be a string
+            if(tag != STRING){
+                throw new JsonSyntaxException("Expected string at " + (this.position - 1));
+            }
+
+            // the string
+            var value = this.utf8();
+
+            // remember it as encoder did
+            if(this.references != null && value.length() <= MAX_REFERENCE_LENGTH && this.references.size() < MAX_REFERENCES){
+                this.references.add(value);
+            }
+
+            return value;
+        }
+
+        /**
+         * Decode length-prefixed UTF-8 string
+         *
+         * @return Returns the string
+         */
+        private String utf8() {
+
+            // the length of bytes
+            var length = this.varint();
+
+            // check bounds
+            if(length < 0 || length > this.data.length - this.position){
+                throw new JsonSyntaxException("Truncated binary JSON document");
+            }
+
+            var value = new String(this.data, this.position, (int) length, StandardCharsets.UTF_8);
+
+            this.position += (int) length;
+
+            return value;
+        }
+
+        /**
+         * Decode unsigned LEB128 varint
+         *
+         * @return Returns the value
+         */
+        private long varint() {
+
+            // the result
+            long result = 0;
+
+            for(var shift = 0; shift < 64; shift += 7){
+
+                // the next byte
+                var b = this.data[this.position++];
+
+                result |= (long) (b & 0x7F) << shift;
+
+                if((b & 0x80) == 0){
+                    return result;
+                }
+            }
+
+            throw new JsonSyntaxException("Malformed varint at " + this.position);
+        }
+
+        /**
+         * Decode big-endian long
+         *
+         * @return Returns the value
+         */
+        private long fixed64() {
+
+            // the result
+            long result = 0;
+
+            for(var i = 0; i < 8; i++){
+                result = (result << 8) | (this.data[this.position++] & 0xFF);
+            }
+
+            return result;
+        }
+    }
+}
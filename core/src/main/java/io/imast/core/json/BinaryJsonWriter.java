@@ -0,0 +1,564 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The JSON writer producing compact tagged binary encoding
+ *
+ * Gson adapters write into it exactly as into a text writer, so the binary
+ * form maps the same object model. See {@link BinaryJson} for the format.
+ *
+ * @author davitp
+ */
+public class BinaryJsonWriter extends JsonWriter {
+
+    /**
+     * The writer that should never be used by the base class
+     */
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    /**
+     * The output buffer
+     */
+    private byte[] buffer;
+
+    /**
+     * The number of bytes written
+     */
+    private int count;
+
+    /**
+     * The name waiting for its value (dropped with null value if nulls are not serialized)
+     */
+    private String deferredName;
+
+    /**
+     * The back-reference indexes of written strings, null if disabled
+     */
+    private final Map<String, Integer> references;
+
+    /**
+     * Creates new instance of binary JSON writer
+     *
+     * @param stringReferences Use back-references for repeated strings
+     */
+    public BinaryJsonWriter(boolean stringReferences) {
+        super(UNWRITABLE_WRITER);
+        this.buffer = new byte[256];
+        this.count = 0;
+        this.references = stringReferences ? new HashMap<>() : null;
+
+        // header
+        this.put((byte) (BinaryJson.MAGIC | (stringReferences ? BinaryJson.FLAG_REFERENCES : 0)));
+    }
+
+    /**
+     * Gets the encoded bytes
+     *
+     * @return Returns copy of encoded bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.count);
+    }
+
+    /**
+     * Begin array
+     *
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter beginArray() throws IOException {
+        this.writeDeferredName();
+        this.put(BinaryJson.ARRAY);
+        return this;
+    }
+
+    /**
+     * End array
+     *
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter endArray() throws IOException {
+        this.put(BinaryJson.END);
+        return this;
+    }
+
+    /**
+     * Begin object
+     *
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter beginObject() throws IOException {
+        this.writeDeferredName();
+        this.put(BinaryJson.OBJECT);
+        return this;
+    }
+
+    /**
+     * End object
+     *
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter endObject() throws IOException {
+        this.put(BinaryJson.END);
+        return this;
+    }
+
+    /**
+     * Write the property name
+     *
+     * @param name The name
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter name(String name) throws IOException {
+
+        // validate name
+        if(name == null){
+            throw new NullPointerException("name == null");
+        }
+
+        if(this.deferredName != null){
+            throw new IllegalStateException();
+        }
+
+        this.deferredName = name;
+        return this;
+    }
+
+    /**
+     * Write the string value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(String value) throws IOException {
+
+        // null string
+        if(value == null){
+            return this.nullValue();
+        }
+
+        this.writeDeferredName();
+        this.writeString(value);
+        return this;
+    }
+
+    /**
+     * Write the raw JSON value
+     *
+     * @param value The raw JSON
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public BinaryJsonWriter jsonValue(String value) throws IOException {
+
+        // null json
+        if(value == null){
+            return this.nullValue();
+        }
+
+        return this.value(new JsonParser().parse(value));
+    }
+
+    /**
+     * Write the JSON tree
+     *
+     * @param element The JSON tree
+     * @return Returns the writer
+     * @throws IOException
+     */
+    public BinaryJsonWriter value(JsonElement element) throws IOException {
+
+        // null element
+        if(element == null || element.isJsonNull()){
+            return this.nullValue();
+        }
+
+        // primitive values
+        if(element.isJsonPrimitive()){
+
+            // the primitive
+            var primitive = element.getAsJsonPrimitive();
+
+            if(primitive.isBoolean()){
+                return this.value(primitive.getAsBoolean());
+            }
+
+            if(primitive.isNumber()){
+                return this.value(primitive.getAsNumber());
+            }
+
+            return this.value(primitive.getAsString());
+        }
+
+        // array values
+        if(element.isJsonArray()){
+
+            this.beginArray();
+
+            for(var item : element.getAsJsonArray()){
+                this.value(item);
+            }
+
+            return this.endArray();
+        }
+
+        this.beginObject();
+
+        for(var entry : element.getAsJsonObject().entrySet()){
+            this.name(entry.getKey());
+            this.value(entry.getValue());
+        }
+
+        return this.endObject();
+    }
+
+    /**
+     * Write the null value
+     *
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter nullValue() throws IOException {
+
+        // skip property if nulls are not serialized
+        if(this.deferredName != null && !this.getSerializeNulls()){
+            this.deferredName = null;
+            return this;
+        }
+
+        this.writeDeferredName();
+        this.put(BinaryJson.NULL);
+        return this;
+    }
+
+    /**
+     * Write the boolean value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(boolean value) throws IOException {
+        this.writeDeferredName();
+        this.put(value ? BinaryJson.TRUE : BinaryJson.FALSE);
+        return this;
+    }
+
+    /**
+     * Write the boolean value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(Boolean value) throws IOException {
+
+        // null boolean
+        if(value == null){
+            return this.nullValue();
+        }
+
+        return this.value(value.booleanValue());
+    }
+
+    /**
+     * Write the double value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(double value) throws IOException {
+
+        // check special values
+        if(!this.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))){
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+
+        this.writeDeferredName();
+        this.put(BinaryJson.DOUBLE);
+        this.putLong(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Write the long value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(long value) throws IOException {
+        this.writeDeferredName();
+        this.put(BinaryJson.INTEGER);
+        this.putVarint((value << 1) ^ (value >> 63));
+        return this;
+    }
+
+    /**
+     * Write the number value
+     *
+     * @param value The value
+     * @return Returns the writer
+     * @throws IOException
+     */
+    @Override
+    public BinaryJsonWriter value(Number value) throws IOException {
+
+        // null number
+        if(value == null){
+            return this.nullValue();
+        }
+
+        // integral types
+        if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte || value instanceof AtomicInteger || value instanceof AtomicLong){
+            return this.value(value.longValue());
+        }
+
+        // floating point types
+        if(value instanceof Double || value instanceof Float){
+            return this.value(value.doubleValue());
+        }
+
+        // the textual form (big or lazily parsed numbers)
+        var text = value.toString();
+
+        // small integers from text are kept compact
+        if(!(value instanceof BigDecimal) && !(value instanceof BigInteger) && text.length() < 19 && text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0){
+            try {
+                return this.value(Long.parseLong(text));
+            } catch (NumberFormatException ex) {
+                // keep as text
+            }
+        }
+
+        this.writeDeferredName();
+        this.put(BinaryJson.NUMBER);
+        this.putUtf8(text);
+        return this;
+    }
+
+    /**
+     * Nothing to flush, output is in memory
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Nothing to close, output is in memory
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Write the name waiting for value
+     */
+    private void writeDeferredName() {
+
+        // no name
+        if(this.deferredName == null){
+            return;
+        }
+
+        this.writeString(this.deferredName);
+        this.deferredName = null;
+    }
+
+    /**
+     * Write the string or back-reference to it
+     *
+     * @param value The string
+     */
+    private void writeString(String value) {
+
+        // references are not used
+        if(this.references == null || value.length() > BinaryJson.MAX_REFERENCE_LENGTH){
+            this.put(BinaryJson.STRING);
+            this.putUtf8(value);
+            return;
+        }
+
+        // the previous occurrence
+        var index = this.references.get(value);
+
+        // write the reference
+        if(index != null){
+            this.put(BinaryJson.REFERENCE);
+            this.putVarint(index);
+            return;
+        }
+
+        // remember string while table has space
+        if(this.references.size() < BinaryJson.MAX_REFERENCES){
+            this.references.put(value, this.references.size());
+        }
+
+        this.put(BinaryJson.STRING);
+        this.putUtf8(value);
+    }
+
+    /**
+     * Write length-prefixed UTF-8 string
+     *
+     * @param value The string
+     */
+    private void putUtf8(String value) {
+
+        // the string length
+        var length = value.length();
+
+        // compute encoded length
+        var encoded = 0;
+
+        for(var i = 0; i < length; i++){
+            var c = value.charAt(i);
+
+            if(c < 0x80){
+                encoded++;
+            } else if(c < 0x800){
+                encoded += 2;
+            } else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))){
+                encoded += 4;
+                i++;
+            } else if(Character.isSurrogate(c)){
+                encoded++;
+            } else {
+                encoded += 3;
+            }
+        }
+
+        this.putVarint(encoded);
+        this.ensure(encoded);
+
+        // encode characters
+        var buf = this.buffer;
+        var pos = this.count;
+
+        for(var i = 0; i < length; i++){
+            var c = value.charAt(i);
+
+            if(c < 0x80){
+                buf[pos++] = (byte) c;
+            } else if(c < 0x800){
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))){
+                var cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if(Character.isSurrogate(c)){
+                // lone surrogates are replaced as UTF-8 encoder of text JSON does
+                buf[pos++] = (byte) '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        this.count = pos;
+    }
+
+    /**
+     * Write unsigned LEB128 varint
+     *
+     * @param value The value
+     */
+    private void putVarint(long value) {
+        this.ensure(10);
+
+        while((value & ~0x7FL) != 0){
+            this.buffer[this.count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer[this.count++] = (byte) value;
+    }
+
+    /**
+     * Write big-endian long
+     *
+     * @param value The value
+     */
+    private void putLong(long value) {
+        this.ensure(8);
+
+        for(var shift = 56; shift >= 0; shift -= 8){
+            this.buffer[this.count++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Write single byte
+     *
+     * @param value The byte
+     */
+    private void put(byte value) {
+        this.ensure(1);
+        this.buffer[this.count++] = value;
+    }
+
+    /**
+     * Ensure buffer has space
+     *
+     * @param size The required space
+     */
+    private void ensure(int size) {
+
+        // enough space
+        if(this.count + size <= this.buffer.length){
+            return;
+        }
+
+        this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.count + size));
+    }
+}
@@ -0,0 +1,87 @@
+package io.imast.core.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The streaming GSON adapter for Duration type
+ *
+ * Same format as {@link DurationConverter} (ISO-8601 text, or seconds/nanos
+ * object on read) without building intermediate JSON trees.
+ *
+ * @author davitp
+ */
+public class DurationTypeAdapter extends TypeAdapter<Duration> {
+
+    /**
+     * Write duration as ISO-8601 string
+     *
+     * @param out The JSON writer
+     * @param value The duration
+     * @throws IOException
+     */
+    @Override
+    public void write(JsonWriter out, Duration value) throws IOException {
+
+        // write null as is
+        if(value == null){
+            out.nullValue();
+            return;
+        }
+
+        out.value(value.toString());
+    }
+
+    /**
+     * Read duration from ISO-8601 string or seconds/nanos object
+     *
+     * @param in The JSON reader
+     * @return Returns the duration
+     * @throws IOException
+     */
+    @Override
+    public Duration read(JsonReader in) throws IOException {
+
+        // the current token
+        var token = in.peek();
+
+        // read null as is
+        if(token == JsonToken.NULL){
+            in.nextNull();
+            return null;
+        }
+
+        // if JSON object, consider as (seconds, nanos) pair
+        if(token == JsonToken.BEGIN_OBJECT){
+
+            // the parts
+            long seconds = 0;
+            var nanos = 0;
+
+            in.beginObject();
+
+            while(in.hasNext()){
+                switch(in.nextName()){
+                    case "seconds":
+                        seconds = in.nextLong();
+                        break;
+                    case "nanos":
+                        nanos = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            in.endObject();
+
+            return Duration.ofSeconds(seconds, nanos);
+        }
+
+        return IsoTime.parseDuration(in.nextString());
+    }
+}
@@ -0,0 +1,159 @@
+package io.imast.core.json;
+
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+
+/**
+ * The default Gson-based JSON engine
+ * 
+ * @author davitp
+ */
+public class GsonJsonEngine implements JsonEngine {
+    
+    /**
+     * The engine name
+     */
+    public static final String NAME = "gson";
+    
+    /**
+     * The underlying profile
+     */
+    private final JsonProfile profile;
+
+    /**
+     * Creates new instance of Gson engine with default profile
+     */
+    public GsonJsonEngine() {
+        this(Json.profile());
+    }
+    
+    /**
+     * Creates new instance of Gson engine 
+     * 
+     * @param profile The profile to use
+     */
+    public GsonJsonEngine(JsonProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Gets the engine name
+     * 
+     * @return Returns the engine name
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Gets the engine priority (used as default)
+     * 
+     * @return Returns the priority
+     */
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Convert the object to JSON string
+     * 
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns serialized string
+     */
+    @Override
+    public String to(Object object, boolean pretty) {
+        return pretty ? this.profile.to(object) : this.profile.compact().toJson(object);
+    }
+
+    /**
+     * Write the object as JSON directly into the appendable
+     * 
+     * @param object The object to serialize
+     * @param output The target output
+     * @param pretty Use pretty printing
+     */
+    @Override
+    public void to(Object object, Appendable output, boolean pretty) {
+        this.profile.to(object, output, pretty);
+    }
+
+    /**
+     * Write the object as UTF-8 JSON directly into the stream
+     * 
+     * @param object The object to serialize
+     * @param output The target stream
+     * @param pretty Use pretty printing
+     */
+    @Override
+    public void to(Object object, OutputStream output, boolean pretty) {
+        this.profile.to(object, output, pretty);
+    }
+
+    /**
+     * Convert the object to UTF-8 JSON bytes
+     * 
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns UTF-8 encoded JSON
+     */
+    @Override
+    public byte[] toBytes(Object object, boolean pretty) {
+        return this.profile.toBytes(object, pretty);
+    }
+
+    /**
+     * Import JSON text in to the object
+     * 
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @return The object
+     */
+    @Override
+    public <T> T from(String json, Type classType) {
+        return this.profile.from(json, classType);
+    }
+
+    /**
+     * Import JSON stream in to the object
+     * 
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @return The object
+     */
+    @Override
+    public <T> T from(Reader jsonReader, Type classType) {
+        return this.profile.from(jsonReader, classType);
+    }
+
+    /**
+     * Adapt the object to the target type with exact same schema
+     * 
+     * @param <T> The target type
+     * @param object The object to adapt
+     * @param targetType The target type
+     * @return Returns adapted object
+     */
+    @Override
+    public <T> T adapt(Object object, Type targetType) {
+        return this.profile.adapt(object, targetType);
+    }
+
+    /**
+     * Iterate elements of a top-level JSON array lazily
+     * 
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns closeable iterator over the array elements
+     */
+    @Override
+    public <T> JsonIterator<T> iterate(Reader jsonReader, Type elementType) {
+        return this.profile.iterate(jsonReader, elementType);
+    }
+}
@@ -0,0 +1,913 @@
+package io.imast.core.json;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The hand-written ISO-8601 printer and scanner for java.time values
+ *
+ * Produces exactly the same text as the ISO formatters (and Duration.toString)
+ * for common values. Parsing scans the text directly and falls back to the
+ * standard parsers for anything unusual (out of range years, leap seconds,
+ * etc.), so errors and edge cases behave as before.
+ *
+ * @author davitp
+ */
+final class IsoTime {
+
+    /**
+     * The seconds in day
+     */
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    /**
+     * The cache of region zones by identifier
+     */
+    private static final ConcurrentHashMap<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+
+    /**
+     * The per-thread text builder
+     */
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    /**
+     * No instances
+     */
+    private IsoTime() {
+    }
+
+    /**
+     * Gets the cleared per-thread builder
+     *
+     * @return Returns the builder
+     */
+    private static StringBuilder builder() {
+
+        // the shared builder
+        var builder = BUILDER.get();
+
+        builder.setLength(0);
+
+        return builder;
+    }
+
+    /**
+     * Format zoned date time as ISO_ZONED_DATE_TIME does
+     *
+     * @param value The value
+     * @return Returns ISO text
+     */
+    static String format(ZonedDateTime value) {
+
+        // the year out of fast range
+        if(value.getYear() < 0 || value.getYear() > 9999){
+            return DateTimeFormatter.ISO_ZONED_DATE_TIME.format(value);
+        }
+
+        // the text
+        var builder = builder();
+
+        appendLocal(builder, value.getYear(), value.getMonthValue(), value.getDayOfMonth(), value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+        builder.append(value.getOffset().getId());
+
+        // the region
+        if(!(value.getZone() instanceof ZoneOffset)){
+            builder.append('[').append(value.getZone().getId()).append(']');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Format offset date time as ISO_OFFSET_DATE_TIME does
+     *
+     * @param value The value
+     * @return Returns ISO text
+     */
+    static String format(OffsetDateTime value) {
+
+        // the year out of fast range
+        if(value.getYear() < 0 || value.getYear() > 9999){
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+        }
+
+        // the text
+        var builder = builder();
+
+        appendLocal(builder, value.getYear(), value.getMonthValue(), value.getDayOfMonth(), value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+        builder.append(value.getOffset().getId());
+
+        return builder.toString();
+    }
+
+    /**
+     * Format local date time as ISO_LOCAL_DATE_TIME does
+     *
+     * @param value The value
+     * @return Returns ISO text
+     */
+    static String format(LocalDateTime value) {
+
+        // the year out of fast range
+        if(value.getYear() < 0 || value.getYear() > 9999){
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+        }
+
+        // the text
+        var builder = builder();
+
+        appendLocal(builder, value.getYear(), value.getMonthValue(), value.getDayOfMonth(), value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+
+        return builder.toString();
+    }
+
+    /**
+     * Format local date as ISO_LOCAL_DATE does
+     *
+     * @param value The value
+     * @return Returns ISO text
+     */
+    static String format(LocalDate value) {
+
+        // the year out of fast range
+        if(value.getYear() < 0 || value.getYear() > 9999){
+            return DateTimeFormatter.ISO_LOCAL_DATE.format(value);
+        }
+
+        // the text
+        var builder = builder();
+
+        appendDate(builder, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+
+        return builder.toString();
+    }
+
+    /**
+     * Format instant as ISO_INSTANT does
+     *
+     * @param value The value
+     * @return Returns ISO text
+     */
+    static String format(Instant value) {
+
+        // the epoch day and second of day
+        var epochSecond = value.getEpochSecond();
+        var epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        var secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // civil date from epoch day (proleptic Gregorian)
+        var z = epochDay + 719468;
+        var era = Math.floorDiv(z, 146097);
+        var doe = z - era * 146097;
+        var yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        var doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        var mp = (5 * doy + 2) / 153;
+        var day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        var month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        var year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        // the year out of fast range
+        if(year < 0 || year > 9999){
+            return DateTimeFormatter.ISO_INSTANT.format(value);
+        }
+
+        // the text
+        var builder = builder();
+
+        appendDate(builder, (int) year, month, day);
+        builder.append('T');
+        append2(builder, secondOfDay / 3600);
+        builder.append(':');
+        append2(builder, (secondOfDay / 60) % 60);
+        builder.append(':');
+        append2(builder, secondOfDay % 60);
+
+        // the fraction in groups of three digits
+        var nano = value.getNano();
+
+        if(nano > 0){
+            builder.append('.');
+
+            if(nano % 1000_000 == 0){
+                appendPadded(builder, nano / 1000_000, 3);
+            } else if(nano % 1000 == 0){
+                appendPadded(builder, nano / 1000, 6);
+            } else {
+                appendPadded(builder, nano, 9);
+            }
+        }
+
+        builder.append('Z');
+
+        return builder.toString();
+    }
+
+    /**
+     * Parse zoned date time as ISO_ZONED_DATE_TIME does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static ZonedDateTime parseZoned(String text) {
+
+        // the local part
+        var local = scanLocal(text, 0);
+
+        // should be followed by offset
+        if(local != null){
+
+            // the offset end
+            var end = scanOffset(text, local.end, local);
+
+            if(end > 0){
+
+                // the offset
+                var offset = ZoneOffset.ofTotalSeconds(local.offset);
+
+                // no region
+                if(end == text.length()){
+                    return ZonedDateTime.ofInstant(local.toLocal(), offset, offset);
+                }
+
+                // the region
+                if(text.charAt(end) == '[' && text.charAt(text.length() - 1) == ']'){
+
+                    // the zone
+                    var zone = zone(text.substring(end + 1, text.length() - 1));
+
+                    if(zone != null){
+                        return ZonedDateTime.ofInstant(local.toLocal(), offset, zone);
+                    }
+                }
+            }
+        }
+
+        return DateTimeFormatter.ISO_ZONED_DATE_TIME.parse(text, ZonedDateTime::from);
+    }
+
+    /**
+     * Parse offset date time as ISO_OFFSET_DATE_TIME does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static OffsetDateTime parseOffset(String text) {
+
+        // the local part
+        var local = scanLocal(text, 0);
+
+        // should be followed by offset only
+        if(local != null && scanOffset(text, local.end, local) == text.length()){
+            return OffsetDateTime.of(local.toLocal(), ZoneOffset.ofTotalSeconds(local.offset));
+        }
+
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(text, OffsetDateTime::from);
+    }
+
+    /**
+     * Parse local date time as ISO_LOCAL_DATE_TIME does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static LocalDateTime parseLocalDateTime(String text) {
+
+        // the local part
+        var local = scanLocal(text, 0);
+
+        // should be the whole text
+        if(local != null && local.end == text.length()){
+            return local.toLocal();
+        }
+
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(text, LocalDateTime::from);
+    }
+
+    /**
+     * Parse local date as ISO_LOCAL_DATE does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static LocalDate parseLocalDate(String text) {
+
+        // the date part
+        var local = new Local();
+
+        // should be the whole text
+        if(scanDate(text, 0, local) == text.length() && local.valid()){
+            return LocalDate.of(local.year, local.month, local.day);
+        }
+
+        return DateTimeFormatter.ISO_LOCAL_DATE.parse(text, LocalDate::from);
+    }
+
+    /**
+     * Parse instant as ISO_INSTANT does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static Instant parseInstant(String text) {
+
+        // the local part
+        var local = scanLocal(text, 0);
+
+        // should be followed by 'Z' only
+        if(local != null && local.end == text.length() - 1 && text.charAt(local.end) == 'Z'){
+            return local.toLocal().toInstant(ZoneOffset.UTC);
+        }
+
+        return DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from);
+    }
+
+    /**
+     * Parse duration as Duration.parse does
+     *
+     * @param text The text
+     * @return Returns parsed value
+     */
+    static Duration parseDuration(String text) {
+
+        // the scanned value
+        var scanned = scanDuration(text);
+
+        // fallback for anything unusual (including errors)
+        if(scanned == null){
+            return Duration.parse(text);
+        }
+
+        return scanned;
+    }
+
+    /**
+     * Scan duration in [-+]P[nD][T[nH][nM][n[.f]S]] form
+     *
+     * @param text The text
+     * @return Returns duration or null if not recognized
+     */
+    private static Duration scanDuration(String text) {
+
+        // the text length
+        var length = text.length();
+
+        // the position
+        var i = 0;
+
+        // the leading sign
+        var negate = false;
+
+        if(i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')){
+            negate = text.charAt(i) == '-';
+            i++;
+        }
+
+        // the period designator
+        if(i >= length || (text.charAt(i) != 'P' && text.charAt(i) != 'p')){
+            return null;
+        }
+
+        i++;
+
+        // the components
+        long days = 0;
+        long hours = 0;
+        long minutes = 0;
+        long seconds = 0;
+        long nanos = 0;
+
+        // any component found
+        var found = false;
+
+        // the days component
+        var daysEnd = scanNumber(text, i);
+
+        if(daysEnd > i && daysEnd < length && (text.charAt(daysEnd) == 'D' || text.charAt(daysEnd) == 'd')){
+            days = parseLong(text, i, daysEnd);
+            i = daysEnd + 1;
+            found = true;
+        }
+
+        // the time components
+        if(i < length && (text.charAt(i) == 'T' || text.charAt(i) == 't')){
+            i++;
+
+            // at least one time component
+            var time = false;
+
+            // the order of units
+            var unit = 0;
+
+            while(i < length){
+
+                // the number
+                var end = scanNumber(text, i);
+
+                if(end == i || end >= length){
+                    return null;
+                }
+
+                // the unit designator
+                var designator = Character.toUpperCase(text.charAt(end));
+
+                if(designator == 'H' && unit < 1){
+                    hours = parseLong(text, i, end);
+                    unit = 1;
+                } else if(designator == 'M' && unit < 2){
+                    minutes = parseLong(text, i, end);
+                    unit = 2;
+                } else if(designator == 'S' && unit < 3){
+                    seconds = parseLong(text, i, end);
+                    unit = 3;
+                } else if((designator == '.' || designator == ',') && unit < 3){
+
+                    // the fraction digits
+                    var fractionEnd = end + 1;
+
+                    while(fractionEnd < length && isDigit(text.charAt(fractionEnd))){
+                        fractionEnd++;
+                    }
+
+                    // from 1 to 9 digits followed by seconds designator
+                    var digits = fractionEnd - end - 1;
+
+                    if(digits < 1 || digits > 9 || fractionEnd >= length || Character.toUpperCase(text.charAt(fractionEnd)) != 'S'){
+                        return null;
+                    }
+
+                    seconds = parseLong(text, i, end);
+                    nanos = parseLong(text, end + 1, fractionEnd);
+
+                    // scale to nanos
+                    for(var d = digits; d < 9; d++){
+                        nanos *= 10;
+                    }
+
+                    // fraction follows seconds sign
+                    if(text.charAt(i) == '-'){
+                        nanos = -nanos;
+                    }
+
+                    end = fractionEnd;
+                    unit = 3;
+                } else {
+                    return null;
+                }
+
+                i = end + 1;
+                time = true;
+            }
+
+            // 'T' without components
+            if(!time){
+                return null;
+            }
+
+            found = true;
+        }
+
+        // should be fully consumed with at least one component
+        if(!found || i != length){
+            return null;
+        }
+
+        try {
+            // total seconds
+            var total = Math.addExact(Math.addExact(Math.multiplyExact(days, SECONDS_PER_DAY), Math.multiplyExact(hours, 3600L)), Math.addExact(Math.multiplyExact(minutes, 60L), seconds));
+
+            // the duration
+            var duration = Duration.ofSeconds(total, nanos);
+
+            return negate ? duration.negated() : duration;
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Scan the signed number (at most 18 digits)
+     *
+     * @param text The text
+     * @param start The start position
+     * @return Returns the end position or start if no number
+     */
+    private static int scanNumber(String text, int start) {
+
+        // the position
+        var i = start;
+
+        // optional sign
+        if(i < text.length() && (text.charAt(i) == '-' || text.charAt(i) == '+')){
+            i++;
+        }
+
+        // the digits start
+        var digits = i;
+
+        while(i < text.length() && isDigit(text.charAt(i))){
+            i++;
+        }
+
+        // no digits or too long to fit
+        if(i == digits || i - digits > 18){
+            return start;
+        }
+
+        return i;
+    }
+
+    /**
+     * Parse signed number in range
+     *
+     * @param text The text
+     * @param start The start position
+     * @param end The end position
+     * @return Returns the number
+     */
+    private static long parseLong(String text, int start, int end) {
+
+        // the sign
+        var negative = text.charAt(start) == '-';
+
+        // skip sign
+        if(text.charAt(start) == '-' || text.charAt(start) == '+'){
+            start++;
+        }
+
+        // the value
+        long value = 0;
+
+        for(var i = start; i < end; i++){
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Scan yyyy-MM-ddTHH:mm[:ss[.f]]
+     *
+     * @param text The text
+     * @param start The start position
+     * @return Returns scanned local part or null if not recognized
+     */
+    private static Local scanLocal(String text, int start) {
+
+        // the local part
+        var local = new Local();
+
+        // the date part
+        var i = scanDate(text, start, local);
+
+        // the time separator
+        if(i < 0 || i + 6 > text.length() || (text.charAt(i) != 'T' && text.charAt(i) != 't')){
+            return null;
+        }
+
+        // the hours and minutes
+        local.hour = digits(text, i + 1, 2);
+        local.minute = text.charAt(i + 3) == ':' ? digits(text, i + 4, 2) : -1;
+        i += 6;
+
+        // optional seconds
+        if(i < text.length() && text.charAt(i) == ':'){
+            local.second = digits(text, i + 1, 2);
+            i += 3;
+
+            // optional fraction
+            if(local.second >= 0 && i < text.length() && text.charAt(i) == '.'){
+
+                // the fraction digits
+                var end = i + 1;
+                var nano = 0;
+
+                while(end < text.length() && isDigit(text.charAt(end)) && end - i <= 9){
+                    nano = nano * 10 + (text.charAt(end) - '0');
+                    end++;
+                }
+
+                // from 1 to 9 digits
+                if(end == i + 1 || (end < text.length() && isDigit(text.charAt(end)))){
+                    return null;
+                }
+
+                // scale to nanos
+                for(var d = end - i - 1; d < 9; d++){
+                    nano *= 10;
+                }
+
+                local.nano = nano;
+                i = end;
+            }
+        }
+
+        local.end = i;
+
+        return local.valid() ? local : null;
+    }
+
+    /**
+     * Scan yyyy-MM-dd
+     *
+     * @param text The text
+     * @param start The start position
+     * @param local The target
+     * @return Returns end position or -1 if not recognized
+     */
+    private static int scanDate(String text, int start, Local local) {
+
+        // fixed length check
+        if(start + 10 > text.length() || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'){
+            return -1;
+        }
+
+        local.year = digits(text, start, 4);
+        local.month = digits(text, start + 5, 2);
+        local.day = digits(text, start + 8, 2);
+
+        return start + 10;
+    }
+
+    /**
+     * Scan offset Z or +HH:MM[:ss]
+     *
+     * @param text The text
+     * @param start The start position
+     * @param local The target
+     * @return Returns end position or -1 if not recognized, offset is stored into local part
+     */
+    private static int scanOffset(String text, int start, Local local) {
+
+        // nothing to scan
+        if(start >= text.length()){
+            return -1;
+        }
+
+        // the sign or zulu
+        var sign = text.charAt(start);
+
+        if(sign == 'Z'){
+            local.offset = 0;
+            return start + 1;
+        }
+
+        if(sign != '+' && sign != '-'){
+            return -1;
+        }
+
+        // the hours and minutes
+        var hours = digits(text, start + 1, 2);
+        var minutes = start + 3 < text.length() && text.charAt(start + 3) == ':' ? digits(text, start + 4, 2) : -1;
+        var seconds = 0;
+        var end = start + 6;
+
+        // optional seconds
+        if(end < text.length() && text.charAt(end) == ':'){
+            seconds = digits(text, end + 1, 2);
+            end += 3;
+        }
+
+        // in range of offset
+        if(hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59 || (hours == 18 && (minutes > 0 || seconds > 0))){
+            return -1;
+        }
+
+        // the total offset
+        var total = hours * 3600 + minutes * 60 + seconds;
+
+        local.offset = sign == '-' ? -total : total;
+
+        return end;
+    }
+
+    /**
+     * Parse fixed number of digits
+     *
+     * @param text The text
+     * @param start The start position
+     * @param count The number of digits
+     * @return Returns the value or -1 if not digits
+     */
+    private static int digits(String text, int start, int count) {
+
+        // out of bounds
+        if(start + count > text.length()){
+            return -1;
+        }
+
+        // the value
+        var value = 0;
+
+        for(var i = start; i < start + count; i++){
+
+            // the char
+            var c = text.charAt(i);
+
+            if(!isDigit(c)){
+                return -1;
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks if ASCII digit
+     *
+     * @param c The char
+     * @return Returns true if digit
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Gets the zone by identifier
+     *
+     * @param id The zone identifier
+     * @return Returns zone or null if not valid
+     */
+    private static ZoneId zone(String id) {
+
+        // cached zone
+        var zone = ZONES.get(id);
+
+        if(zone != null){
+            return zone;
+        }
+
+        try {
+            zone = ZoneId.of(id);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+
+        // keep cache bounded by real zone identifiers only
+        ZONES.putIfAbsent(id, zone);
+
+        return zone;
+    }
+
+    /**
+     * Append yyyy-MM-ddTHH:mm:ss[.f]
+     *
+     * @param builder The builder
+     * @param year The year
+     * @param month The month
+     * @param day The day
+     * @param hour The hour
+     * @param minute The minute
+     * @param second The second
+     * @param nano The nano of second
+     */
+    private static void appendLocal(StringBuilder builder, int year, int month, int day, int hour, int minute, int second, int nano) {
+        appendDate(builder, year, month, day);
+        builder.append('T');
+        append2(builder, hour);
+        builder.append(':');
+        append2(builder, minute);
+        builder.append(':');
+        append2(builder, second);
+
+        // the fraction without trailing zeros
+        if(nano > 0){
+            builder.append('.');
+
+            // the digits count
+            var digits = 9;
+
+            while(nano % 10 == 0){
+                nano /= 10;
+                digits--;
+            }
+
+            appendPadded(builder, nano, digits);
+        }
+    }
+
+    /**
+     * Append yyyy-MM-dd
+     *
+     * @param builder The builder
+     * @param year The year
+     * @param month The month
+     * @param day The day
+     */
+    private static void appendDate(StringBuilder builder, int year, int month, int day) {
+        appendPadded(builder, year, 4);
+        builder.append('-');
+        append2(builder, month);
+        builder.append('-');
+        append2(builder, day);
+    }
+
+    /**
+     * Append two digits
+     *
+     * @param builder The builder
+     * @param value The value
+     */
+    private static void append2(StringBuilder builder, int value) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Append zero-padded number
+     *
+     * @param builder The builder
+     * @param value The value
+     * @param width The width
+     */
+    private static void appendPadded(StringBuilder builder, int value, int width) {
+
+        // the insert position
+        var position = builder.length();
+
+        builder.append(value);
+
+        // pad with zeros
+        while(builder.length() - position < width){
+            builder.insert(position, '0');
+        }
+    }
+
+    /**
+     * The scanned local date time part
+     */
+    private static class Local {
+
+        /**
+         * The year
+         */
+        int year = -1;
+
+        /**
+         * The month
+         */
+        int month = -1;
+
+        /**
+         * The day of month
+         */
+        int day = -1;
+
+        /**
+         * The hour
+         */
+        int hour = 0;
+
+        /**
+         * The minute
+         */
+        int minute = 0;
+
+        /**
+         * The second
+         */
+        int second = 0;
+
+        /**
+         * The nano of second
+         */
+        int nano = 0;
+
+        /**
+         * The offset seconds
+         */
+        int offset = 0;
+
+        /**
+         * The end position
+         */
+        int end = 0;
+
+        /**
+         * Checks if values are in the fast path range
+         *
+         * @return Returns true if valid
+         */
+        boolean valid() {
+            return this.year >= 0 && this.month >= 1 && this.month <= 12 && this.day >= 1 && this.day <= 28 + (this.month == 2 ? (java.time.Year.isLeap(this.year) ? 1 : 0) : (this.month == 4 || this.month == 6 || this.month == 9 || this.month == 11 ? 2 : 3))
+                    && this.hour >= 0 && this.hour <= 23 && this.minute >= 0 && this.minute <= 59 && this.second >= 0 && this.second <= 59;
+        }
+
+        /**
+         * Gets the local date time
+         *
+         * @return Returns local date time
+         */
+        LocalDateTime toLocal() {
+            return LocalDateTime.of(this.year, this.month, this.day, this.hour, this.minute, this.second, this.nano);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.imast.core.json;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.function.Function;
+
+/**
+ * The streaming GSON adapters for java.time types
+ *
+ * Write and read the same ISO-8601 text as the tree-based converters, going
+ * straight to the JSON stream with a hand-written printer and scanner.
+ *
+ * @author davitp
+ */
+public class JavaTimeAdapters {
+
+    /**
+     * Register all the adapters (Duration, Instant, LocalDate, LocalDateTime, OffsetDateTime, ZonedDateTime)
+     *
+     * @param builder The GSON builder
+     * @return Returns the builder
+     */
+    public static GsonBuilder registerAll(GsonBuilder builder){
+        return builder
+                .registerTypeAdapter(Duration.class, new DurationTypeAdapter())
+                .registerTypeAdapter(Instant.class, new IsoAdapter<Instant>(IsoTime::format, IsoTime::parseInstant))
+                .registerTypeAdapter(LocalDate.class, new IsoAdapter<LocalDate>(IsoTime::format, IsoTime::parseLocalDate))
+                .registerTypeAdapter(LocalDateTime.class, new IsoAdapter<LocalDateTime>(IsoTime::format, IsoTime::parseLocalDateTime))
+                .registerTypeAdapter(OffsetDateTime.class, new IsoAdapter<OffsetDateTime>(IsoTime::format, IsoTime::parseOffset))
+                .registerTypeAdapter(ZonedDateTime.class, new IsoAdapter<ZonedDateTime>(IsoTime::format, IsoTime::parseZoned));
+    }
+
+    /**
+     * The ISO-8601 text adapter
+     *
+     * @param <T> The value type
+     */
+    private static class IsoAdapter<T> extends TypeAdapter<T> {
+
+        /**
+         * The printer
+         */
+        private final Function<T, String> printer;
+
+        /**
+         * The parser
+         */
+        private final Function<String, T> parser;
+
+        /**
+         * Creates new instance of ISO adapter
+         *
+         * @param printer The printer
+         * @param parser The parser
+         */
+        IsoAdapter(Function<T, String> printer, Function<String, T> parser) {
+            this.printer = printer;
+            this.parser = parser;
+        }
+
+        /**
+         * Write the value as ISO text
+         *
+         * @param out The JSON writer
+         * @param value The value
+         * @throws IOException
+         */
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+
+            // write null as is
+            if(value == null){
+                out.nullValue();
+                return;
+            }
+
+            out.value(this.printer.apply(value));
+        }
+
+        /**
+         * Read the value from ISO text
+         *
+         * @param in The JSON reader
+         * @return Returns the value
+         * @throws IOException
+         */
+        @Override
+        public T read(JsonReader in) throws IOException {
+
+            // read null as is
+            if(in.peek() == JsonToken.NULL){
+                in.nextNull();
+                return null;
+            }
+
+            return this.parser.apply(in.nextString());
+        }
+    }
+}
@@ -2,16 +2,40 @@ package io.imast.core.json;
 
 import com.fatboyindustrial.gsonjavatime.Converters;
 import com.google.gson.GsonBuilder;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.lang.reflect.Type;
-import java.time.Duration;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The JSON Conversion utility
  * 
+ * Conversions are delegated to the selected {@link JsonEngine}, except path
+ * projections and lazy views which are built on Gson streaming and always use
+ * the default Gson profile
+ * 
  * @author davitp
  */
 public class Json {
+    
+    /**
+     * The default profile with pre-built engines
+     */
+    private static final JsonProfile DEFAULT = JsonProfile.create();
+    
+    /**
+     * The system property to select JSON engine by name
+     */
+    public static final String ENGINE_PROPERTY = "io.imast.json.engine";
+    
+    /**
+     * The JSON engine to delegate conversions to
+     */
+    private static final JsonEngine ENGINE = loadEngine();
+    
     /**
      * Gets the date format
      * 
@@ -26,8 +50,101 @@ public class Json {
      * 
      * @return Ready to use Gson Builder
      */
-    private static GsonBuilder getBuilder(){
-        return Converters.registerAll(new GsonBuilder()).registerTypeAdapter(Duration.class, new DurationConverter());
+    static GsonBuilder getBuilder(){
+        return JavaTimeAdapters.registerAll(Converters.registerAll(JsonCompiledRegistry.get().registerAll(new GsonBuilder())))
+                .setDateFormat(getDateFormat())
+                .enableComplexMapKeySerialization();
+    }
+    
+    /**
+     * Gets the GSON builder with all required pre-registrations and custom ones on top
+     * 
+     * @param customizer The builder customizer, if any
+     * @return Ready to use Gson Builder
+     */
+    static GsonBuilder getBuilder(Consumer<GsonBuilder> customizer){
+        
+        // builder with defaults
+        var builder = getBuilder();
+        
+        // apply custom registrations
+        if(customizer != null){
+            customizer.accept(builder);
+        }
+        
+        return builder;
+    }
+    
+    /**
+     * Discover the JSON engine to use
+     * 
+     * @return Returns selected engine, Gson-based one by default
+     */
+    private static JsonEngine loadEngine(){
+        
+        // the explicitly requested engine, if any
+        var requested = System.getProperty(ENGINE_PROPERTY);
+        
+        // the selected engine
+        JsonEngine selected = null;
+        
+        // check all available engines
+        for(var engine : ServiceLoader.load(JsonEngine.class, Json.class.getClassLoader())){
+            
+            // explicit selection wins
+            if(requested != null && !requested.isBlank()){
+                if(requested.equalsIgnoreCase(engine.getName())){
+                    return engine;
+                }
+                
+                continue;
+            }
+            
+            // opt-in engines are used only by name
+            if(engine.getPriority() < 0){
+                continue;
+            }
+            
+            // keep the highest priority
+            if(selected == null || engine.getPriority() > selected.getPriority()){
+                selected = engine;
+            }
+        }
+        
+        // fallback to default gson engine
+        if(selected == null){
+            selected = new GsonJsonEngine(DEFAULT);
+        }
+        
+        return selected;
+    }
+    
+    /**
+     * Gets the JSON engine in use
+     * 
+     * @return Returns the JSON engine
+     */
+    public static JsonEngine engine(){
+        return ENGINE;
+    }
+    
+    /**
+     * Gets the default profile
+     * 
+     * @return Returns the default JSON profile
+     */
+    public static JsonProfile profile(){
+        return DEFAULT;
+    }
+    
+    /**
+     * Creates a custom profile to be built once and reused
+     * 
+     * @param customizer The builder customizer (register adapters, factories, etc.)
+     * @return Returns new JSON profile
+     */
+    public static JsonProfile profile(Consumer<GsonBuilder> customizer){
+        return JsonProfile.create(customizer);
     }
     
     /**
@@ -39,9 +156,72 @@ public class Json {
      */
     public static <T> String to(T object) {
         // create json string
-        return getBuilder().setPrettyPrinting().setDateFormat(getDateFormat()).enableComplexMapKeySerialization().serializeNulls().create().toJson(object);
+        return ENGINE.to(object, true);
     }
        
+    /**
+     * Write the object as compact JSON directly into the appendable
+     *
+     * @param object The object to serialize
+     * @param output The target output (writer, builder, etc.)
+     */
+    public static void to(Object object, Appendable output) {
+        ENGINE.to(object, output, false);
+    }
+    
+    /**
+     * Write the object as JSON directly into the appendable
+     *
+     * @param object The object to serialize
+     * @param output The target output (writer, builder, etc.)
+     * @param pretty Use pretty printing
+     */
+    public static void to(Object object, Appendable output, boolean pretty) {
+        ENGINE.to(object, output, pretty);
+    }
+    
+    /**
+     * Write the object as compact UTF-8 JSON directly into the stream
+     *
+     * @param object The object to serialize
+     * @param output The target stream (flushed, not closed)
+     */
+    public static void to(Object object, OutputStream output) {
+        ENGINE.to(object, output, false);
+    }
+    
+    /**
+     * Write the object as UTF-8 JSON directly into the stream
+     *
+     * @param object The object to serialize
+     * @param output The target stream (flushed, not closed)
+     * @param pretty Use pretty printing
+     */
+    public static void to(Object object, OutputStream output, boolean pretty) {
+        ENGINE.to(object, output, pretty);
+    }
+    
+    /**
+     * Convert the object to compact UTF-8 JSON bytes
+     *
+     * @param object The object to serialize
+     * @return Returns UTF-8 encoded JSON
+     */
+    public static byte[] toBytes(Object object) {
+        return ENGINE.toBytes(object, false);
+    }
+    
+    /**
+     * Convert the object to UTF-8 JSON bytes
+     *
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns UTF-8 encoded JSON
+     */
+    public static byte[] toBytes(Object object, boolean pretty) {
+        return ENGINE.toBytes(object, pretty);
+    }
+    
     /**
      * Import JSON file in to the object
      *
@@ -52,7 +232,7 @@ public class Json {
      */
     public static <T> T from(String json, Class<T> classType) {
         // return object
-        return getBuilder().setDateFormat(getDateFormat()).enableComplexMapKeySerialization().create().fromJson(json, classType);
+        return ENGINE.from(json, classType);
     }
     
     /**
@@ -65,7 +245,7 @@ public class Json {
      */
     public static <T> T from(Reader jsonReader, Class<T> classType) {
         // return object
-        return getBuilder().setDateFormat(getDateFormat()).enableComplexMapKeySerialization().create().fromJson(jsonReader, classType);
+        return ENGINE.from(jsonReader, classType);
     }
     
     /**
@@ -78,7 +258,97 @@ public class Json {
      */
     public static <T> T from(String json, Type classType) {
         // return object
-        return getBuilder().setDateFormat(getDateFormat()).enableComplexMapKeySerialization().create().fromJson(json, classType);
+        return ENGINE.from(json, classType);
+    }
+    
+    /**
+     * Import only the selected paths of JSON text in to the object
+     * 
+     * Other fields are skipped at the token level and stay unset. Always
+     * Gson-backed (the default profile), whichever engine is selected
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @param paths The dot-separated paths to bind (e.g. "customer.name")
+     * @return The object
+     */
+    public static <T> T from(String json, Class<T> classType, Set<String> paths) {
+        return DEFAULT.from(json, classType, JsonProjection.of(paths));
+    }
+    
+    /**
+     * Import only the selected paths of JSON text in to the object (Gson-backed)
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @param projection The pre-built projection
+     * @return The object
+     */
+    public static <T> T from(String json, Class<T> classType, JsonProjection projection) {
+        return DEFAULT.from(json, classType, projection);
+    }
+    
+    /**
+     * Import only the selected paths of JSON stream in to the object (Gson-backed)
+     *
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @param projection The pre-built projection
+     * @return The object
+     */
+    public static <T> T from(Reader jsonReader, Class<T> classType, JsonProjection projection) {
+        return DEFAULT.from(jsonReader, classType, projection);
+    }
+    
+    /**
+     * Creates a lazy view over JSON text
+     * 
+     * The view is parsed with the default Gson profile, not the selected engine
+     * 
+     * @param json The JSON text
+     * @return Returns the view parsing sub-trees on access
+     */
+    public static JsonView view(String json) {
+        return JsonView.of(DEFAULT, json);
+    }
+    
+    /**
+     * Stream elements of a top-level JSON array lazily, one at a time
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns stream of elements (close it to release the reader)
+     */
+    public static <T> Stream<T> stream(Reader jsonReader, Class<T> elementType) {
+        return ENGINE.<T>iterate(jsonReader, elementType).stream();
+    }
+    
+    /**
+     * Stream elements of a top-level JSON array lazily, one at a time
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns stream of elements (close it to release the reader)
+     */
+    public static <T> Stream<T> stream(Reader jsonReader, Type elementType) {
+        return ENGINE.<T>iterate(jsonReader, elementType).stream();
+    }
+    
+    /**
+     * Iterate elements of a top-level JSON array lazily, one at a time
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns closeable iterator over elements
+     */
+    public static <T> JsonIterator<T> iterate(Reader jsonReader, Class<T> elementType) {
+        return ENGINE.iterate(jsonReader, elementType);
     }
     
     /**
@@ -93,7 +363,7 @@ public class Json {
     public static <From, To> To adapt(From object, Class<To> targetType){
         if(object == null) return null;
         
-        return from(to(object), targetType);
+        return ENGINE.adapt(object, targetType);
     }
     
     /**
@@ -108,6 +378,30 @@ public class Json {
     public static <From, To> To adapt(From object, Type targetType){
         if(object == null) return null;
         
-        return from(to(object), targetType);
+        return ENGINE.adapt(object, targetType);
+    }
+    
+    /**
+     * Map the object to a type with the same schema using compiled field copies (no JSON round-trip)
+     * 
+     * @param <To> The target type
+     * @param object The object
+     * @param targetType The target type
+     * @return Returns mapped object
+     */
+    public static <To> To map(Object object, Class<To> targetType){
+        return TypeMapper.map(object, targetType);
+    }
+    
+    /**
+     * Map the object to a type with the same schema using compiled field copies (no JSON round-trip)
+     * 
+     * @param <To> The target type
+     * @param object The object
+     * @param targetType The target type (may be parameterized)
+     * @return Returns mapped object
+     */
+    public static <To> To map(Object object, Type targetType){
+        return TypeMapper.map(object, targetType);
     }
 }
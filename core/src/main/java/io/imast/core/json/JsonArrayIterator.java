@@ -0,0 +1,129 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * The lazy iterator over elements of a top-level JSON array
+ *
+ * Only one element is materialized at a time, so memory stays constant
+ * regardless of the input size
+ *
+ * @author davitp
+ * @param <T> The type of element
+ */
+public class JsonArrayIterator<T> implements JsonIterator<T> {
+
+    /**
+     * The underlying JSON reader
+     */
+    private final JsonReader reader;
+
+    /**
+     * The element adapter
+     */
+    private final TypeAdapter<T> adapter;
+
+    /**
+     * The array is open indicator
+     */
+    private boolean started;
+
+    /**
+     * The array is fully consumed indicator
+     */
+    private boolean finished;
+
+    /**
+     * Creates new instance of JSON array iterator
+     *
+     * @param reader The JSON reader positioned before the array
+     * @param adapter The element adapter
+     */
+    JsonArrayIterator(JsonReader reader, TypeAdapter<T> adapter) {
+        this.reader = reader;
+        this.adapter = adapter;
+        this.started = false;
+        this.finished = false;
+    }
+
+    /**
+     * Checks if array has more elements
+     *
+     * @return Returns true if next element is available
+     */
+    @Override
+    public boolean hasNext() {
+
+        // nothing more to read
+        if(this.finished){
+            return false;
+        }
+
+        try {
+            // open the array on first access
+            if(!this.started){
+
+                // empty document or explicit null is treated as an empty array
+                if(this.reader.peek() == JsonToken.END_DOCUMENT || this.reader.peek() == JsonToken.NULL){
+                    this.finished = true;
+                    return false;
+                }
+
+                this.reader.beginArray();
+                this.started = true;
+            }
+
+            // more elements in the array
+            if(this.reader.hasNext()){
+                return true;
+            }
+
+            // close array
+            this.reader.endArray();
+            this.finished = true;
+
+            return false;
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        } catch (IllegalStateException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    /**
+     * Reads the next element
+     *
+     * @return Returns the next element
+     */
+    @Override
+    public T next() {
+
+        // check element availability
+        if(!this.hasNext()){
+            throw new NoSuchElementException();
+        }
+
+        try {
+            return this.adapter.read(this.reader);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+
+    /**
+     * Closes the underlying reader
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        this.finished = true;
+        this.reader.close();
+    }
+}
@@ -0,0 +1,25 @@
+package io.imast.core.json;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for compile-time generated (reflection-free) JSON adapter
+ * 
+ * The class should be a non-generic top-level or static nested class with an 
+ * accessible no-argument constructor. Fields are bound directly (as Gson does), 
+ * so they should be non-final and accessible from the class package, and cannot 
+ * use {@code @JsonAdapter}. Gson instances with a custom field naming or 
+ * exclusion setup (versions, {@code @Expose}, strategies) bind the class 
+ * reflectively instead.
+ * 
+ * @author davitp
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonCompiled {
+}
@@ -0,0 +1,21 @@
+package io.imast.core.json;
+
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * The factory of compile-time generated JSON adapter
+ * 
+ * Implementations are generated for {@link JsonCompiled} classes and listed as
+ * services, so {@link JsonCompiledRegistry} picks them up automatically
+ * 
+ * @author davitp
+ */
+public interface JsonCompiledFactory extends TypeAdapterFactory {
+    
+    /**
+     * Gets the type the adapter is generated for
+     * 
+     * @return Returns the target type
+     */
+    public Class<?> getType();
+}
@@ -0,0 +1,125 @@
+package io.imast.core.json;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.Excluder;
+import com.google.gson.reflect.TypeToken;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The registry of compile-time generated JSON adapters
+ * 
+ * @author davitp
+ */
+@Slf4j
+public class JsonCompiledRegistry implements TypeAdapterFactory {
+    
+    /**
+     * The shared registry instance
+     */
+    private static final JsonCompiledRegistry INSTANCE = new JsonCompiledRegistry();
+    
+    /**
+     * The factories by target type
+     */
+    private final Map<Class<?>, JsonCompiledFactory> factories;
+
+    /**
+     * Creates new instance of registry loading all generated factories
+     */
+    private JsonCompiledRegistry() {
+        this.factories = new HashMap<>();
+        
+        // the generated factories
+        var iterator = ServiceLoader.load(JsonCompiledFactory.class, JsonCompiledRegistry.class.getClassLoader()).iterator();
+        
+        // register every generated factory (stale registrations are skipped)
+        while(true){
+            try {
+                
+                if(!iterator.hasNext()){
+                    break;
+                }
+                
+                // the next factory
+                var factory = iterator.next();
+                
+                this.factories.put(factory.getType(), factory);
+            } catch (ServiceConfigurationError | LinkageError error) {
+                log.warn("Skipping compiled JSON adapter: " + error.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Gets the shared registry
+     * 
+     * @return Returns the registry
+     */
+    public static JsonCompiledRegistry get(){
+        return INSTANCE;
+    }
+    
+    /**
+     * Checks if compiled adapter is available for the type
+     * 
+     * @param type The type to check
+     * @return Returns true if available
+     */
+    public boolean has(Class<?> type){
+        return this.factories.containsKey(type);
+    }
+    
+    /**
+     * Register the compiled adapters in the builder
+     * 
+     * @param builder The builder
+     * @return Returns the builder
+     */
+    public GsonBuilder registerAll(GsonBuilder builder){
+        
+        // nothing to register
+        if(this.factories.isEmpty()){
+            return builder;
+        }
+        
+        return builder.registerTypeAdapterFactory(this);
+    }
+
+    /**
+     * Creates the compiled adapter for the type if available
+     * 
+     * Generated adapters bind with default Gson naming and exclusion rules, so
+     * Gson with custom ones gets its reflective adapter instead
+     * 
+     * @param <T> The type of object
+     * @param gson The gson instance
+     * @param type The requested type
+     * @return Returns adapter or null if not compiled
+     */
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        
+        // custom naming or exclusion (versions, expose, strategies, modifiers)
+        if(gson.fieldNamingStrategy() != FieldNamingPolicy.IDENTITY || gson.excluder() != Excluder.DEFAULT){
+            return null;
+        }
+        
+        // the factory for exact type
+        var factory = this.factories.get(type.getRawType());
+        
+        // no compiled adapter
+        if(factory == null){
+            return null;
+        }
+        
+        return factory.create(gson, type);
+    }
+}
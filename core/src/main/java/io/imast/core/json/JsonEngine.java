@@ -0,0 +1,108 @@
+package io.imast.core.json;
+
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON backend used by {@link Json}
+ * 
+ * Implementations are discovered via {@link java.util.ServiceLoader}, the one 
+ * with highest priority is used unless selected explicitly by name with 
+ * "io.imast.json.engine" system property. Engines with negative priority are 
+ * opt-in and used only when selected by name
+ * 
+ * @author davitp
+ */
+public interface JsonEngine {
+    
+    /**
+     * Gets the engine name
+     * 
+     * @return Returns the engine name
+     */
+    public String getName();
+    
+    /**
+     * Gets the engine priority (highest wins, negative is opt-in only)
+     * 
+     * @return Returns the priority
+     */
+    public int getPriority();
+    
+    /**
+     * Convert the object to JSON string
+     * 
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns serialized string
+     */
+    public String to(Object object, boolean pretty);
+    
+    /**
+     * Write the object as JSON directly into the appendable
+     * 
+     * @param object The object to serialize
+     * @param output The target output
+     * @param pretty Use pretty printing
+     */
+    public void to(Object object, Appendable output, boolean pretty);
+    
+    /**
+     * Write the object as UTF-8 JSON directly into the stream (flushed, not closed)
+     * 
+     * @param object The object to serialize
+     * @param output The target stream
+     * @param pretty Use pretty printing
+     */
+    public void to(Object object, OutputStream output, boolean pretty);
+    
+    /**
+     * Convert the object to UTF-8 JSON bytes
+     * 
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns UTF-8 encoded JSON
+     */
+    public byte[] toBytes(Object object, boolean pretty);
+    
+    /**
+     * Import JSON text in to the object
+     * 
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(String json, Type classType);
+    
+    /**
+     * Import JSON stream in to the object
+     * 
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(Reader jsonReader, Type classType);
+    
+    /**
+     * Adapt the object to the target type with exact same schema
+     * 
+     * @param <T> The target type
+     * @param object The object to adapt
+     * @param targetType The target type
+     * @return Returns adapted object
+     */
+    public <T> T adapt(Object object, Type targetType);
+    
+    /**
+     * Iterate elements of a top-level JSON array lazily
+     * 
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns closeable iterator over the array elements
+     */
+    public <T> JsonIterator<T> iterate(Reader jsonReader, Type elementType);
+}
@@ -0,0 +1,37 @@
+package io.imast.core.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The closeable lazy iterator over JSON elements
+ * 
+ * @author davitp
+ * @param <T> The type of element
+ */
+public interface JsonIterator<T> extends Iterator<T>, Closeable {
+    
+    /**
+     * Wraps the iterator into a sequential stream 
+     * 
+     * Closing the stream closes the iterator
+     * 
+     * @return Returns stream of elements
+     */
+    public default Stream<T> stream(){
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        this.close();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+}
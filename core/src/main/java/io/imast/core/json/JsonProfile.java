@@ -0,0 +1,307 @@
+package io.imast.core.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The JSON profile holding pre-built Gson engines
+ *
+ * Gson instances are immutable and thread-safe, so a profile is built once
+ * (usually at startup) and reused on every conversion
+ *
+ * @author davitp
+ */
+public class JsonProfile {
+
+    /**
+     * The pretty-printing engine (serializes nulls)
+     */
+    private final Gson pretty;
+
+    /**
+     * The compact engine (serializes nulls)
+     */
+    private final Gson compact;
+
+    /**
+     * The deserialization engine
+     */
+    private final Gson reader;
+
+    /**
+     * Creates new instance of JSON profile
+     *
+     * @param customizer The builder customizer to register custom adapters
+     */
+    private JsonProfile(Consumer<GsonBuilder> customizer){
+        this.pretty = Json.getBuilder(customizer).setPrettyPrinting().serializeNulls().create();
+        this.compact = Json.getBuilder(customizer).serializeNulls().create();
+        this.reader = Json.getBuilder(customizer).create();
+    }
+
+    /**
+     * Creates a profile with the default registrations only
+     *
+     * @return Returns new profile
+     */
+    public static JsonProfile create(){
+        return new JsonProfile(null);
+    }
+
+    /**
+     * Creates a profile with custom registrations on top of defaults
+     *
+     * @param customizer The builder customizer (register adapters, factories, etc.)
+     * @return Returns new profile
+     */
+    public static JsonProfile create(Consumer<GsonBuilder> customizer){
+        return new JsonProfile(customizer);
+    }
+
+    /**
+     * Gets the pretty-printing engine
+     *
+     * @return Returns Gson instance
+     */
+    public Gson pretty(){
+        return this.pretty;
+    }
+
+    /**
+     * Gets the compact engine
+     *
+     * @return Returns Gson instance
+     */
+    public Gson compact(){
+        return this.compact;
+    }
+
+    /**
+     * Gets the deserialization engine
+     *
+     * @return Returns Gson instance
+     */
+    public Gson reader(){
+        return this.reader;
+    }
+
+    /**
+     * Convert the object to pretty JSON string
+     *
+     * @param object The object to serialize
+     * @return Returns serialized string
+     */
+    public String to(Object object) {
+        return this.pretty.toJson(object);
+    }
+
+    /**
+     * Write the object as JSON directly into the appendable
+     *
+     * @param object The object to serialize
+     * @param output The target output
+     * @param pretty Use pretty printing
+     */
+    public void to(Object object, Appendable output, boolean pretty) {
+        (pretty ? this.pretty : this.compact).toJson(object, output);
+    }
+
+    /**
+     * Write the object as UTF-8 JSON directly into the output stream
+     *
+     * The stream is flushed but not closed
+     *
+     * @param object The object to serialize
+     * @param output The target output stream
+     * @param pretty Use pretty printing
+     */
+    public void to(Object object, OutputStream output, boolean pretty) {
+        
+        // encode characters into the stream as they are produced
+        var writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        
+        // write json
+        this.to(object, writer, pretty);
+        
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+
+    /**
+     * Convert the object to UTF-8 JSON bytes
+     *
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns UTF-8 encoded JSON
+     */
+    public byte[] toBytes(Object object, boolean pretty) {
+        
+        // the in-memory output
+        var output = new ByteArrayOutputStream();
+        
+        // write json
+        this.to(object, output, pretty);
+        
+        return output.toByteArray();
+    }
+
+    /**
+     * Import JSON text in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(String json, Class<T> classType) {
+        return this.reader.fromJson(json, classType);
+    }
+
+    /**
+     * Import JSON text in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(String json, Type classType) {
+        return this.reader.fromJson(json, classType);
+    }
+
+    /**
+     * Import JSON stream in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(Reader jsonReader, Class<T> classType) {
+        return this.reader.fromJson(jsonReader, classType);
+    }
+
+    /**
+     * Import JSON stream in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @return The object
+     */
+    public <T> T from(Reader jsonReader, Type classType) {
+        return this.reader.fromJson(jsonReader, classType);
+    }
+
+    /**
+     * Import only the selected paths of JSON text in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @param projection The selected paths
+     * @return The object
+     */
+    public <T> T from(String json, Type classType, JsonProjection projection) {
+        
+        // nothing to read
+        if(json == null){
+            return null;
+        }
+        
+        return this.from(new StringReader(json), classType, projection);
+    }
+
+    /**
+     * Import only the selected paths of JSON stream in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @param projection The selected paths
+     * @return The object
+     */
+    public <T> T from(Reader jsonReader, Type classType, JsonProjection projection) {
+        try {
+            // the pruned tree of selected paths
+            var tree = projection.read(this.reader.newJsonReader(jsonReader), this.reader.getAdapter(JsonElement.class));
+            
+            return this.reader.fromJson(tree, classType);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        } catch (IllegalStateException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    /**
+     * Adapt the object to the target type with exact same schema
+     *
+     * The object is converted through the JSON tree directly, skipping the
+     * intermediate text representation
+     *
+     * @param <T> The target type
+     * @param object The object to adapt
+     * @param targetType The target type
+     * @return Returns adapted object
+     */
+    public <T> T adapt(Object object, Type targetType) {
+        
+        // nothing to adapt
+        if(object == null){
+            return null;
+        }
+        
+        return this.reader.fromJson(this.compact.toJsonTree(object), targetType);
+    }
+
+    /**
+     * Iterate elements of a top-level JSON array lazily
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns closeable iterator over the array elements
+     */
+    @SuppressWarnings("unchecked")
+    public <T> JsonArrayIterator<T> iterate(Reader jsonReader, Type elementType) {
+        
+        // the element adapter resolved once for the whole array
+        var adapter = (TypeAdapter<T>) this.reader.getAdapter(TypeToken.get(elementType));
+        
+        return new JsonArrayIterator<>(this.reader.newJsonReader(jsonReader), adapter);
+    }
+
+    /**
+     * Stream elements of a top-level JSON array lazily
+     *
+     * Closing the stream closes the underlying reader
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns sequential stream of the array elements
+     */
+    public <T> Stream<T> stream(Reader jsonReader, Type elementType) {
+        
+        return this.<T>iterate(jsonReader, elementType).stream();
+    }
+}
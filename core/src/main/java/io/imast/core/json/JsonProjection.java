@@ -0,0 +1,168 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The set of selected JSON paths to bind
+ * 
+ * Paths are dot-separated field names (e.g. "customer.address.city"), arrays 
+ * are traversed transparently. Everything outside of selected paths is skipped 
+ * at the token level without building any objects.
+ * 
+ * @author davitp
+ */
+public class JsonProjection {
+    
+    /**
+     * The root node of selection
+     */
+    private final Node root;
+    
+    /**
+     * Creates new instance of JSON projection
+     * 
+     * @param paths The selected paths
+     */
+    private JsonProjection(Collection<String> paths) {
+        this.root = new Node();
+        
+        // build selection tree
+        for(var path : paths){
+            
+            // the current node
+            var node = this.root;
+            
+            for(var segment : path.split("\\.")){
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            
+            node.selected = true;
+        }
+    }
+    
+    /**
+     * Creates projection of the given paths
+     * 
+     * @param paths The selected paths
+     * @return Returns the projection
+     */
+    public static JsonProjection of(String... paths){
+        return new JsonProjection(Arrays.asList(paths));
+    }
+    
+    /**
+     * Creates projection of the given paths
+     * 
+     * @param paths The selected paths
+     * @return Returns the projection
+     */
+    public static JsonProjection of(Collection<String> paths){
+        return new JsonProjection(paths);
+    }
+    
+    /**
+     * Read the projected tree from the reader
+     * 
+     * @param reader The JSON reader
+     * @param elements The JSON element adapter for selected sub-trees
+     * @return Returns the pruned JSON tree
+     * @throws IOException 
+     */
+    JsonElement read(JsonReader reader, TypeAdapter<JsonElement> elements) throws IOException {
+        return this.read(reader, this.root, elements);
+    }
+    
+    /**
+     * Read the projected tree for the selection node
+     * 
+     * @param reader The JSON reader
+     * @param node The selection node
+     * @param elements The JSON element adapter for selected sub-trees
+     * @return Returns the pruned JSON tree
+     * @throws IOException 
+     */
+    private JsonElement read(JsonReader reader, Node node, TypeAdapter<JsonElement> elements) throws IOException {
+        
+        // the whole sub-tree is selected
+        if(node.selected){
+            return elements.read(reader);
+        }
+        
+        switch(reader.peek()){
+            case BEGIN_OBJECT:
+                
+                // the pruned object
+                var object = new JsonObject();
+                
+                reader.beginObject();
+                
+                while(reader.hasNext()){
+                    
+                    // the field name
+                    var name = reader.nextName();
+                    
+                    // the child selection
+                    var child = node.children.get(name);
+                    
+                    // skip not selected
+                    if(child == null){
+                        reader.skipValue();
+                        continue;
+                    }
+                    
+                    object.add(name, this.read(reader, child, elements));
+                }
+                
+                reader.endObject();
+                
+                return object;
+            case BEGIN_ARRAY:
+                
+                // the pruned array
+                var array = new JsonArray();
+                
+                reader.beginArray();
+                
+                // apply same selection to every element
+                while(reader.hasNext()){
+                    array.add(this.read(reader, node, elements));
+                }
+                
+                reader.endArray();
+                
+                return array;
+            default:
+                
+                // primitive value where object was expected
+                reader.skipValue();
+                
+                return JsonNull.INSTANCE;
+        }
+    }
+    
+    /**
+     * The selection node
+     */
+    private static class Node {
+        
+        /**
+         * The child selections by field name
+         */
+        private final Map<String, Node> children = new HashMap<>();
+        
+        /**
+         * The whole sub-tree is selected indicator
+         */
+        private boolean selected;
+    }
+}
@@ -0,0 +1,236 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The lazy view over a JSON document
+ *
+ * Nothing is parsed up-front: accessing a path scans the text skipping all the
+ * unrelated values and parses only the requested sub-tree, which is cached.
+ * Paths are dot-separated field names, array elements are addressed by index
+ * (e.g. "items.0.name").
+ *
+ * @author davitp
+ */
+public class JsonView {
+
+    /**
+     * The marker of missing path in cache
+     */
+    private static final Object MISSING = new Object();
+
+    /**
+     * The JSON profile
+     */
+    private final JsonProfile profile;
+
+    /**
+     * The JSON text
+     */
+    private final String json;
+
+    /**
+     * The parsed sub-trees by path
+     */
+    private final Map<String, Object> cache;
+
+    /**
+     * Creates new instance of JSON view
+     *
+     * @param profile The JSON profile
+     * @param json The JSON text
+     */
+    private JsonView(JsonProfile profile, String json) {
+        this.profile = profile;
+        this.json = json;
+        this.cache = new HashMap<>();
+    }
+
+    /**
+     * Creates a lazy view over JSON text with default profile
+     *
+     * @param json The JSON text
+     * @return Returns the view
+     */
+    public static JsonView of(String json){
+        return new JsonView(Json.profile(), json);
+    }
+
+    /**
+     * Creates a lazy view over JSON text
+     *
+     * @param profile The JSON profile
+     * @param json The JSON text
+     * @return Returns the view
+     */
+    public static JsonView of(JsonProfile profile, String json){
+        return new JsonView(profile, json);
+    }
+
+    /**
+     * Checks if the path exists in the document
+     *
+     * @param path The path to check
+     * @return Returns true if exists
+     */
+    public boolean has(String path){
+        return this.get(path) != null;
+    }
+
+    /**
+     * Gets the sub-tree at the path
+     *
+     * @param path The path to get
+     * @return Returns sub-tree or null if path does not exist
+     */
+    public JsonElement get(String path){
+
+        // try cached value
+        var cached = this.cache.get(path);
+
+        // parse the sub-tree
+        if(cached == null){
+
+            // the sub-tree
+            var element = this.parse(path);
+
+            cached = element == null ? MISSING : element;
+
+            this.cache.put(path, cached);
+        }
+
+        return cached == MISSING ? null : (JsonElement) cached;
+    }
+
+    /**
+     * Binds the sub-tree at the path to the given type
+     *
+     * @param <T> The target type
+     * @param path The path to get
+     * @param type The target type
+     * @return Returns bound object or null if path does not exist
+     */
+    public <T> T as(String path, Class<T> type){
+        return this.as(path, (Type) type);
+    }
+
+    /**
+     * Binds the sub-tree at the path to the given type
+     *
+     * @param <T> The target type
+     * @param path The path to get
+     * @param type The target type
+     * @return Returns bound object or null if path does not exist
+     */
+    public <T> T as(String path, Type type){
+
+        // the sub-tree
+        var element = this.get(path);
+
+        // nothing to bind
+        if(element == null){
+            return null;
+        }
+
+        return this.profile.reader().fromJson(element, type);
+    }
+
+    /**
+     * Scan the text and parse sub-tree at path
+     *
+     * @param path The path to parse
+     * @return Returns sub-tree or null if missing
+     */
+    private JsonElement parse(String path){
+
+        // the path segments
+        var segments = path.isEmpty() ? new String[0] : path.split("\\.");
+
+        try (var reader = this.profile.reader().newJsonReader(new StringReader(this.json))) {
+
+            for(var segment : segments){
+
+                // move into the segment
+                if(!this.seek(reader, segment)){
+                    return null;
+                }
+            }
+
+            return this.profile.reader().getAdapter(JsonElement.class).read(reader);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        } catch (IllegalStateException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+
+    /**
+     * Position the reader at the value of the segment
+     *
+     * @param reader The reader
+     * @param segment The field name or array index
+     * @return Returns true if found
+     * @throws IOException
+     */
+    private boolean seek(JsonReader reader, String segment) throws IOException {
+
+        // the current token
+        var token = reader.peek();
+
+        // look for field
+        if(token == JsonToken.BEGIN_OBJECT){
+
+            reader.beginObject();
+
+            while(reader.hasNext()){
+
+                // found the field
+                if(segment.equals(reader.nextName())){
+                    return true;
+                }
+
+                reader.skipValue();
+            }
+
+            return false;
+        }
+
+        // look for element by index
+        if(token == JsonToken.BEGIN_ARRAY){
+
+            // the index to look for
+            int index;
+
+            try {
+                index = Integer.parseInt(segment);
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+
+            reader.beginArray();
+
+            for(var i = 0; reader.hasNext(); i++){
+
+                // found the element
+                if(i == index){
+                    return true;
+                }
+
+                reader.skipValue();
+            }
+
+            return false;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * The newline-delimited JSON (NDJSON) reader
+ * 
+ * Records are pulled one at a time through a single parser state, so the 
+ * memory use does not depend on the input size. The parser runs in lenient 
+ * mode to accept consecutive top-level values, so relaxed syntax (unquoted 
+ * names, single quotes, comments, non-finite numbers) is accepted as well.
+ * 
+ * @author davitp
+ * @param <T> The type of record
+ */
+public class NdJsonReader<T> implements JsonIterator<T> {
+    
+    /**
+     * The underlying JSON reader
+     */
+    private final JsonReader reader;
+    
+    /**
+     * The record adapter
+     */
+    private final TypeAdapter<T> adapter;
+
+    /**
+     * Creates new instance of NDJSON reader with default profile
+     * 
+     * @param reader The source reader
+     * @param recordType The record type
+     */
+    public NdJsonReader(Reader reader, Type recordType) {
+        this(Json.profile(), reader, recordType);
+    }
+    
+    /**
+     * Creates new instance of NDJSON reader
+     * 
+     * @param profile The JSON profile
+     * @param reader The source reader
+     * @param recordType The record type
+     */
+    @SuppressWarnings("unchecked")
+    public NdJsonReader(JsonProfile profile, Reader reader, Type recordType) {
+        this.adapter = (TypeAdapter<T>) profile.reader().getAdapter(TypeToken.get(recordType));
+        this.reader = profile.reader().newJsonReader(reader);
+        this.reader.setLenient(true);
+    }
+    
+    /**
+     * Opens NDJSON reader over UTF-8 channel with default profile
+     * 
+     * @param <T> The type of record
+     * @param channel The source channel
+     * @param recordType The record type
+     * @return Returns NDJSON reader
+     */
+    public static <T> NdJsonReader<T> open(ReadableByteChannel channel, Class<T> recordType){
+        return new NdJsonReader<>(Channels.newReader(channel, StandardCharsets.UTF_8), recordType);
+    }
+
+    /**
+     * Checks if more records are available
+     * 
+     * @return Returns true if next record is available
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            return this.reader.peek() != JsonToken.END_DOCUMENT;
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+
+    /**
+     * Reads the next record
+     * 
+     * @return Returns the next record
+     */
+    @Override
+    public T next() {
+        
+        // check record availability
+        if(!this.hasNext()){
+            throw new NoSuchElementException();
+        }
+        
+        try {
+            return this.adapter.read(this.reader);
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        } catch (IllegalStateException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+    }
+    
+    /**
+     * Reads up to the given number of records into the target
+     * 
+     * @param target The target collection
+     * @param max The maximum number of records to read
+     * @return Returns number of records read, zero at the end of input
+     */
+    public int next(Collection<? super T> target, int max) {
+        
+        // records read
+        var count = 0;
+        
+        // pull until limit or end
+        while(count < max && this.hasNext()){
+            target.add(this.next());
+            count++;
+        }
+        
+        return count;
+    }
+
+    /**
+     * Closes the underlying reader
+     * 
+     * @throws IOException 
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
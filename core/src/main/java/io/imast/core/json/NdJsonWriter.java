@@ -0,0 +1,126 @@
+package io.imast.core.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The newline-delimited JSON (NDJSON) writer
+ * 
+ * Every record is written compactly followed by a newline, directly into the 
+ * target through a strict JSON writer (non-finite numbers are rejected)
+ * 
+ * @author davitp
+ * @param <T> The type of record
+ */
+public class NdJsonWriter<T> implements Closeable, Flushable {
+    
+    /**
+     * The target writer
+     */
+    private final Writer writer;
+    
+    /**
+     * The Gson instance creating record writers
+     */
+    private final Gson gson;
+    
+    /**
+     * The record adapter
+     */
+    private final TypeAdapter<T> adapter;
+
+    /**
+     * Creates new instance of NDJSON writer with default profile
+     * 
+     * @param writer The target writer
+     * @param recordType The record type
+     */
+    public NdJsonWriter(Writer writer, Type recordType) {
+        this(Json.profile(), writer, recordType);
+    }
+    
+    /**
+     * Creates new instance of NDJSON writer
+     * 
+     * @param profile The JSON profile
+     * @param writer The target writer
+     * @param recordType The record type
+     */
+    @SuppressWarnings("unchecked")
+    public NdJsonWriter(JsonProfile profile, Writer writer, Type recordType) {
+        this.writer = writer;
+        this.gson = profile.compact();
+        this.adapter = (TypeAdapter<T>) this.gson.getAdapter(TypeToken.get(recordType));
+    }
+    
+    /**
+     * Opens NDJSON writer over UTF-8 channel with default profile
+     * 
+     * @param <T> The type of record
+     * @param channel The target channel
+     * @param recordType The record type
+     * @return Returns NDJSON writer
+     */
+    public static <T> NdJsonWriter<T> open(WritableByteChannel channel, Class<T> recordType){
+        return new NdJsonWriter<>(Channels.newWriter(channel, StandardCharsets.UTF_8), recordType);
+    }
+    
+    /**
+     * Writes the record as a single line
+     * 
+     * @param record The record to write
+     */
+    public void write(T record) {
+        try {
+            // the strict writer of record (a single top-level value)
+            var json = this.gson.newJsonWriter(this.writer);
+            
+            this.adapter.write(json, record);
+            this.writer.write('\n');
+        } catch (IOException ex) {
+            throw new JsonIOException(ex);
+        }
+    }
+    
+    /**
+     * Writes all the records
+     * 
+     * @param records The records to write
+     */
+    public void writeAll(Iterable<? extends T> records) {
+        for(T record : records){
+            this.write(record);
+        }
+    }
+
+    /**
+     * Flushes the target
+     * 
+     * @throws IOException 
+     */
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    /**
+     * Flushes and closes the target
+     * 
+     * @throws IOException 
+     */
+    @Override
+    public void close() throws IOException {
+        this.writer.flush();
+        this.writer.close();
+    }
+}
@@ -0,0 +1,1102 @@
+package io.imast.core.json;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import io.imast.core.Zdt;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * The object-to-object mapper with compiled plans
+ *
+ * Maps objects between types with the same JSON schema (same rules as
+ * {@link Json#adapt(Object, Type)}: fields matched by serialized name,
+ * static and transient fields ignored), but without the serialize/parse
+ * round-trip. Each (source class, target type) pair is introspected once into
+ * a plan of method handle field copies, nested types, collections, maps and
+ * arrays are mapped recursively, and Date is converted to/from ZonedDateTime
+ * and Instant (in UTC). Anything the plan cannot express (no no-arg
+ * constructor, JDK-internal types, type variables, etc.) falls back to
+ * {@link Json#adapt(Object, Type)} for that value.
+ *
+ * @author davitp
+ */
+public class TypeMapper {
+
+    /**
+     * The compiled converters by target type and source class
+     */
+    private static final ConcurrentHashMap<Type, ConcurrentHashMap<Class<?>, Converter>> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * The lookup for handles
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * The generic getter type
+     */
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The generic setter type
+     */
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The generic constructor type
+     */
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    /**
+     * No instances
+     */
+    private TypeMapper() {
+    }
+
+    /**
+     * Map the object to the target type
+     *
+     * @param <To> The target type
+     * @param object The source object
+     * @param targetType The target type
+     * @return Returns mapped object
+     */
+    public static <To> To map(Object object, Class<To> targetType){
+        return map(object, (Type) targetType);
+    }
+
+    /**
+     * Map the object to the target type
+     *
+     * @param <To> The target type
+     * @param object The source object
+     * @param targetType The target type (may be parameterized)
+     * @return Returns mapped object
+     */
+    @SuppressWarnings("unchecked")
+    public static <To> To map(Object object, Type targetType){
+
+        // nothing to map
+        if(object == null){
+            return null;
+        }
+
+        return (To) converter(object.getClass(), targetType).convert(object);
+    }
+
+    /**
+     * Gets the compiled converter of the pair
+     *
+     * @param source The source class
+     * @param target The target type
+     * @return Returns the converter
+     */
+    private static Converter converter(Class<?> source, Type target){
+
+        // the plans of target type
+        var plans = PLANS.get(target);
+
+        if(plans == null){
+            PLANS.putIfAbsent(target, new ConcurrentHashMap<>());
+            plans = PLANS.get(target);
+        }
+
+        // the plan of pair
+        var converter = plans.get(source);
+
+        // compile once (without computeIfAbsent, compiling may recurse)
+        if(converter == null){
+            converter = compile(source, target);
+
+            var existing = plans.putIfAbsent(source, converter);
+
+            if(existing != null){
+                converter = existing;
+            }
+        }
+
+        return converter;
+    }
+
+    /**
+     * Compile the converter of the pair
+     *
+     * @param source The source class
+     * @param target The target type
+     * @return Returns the converter
+     */
+    private static Converter compile(Class<?> source, Type target){
+
+        // the fallback converter
+        Converter fallback = value -> Json.adapt(value, target);
+
+        // unresolved generic target
+        if(target instanceof TypeVariable || target instanceof WildcardType){
+            return fallback;
+        }
+
+        // the raw target type
+        var raw = wrap(TypeToken.get(target).getRawType());
+
+        // immutable values are shared
+        if(immutable(raw) && raw.isAssignableFrom(source)){
+            return value -> value;
+        }
+
+        // numbers between types
+        if(Number.class.isAssignableFrom(source) && Number.class.isAssignableFrom(raw)){
+            var number = number(source, raw);
+            return number == null ? fallback : number;
+        }
+
+        // date and time conversions
+        var time = time(source, raw);
+
+        if(time != null){
+            return time;
+        }
+
+        // enums by serialized name
+        if(raw.isEnum() && (source.isEnum() || source == String.class)){
+            return enumeration(source, raw);
+        }
+
+        // enum as string
+        if(raw == String.class && source.isEnum()){
+            var names = names(source);
+            return value -> names.get(value);
+        }
+
+        // arrays from arrays or collections
+        if(raw.isArray() && (source.isArray() || Collection.class.isAssignableFrom(source))){
+            return array(source, target, raw);
+        }
+
+        // collections from arrays or collections
+        if(Collection.class.isAssignableFrom(raw) && (source.isArray() || Collection.class.isAssignableFrom(source))){
+            var collection = collection(source, target, raw);
+            return collection == null ? fallback : collection;
+        }
+
+        // maps from maps
+        if(Map.class.isAssignableFrom(raw) && Map.class.isAssignableFrom(source)){
+            var map = dictionary(target, raw);
+            return map == null ? fallback : map;
+        }
+
+        // plain objects
+        var bean = bean(source, target, raw);
+
+        return bean == null ? fallback : bean;
+    }
+
+    /**
+     * Compile number conversion
+     *
+     * @param source The source class
+     * @param raw The target class
+     * @return Returns converter or null if not supported
+     */
+    private static Converter number(Class<?> source, Class<?> raw){
+
+        // floating point targets
+        if(raw == Double.class){
+            return value -> ((Number) value).doubleValue();
+        }
+
+        if(raw == Float.class){
+            return value -> ((Number) value).floatValue();
+        }
+
+        // integral to integral with range check as parser does
+        if(!integral(source)){
+            return null;
+        }
+
+        if(raw == Long.class){
+            return value -> ((Number) value).longValue();
+        }
+
+        if(raw == Integer.class){
+            return value -> (int) range(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        if(raw == Short.class){
+            return value -> (short) range(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+
+        if(raw == Byte.class){
+            return value -> (byte) range(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+
+        if(raw == BigInteger.class){
+            return value -> BigInteger.valueOf(((Number) value).longValue());
+        }
+
+        if(raw == BigDecimal.class){
+            return value -> BigDecimal.valueOf(((Number) value).longValue());
+        }
+
+        return null;
+    }
+
+    /**
+     * Check the integral value range
+     *
+     * @param value The value
+     * @param min The minimum
+     * @param max The maximum
+     * @return Returns the value
+     */
+    private static long range(Object value, long min, long max){
+
+        // the value
+        var number = ((Number) value).longValue();
+
+        if(number < min || number > max){
+            throw new JsonSyntaxException("Value " + number + " is out of range [" + min + ", " + max + "]");
+        }
+
+        return number;
+    }
+
+    /**
+     * Checks if type is integral number
+     *
+     * @param type The type
+     * @return Returns true if integral
+     */
+    private static boolean integral(Class<?> type){
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * Compile date and time conversions
+     *
+     * @param source The source class
+     * @param raw The target class
+     * @return Returns converter or null if not supported
+     */
+    private static Converter time(Class<?> source, Class<?> raw){
+
+        // from date
+        if(Date.class.isAssignableFrom(source)){
+
+            if(raw == ZonedDateTime.class){
+                return value -> Zdt.utc((Date) value);
+            }
+
+            if(raw == Instant.class){
+                return value -> ((Date) value).toInstant();
+            }
+
+            if(raw == Date.class){
+                return value -> new Date(((Date) value).getTime());
+            }
+        }
+
+        // to date
+        if(raw == Date.class){
+
+            if(source == ZonedDateTime.class){
+                return value -> Zdt.toDate((ZonedDateTime) value);
+            }
+
+            if(source == Instant.class){
+                return value -> Date.from((Instant) value);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compile enum conversion
+     *
+     * @param source The source class (enum or string)
+     * @param raw The target enum
+     * @return Returns the converter
+     */
+    private static Converter enumeration(Class<?> source, Class<?> raw){
+
+        // the target constants by serialized names and alternates
+        var constants = new HashMap<String, Object>();
+
+        for(var constant : raw.getEnumConstants()){
+
+            // the constant name
+            var name = ((Enum<?>) constant).name();
+
+            // the serialization name
+            var annotation = field(raw, name).getAnnotation(SerializedName.class);
+
+            if(annotation != null){
+                constants.put(annotation.value(), constant);
+
+                for(var alternate : annotation.alternate()){
+                    constants.put(alternate, constant);
+                }
+            } else {
+                constants.put(name, constant);
+            }
+        }
+
+        // from string
+        if(source == String.class){
+            return constants::get;
+        }
+
+        // the source serialized names
+        var names = names(source);
+
+        return value -> constants.get(names.get(value));
+    }
+
+    /**
+     * Gets the serialized names of enum constants
+     *
+     * @param type The enum type
+     * @return Returns the names by constant
+     */
+    private static Map<Object, String> names(Class<?> type){
+
+        // the names
+        var names = new HashMap<Object, String>();
+
+        for(var constant : type.getEnumConstants()){
+
+            // the constant name
+            var name = ((Enum<?>) constant).name();
+
+            // the serialization name
+            var annotation = field(type, name).getAnnotation(SerializedName.class);
+
+            names.put(constant, annotation != null ? annotation.value() : name);
+        }
+
+        return names;
+    }
+
+    /**
+     * Gets the declared field by name
+     *
+     * @param type The type
+     * @param name The field name
+     * @return Returns the field
+     */
+    private static Field field(Class<?> type, String name){
+        try {
+            return type.getField(name);
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Compile array conversion
+     *
+     * @param source The source class
+     * @param target The target type
+     * @param raw The target class
+     * @return Returns the converter
+     */
+    private static Converter array(Class<?> source, Type target, Class<?> raw){
+
+        // the element type
+        var elementType = target instanceof GenericArrayType ? ((GenericArrayType) target).getGenericComponentType() : raw.getComponentType();
+        var elementClass = raw.getComponentType();
+        var element = new Target(elementType);
+
+        return value -> {
+
+            // the source elements
+            var elements = elements(value);
+
+            // the target array
+            var array = Array.newInstance(elementClass, elements.size());
+
+            // the index
+            var i = 0;
+
+            for(var item : elements){
+
+                // the mapped element
+                var mapped = element.map(item);
+
+                // primitives keep default on null
+                if(mapped != null || !elementClass.isPrimitive()){
+                    Array.set(array, i, mapped);
+                }
+
+                i++;
+            }
+
+            return array;
+        };
+    }
+
+    /**
+     * Compile collection conversion
+     *
+     * @param source The source class
+     * @param target The target type
+     * @param raw The target class
+     * @return Returns converter or null if not supported
+     */
+    @SuppressWarnings("unchecked")
+    private static Converter collection(Class<?> source, Type target, Class<?> raw){
+
+        // the element type
+        var elementType = argument(target, 0);
+
+        // element type should be known
+        if(elementType == null || elementType == Object.class){
+            return null;
+        }
+
+        // the collection factory
+        var factory = collectionFactory(raw, elementType);
+
+        if(factory == null){
+            return null;
+        }
+
+        // the element target
+        var element = new Target(elementType);
+
+        return value -> {
+
+            // the target collection
+            var collection = (Collection<Object>) factory.get();
+
+            for(var item : elements(value)){
+                collection.add(element.map(item));
+            }
+
+            return collection;
+        };
+    }
+
+    /**
+     * Gets the collection factory as Gson would construct one
+     *
+     * @param raw The collection class
+     * @param elementType The element type
+     * @return Returns factory or null if not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Supplier<Object> collectionFactory(Class<?> raw, Type elementType){
+
+        // concrete collection
+        if(!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers())){
+            return constructor(raw);
+        }
+
+        // enum set
+        if(EnumSet.class.isAssignableFrom(raw)){
+
+            // the enum type
+            var enumType = TypeToken.get(elementType).getRawType();
+
+            return enumType.isEnum() ? () -> EnumSet.noneOf((Class) enumType) : null;
+        }
+
+        if(SortedSet.class.isAssignableFrom(raw)){
+            return TreeSet::new;
+        }
+
+        if(Set.class.isAssignableFrom(raw)){
+            return LinkedHashSet::new;
+        }
+
+        if(Queue.class.isAssignableFrom(raw)){
+            return ArrayDeque::new;
+        }
+
+        return ArrayList::new;
+    }
+
+    /**
+     * Compile map conversion
+     *
+     * @param target The target type
+     * @param raw The target class
+     * @return Returns converter or null if not supported
+     */
+    @SuppressWarnings("unchecked")
+    private static Converter dictionary(Type target, Class<?> raw){
+
+        // the key and value types
+        var keyType = argument(target, 0);
+        var valueType = argument(target, 1);
+
+        // types should be known
+        if(keyType == null || valueType == null || keyType == Object.class || valueType == Object.class){
+            return null;
+        }
+
+        // the map factory
+        Supplier<Object> factory;
+
+        if(!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers())){
+            factory = constructor(raw);
+        } else if(ConcurrentMap.class.isAssignableFrom(raw)){
+            factory = ConcurrentHashMap::new;
+        } else if(SortedMap.class.isAssignableFrom(raw)){
+            factory = TreeMap::new;
+        } else {
+            factory = LinkedHashMap::new;
+        }
+
+        if(factory == null){
+            return null;
+        }
+
+        // the key and value targets
+        var key = new Target(keyType);
+        var element = new Target(valueType);
+
+        return value -> {
+
+            // the target map
+            var map = (Map<Object, Object>) factory.get();
+
+            for(var entry : ((Map<?, ?>) value).entrySet()){
+                map.put(key.map(entry.getKey()), element.map(entry.getValue()));
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * Compile plain object conversion
+     *
+     * @param source The source class
+     * @param target The target type
+     * @param raw The target class
+     * @return Returns converter or null if not supported
+     */
+    private static Converter bean(Class<?> source, Type target, Class<?> raw){
+
+        // both should be plain objects
+        if(!plain(source) || !plain(raw) || Map.class.isAssignableFrom(source) || Collection.class.isAssignableFrom(source)){
+            return null;
+        }
+
+        // the target constructor
+        var constructor = constructor(raw);
+
+        if(constructor == null){
+            return null;
+        }
+
+        // the source fields by serialized name
+        var sources = new HashMap<String, Field>();
+
+        for(var field : fields(source)){
+            sources.putIfAbsent(name(field), field);
+        }
+
+        // the field copies
+        var copies = new ArrayList<Copy>();
+
+        try {
+            for(var field : fields(raw)){
+
+                // the matching source field
+                var from = sources.get(name(field));
+
+                // try alternate names
+                var annotation = field.getAnnotation(SerializedName.class);
+
+                if(from == null && annotation != null){
+                    for(var alternate : annotation.alternate()){
+                        if(from == null){
+                            from = sources.get(alternate);
+                        }
+                    }
+                }
+
+                // keep default value
+                if(from == null){
+                    continue;
+                }
+
+                // the field type
+                var type = field.getGenericType();
+
+                // unresolved generic fields
+                if(variable(type) || variable(from.getGenericType())){
+                    return null;
+                }
+
+                from.setAccessible(true);
+                field.setAccessible(true);
+
+                copies.add(new Copy(
+                        LOOKUP.unreflectGetter(from).asType(GETTER),
+                        LOOKUP.unreflectSetter(field).asType(SETTER),
+                        new Target(type),
+                        field.getType().isPrimitive(),
+                        direct(from.getType(), field.getType())));
+            }
+        } catch (IllegalAccessException | RuntimeException ex) {
+            return null;
+        }
+
+        // the plan
+        var plan = copies.toArray(new Copy[0]);
+
+        return value -> {
+
+            // the target object
+            var result = constructor.get();
+
+            for(var copy : plan){
+                copy.apply(value, result);
+            }
+
+            return result;
+        };
+    }
+
+    /**
+     * Checks if value can be copied as is
+     *
+     * @param source The source field type
+     * @param target The target field type
+     * @return Returns true if direct copy
+     */
+    private static boolean direct(Class<?> source, Class<?> target){
+
+        // same primitives or immutable assignable types
+        if(source.isPrimitive() || target.isPrimitive()){
+            return source == target;
+        }
+
+        return immutable(target) && target.isAssignableFrom(source) && (Modifier.isFinal(source.getModifiers()) || source.isEnum());
+    }
+
+    /**
+     * Checks if type is plain object (no JDK types, no interfaces)
+     *
+     * @param type The type to check
+     * @return Returns true if plain
+     */
+    private static boolean plain(Class<?> type){
+
+        // the package
+        var name = type.getName();
+
+        return !type.isInterface()
+                && !type.isArray()
+                && !type.isPrimitive()
+                && !type.isEnum()
+                && !type.isAnonymousClass()
+                && !type.isLocalClass()
+                && !Modifier.isAbstract(type.getModifiers())
+                && !name.startsWith("java.")
+                && !name.startsWith("javax.")
+                && !name.startsWith("jdk.")
+                && !name.startsWith("sun.");
+    }
+
+    /**
+     * Checks if type is immutable value
+     *
+     * @param type The type to check
+     * @return Returns true if immutable
+     */
+    private static boolean immutable(Class<?> type){
+        return type == String.class
+                || type == Boolean.class
+                || type == Character.class
+                || type == Integer.class
+                || type == Long.class
+                || type == Short.class
+                || type == Byte.class
+                || type == Double.class
+                || type == Float.class
+                || type == BigDecimal.class
+                || type == BigInteger.class
+                || type == UUID.class
+                || type.isEnum()
+                || (type.getPackageName().equals("java.time") && !type.isInterface());
+    }
+
+    /**
+     * Checks if type has type variables
+     *
+     * @param type The type
+     * @return Returns true if has variables
+     */
+    private static boolean variable(Type type){
+
+        if(type instanceof TypeVariable || type instanceof WildcardType){
+            return true;
+        }
+
+        if(type instanceof GenericArrayType){
+            return variable(((GenericArrayType) type).getGenericComponentType());
+        }
+
+        if(type instanceof ParameterizedType){
+            for(var argument : ((ParameterizedType) type).getActualTypeArguments()){
+                if(variable(argument)){
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the serializable fields as Gson sees them
+     *
+     * @param type The type
+     * @return Returns the fields (subclass first)
+     */
+    private static List<Field> fields(Class<?> type){
+
+        // the fields
+        var fields = new ArrayList<Field>();
+
+        for(var current = type; current != null && current != Object.class; current = current.getSuperclass()){
+            for(var field : current.getDeclaredFields()){
+
+                // static, transient and synthetic are not serialized
+                if(Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()){
+                    continue;
+                }
+
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Gets the serialized name of field
+     *
+     * @param field The field
+     * @return Returns the name
+     */
+    private static String name(Field field){
+
+        // the annotation
+        var annotation = field.getAnnotation(SerializedName.class);
+
+        return annotation != null ? annotation.value() : field.getName();
+    }
+
+    /**
+     * Gets the type argument
+     *
+     * @param type The parameterized type
+     * @param index The argument index
+     * @return Returns argument or null if not known
+     */
+    private static Type argument(Type type, int index){
+
+        // should be parameterized
+        if(!(type instanceof ParameterizedType)){
+            return null;
+        }
+
+        // the argument
+        var argument = ((ParameterizedType) type).getActualTypeArguments()[index];
+
+        // upper bound of wildcard
+        if(argument instanceof WildcardType){
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+
+        return variable(argument) ? null : argument;
+    }
+
+    /**
+     * Gets the elements of array or collection
+     *
+     * @param value The array or collection
+     * @return Returns the elements (not copied unless primitive array)
+     */
+    private static Collection<?> elements(Object value){
+
+        // the collection
+        if(value instanceof Collection){
+            return (Collection<?>) value;
+        }
+
+        // the object array
+        if(value instanceof Object[]){
+            return Arrays.asList((Object[]) value);
+        }
+
+        // the primitive array
+        var length = Array.getLength(value);
+        var elements = new ArrayList<Object>(length);
+
+        for(var i = 0; i < length; i++){
+            elements.add(Array.get(value, i));
+        }
+
+        return elements;
+    }
+
+    /**
+     * Gets the no-arg constructor factory
+     *
+     * @param type The type
+     * @return Returns factory or null if not available
+     */
+    private static Supplier<Object> constructor(Class<?> type){
+        try {
+            // the constructor
+            var constructor = type.getDeclaredConstructor();
+
+            constructor.setAccessible(true);
+
+            // the handle
+            var handle = LOOKUP.unreflectConstructor(constructor).asType(CONSTRUCTOR);
+
+            return () -> {
+                try {
+                    return (Object) handle.invokeExact();
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the wrapper of primitive type
+     *
+     * @param type The type
+     * @return Returns wrapper or type itself
+     */
+    private static Class<?> wrap(Class<?> type){
+
+        // not a primitive
+        if(!type.isPrimitive()){
+            return type;
+        }
+
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /**
+     * The compiled value converter
+     */
+    @FunctionalInterface
+    private interface Converter {
+
+        /**
+         * Convert the non-null value
+         *
+         * @param value The value
+         * @return Returns converted value
+         */
+        Object convert(Object value);
+    }
+
+    /**
+     * The mapping target with inline cache of the last source class
+     */
+    private static class Target {
+
+        /**
+         * The target type
+         */
+        private final Type type;
+
+        /**
+         * The last used converter
+         */
+        private volatile Cached cached;
+
+        /**
+         * Creates new instance of mapping target
+         *
+         * @param type The target type
+         */
+        Target(Type type) {
+            this.type = type;
+        }
+
+        /**
+         * Map the value to the target type
+         *
+         * @param value The value
+         * @return Returns mapped value
+         */
+        Object map(Object value) {
+
+            // nothing to map
+            if(value == null){
+                return null;
+            }
+
+            // the source class
+            var source = value.getClass();
+
+            // the last used converter
+            var current = this.cached;
+
+            // resolve on class change
+            if(current == null || current.source != source){
+                current = new Cached(source, converter(source, this.type));
+                this.cached = current;
+            }
+
+            return current.converter.convert(value);
+        }
+    }
+
+    /**
+     * The converter cached for source class
+     */
+    private static class Cached {
+
+        /**
+         * The source class
+         */
+        private final Class<?> source;
+
+        /**
+         * The converter
+         */
+        private final Converter converter;
+
+        /**
+         * Creates new instance of cached converter
+         *
+         * @param source The source class
+         * @param converter The converter
+         */
+        Cached(Class<?> source, Converter converter) {
+            this.source = source;
+            this.converter = converter;
+        }
+    }
+
+    /**
+     * The compiled field copy
+     */
+    private static class Copy {
+
+        /**
+         * The source getter
+         */
+        private final MethodHandle getter;
+
+        /**
+         * The target setter
+         */
+        private final MethodHandle setter;
+
+        /**
+         * The target field type
+         */
+        private final Target target;
+
+        /**
+         * The target is primitive
+         */
+        private final boolean primitive;
+
+        /**
+         * The value is copied as is
+         */
+        private final boolean direct;
+
+        /**
+         * Creates new instance of field copy
+         *
+         * @param getter The source getter
+         * @param setter The target setter
+         * @param target The target field type
+         * @param primitive The target is primitive
+         * @param direct The value is copied as is
+         */
+        Copy(MethodHandle getter, MethodHandle setter, Target target, boolean primitive, boolean direct) {
+            this.getter = getter;
+            this.setter = setter;
+            this.target = target;
+            this.primitive = primitive;
+            this.direct = direct;
+        }
+
+        /**
+         * Copy the field
+         *
+         * @param source The source object
+         * @param target The target object
+         */
+        void apply(Object source, Object target) {
+            try {
+                // the source value
+                var value = (Object) this.getter.invokeExact(source);
+
+                // map unless copied as is
+                if(!this.direct && value != null){
+                    value = this.target.map(value);
+                }
+
+                // primitives keep default on null
+                if(value == null && this.primitive){
+                    return;
+                }
+
+                this.setter.invokeExact(target, value);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package io.imast.core.json.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * The annotation processor generating reflection-free Gson adapters for
+ * classes marked with {@link io.imast.core.json.JsonCompiled}
+ *
+ * For each class a {@code <Name>JsonAdapter} factory is generated in the same
+ * package and listed in META-INF/services, so the adapters are registered by
+ * {@link io.imast.core.json.JsonCompiledRegistry} without configuration
+ *
+ * @author davitp
+ */
+public class JsonCompiledProcessor extends AbstractProcessor {
+
+    /**
+     * The annotation type name
+     */
+    private static final String ANNOTATION = "io.imast.core.json.JsonCompiled";
+
+    /**
+     * The Gson serialized name annotation
+     */
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    /**
+     * The Gson adapter annotation
+     */
+    private static final String JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+
+    /**
+     * The factory service name
+     */
+    private static final String SERVICE = "io.imast.core.json.JsonCompiledFactory";
+
+    /**
+     * The generated factories (binary names)
+     */
+    private final Set<String> generated = new LinkedHashSet<>();
+
+    /**
+     * Gets the supported annotation types
+     *
+     * @return Returns supported annotations
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(ANNOTATION);
+    }
+
+    /**
+     * Gets the supported source version
+     *
+     * @return Returns the latest supported version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Process the annotated classes
+     *
+     * @param annotations The annotations
+     * @param roundEnv The round environment
+     * @return Returns false to let other processors see annotations
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        // write service registrations at the end
+        if(roundEnv.processingOver()){
+            this.writeServices();
+            return false;
+        }
+
+        // the annotation element
+        var annotation = this.processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+
+        // nothing to process
+        if(annotation == null){
+            return false;
+        }
+
+        // generate adapter for each annotated class
+        for(var element : roundEnv.getElementsAnnotatedWith(annotation)){
+
+            // only classes are supported
+            if(element.getKind() != ElementKind.CLASS){
+                this.error(element, "@JsonCompiled is supported on classes only");
+                continue;
+            }
+
+            try {
+                this.generate((TypeElement) element);
+            } catch (IOException ex) {
+                this.error(element, "Could not generate JSON adapter: " + ex.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Generate the adapter factory for the type
+     *
+     * @param type The target type
+     * @throws IOException
+     */
+    private void generate(TypeElement type) throws IOException {
+
+        // the package of type
+        var pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+
+        // validate the type shape
+        if(!this.validate(type, pkg)){
+            return;
+        }
+
+        // collect bound properties
+        var properties = this.collect(type, pkg);
+
+        // something is not accessible
+        if(properties == null){
+            return;
+        }
+
+        // the generated class name
+        var packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        var simpleName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        simpleName = (packageName.isEmpty() ? simpleName : simpleName.substring(packageName.length() + 1)).replace('$', '_') + "JsonAdapter";
+        var qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        // the source code
+        var source = new SourceBuilder(packageName, simpleName, type.getQualifiedName().toString(), properties).build();
+
+        // write the source
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source);
+        }
+
+        this.generated.add(qualifiedName);
+    }
+
+    /**
+     * Validate the type can have a generated adapter
+     *
+     * @param type The target type
+     * @param pkg The package of type
+     * @return Returns true if valid
+     */
+    private boolean validate(TypeElement type, PackageElement pkg) {
+
+        // generic types are bound reflectively
+        if(!type.getTypeParameters().isEmpty()){
+            this.error(type, "@JsonCompiled does not support generic classes");
+            return false;
+        }
+
+        // the annotated adapter would be shadowed by the generated one
+        if(this.annotation(type, JSON_ADAPTER) != null){
+            this.error(type, "@JsonCompiled cannot be combined with @JsonAdapter");
+            return false;
+        }
+
+        // abstract classes cannot be instantiated
+        if(type.getModifiers().contains(Modifier.ABSTRACT)){
+            this.error(type, "@JsonCompiled does not support abstract classes");
+            return false;
+        }
+
+        // inner classes need enclosing instance
+        if(type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC)){
+            this.error(type, "@JsonCompiled nested classes should be static");
+            return false;
+        }
+
+        // the class (and its enclosing classes) should be visible from package
+        for(Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()){
+            if(current.getModifiers().contains(Modifier.PRIVATE)){
+                this.error(type, "@JsonCompiled class should not be private");
+                return false;
+            }
+        }
+
+        // look for accessible no-arg constructor
+        for(var constructor : ElementFilter.constructorsIn(type.getEnclosedElements())){
+            if(constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)){
+                return true;
+            }
+        }
+
+        this.error(type, "@JsonCompiled class should have a non-private no-argument constructor");
+
+        return false;
+    }
+
+    /**
+     * Collect the bound properties in Gson order (class fields first, then super classes)
+     *
+     * @param type The target type
+     * @param pkg The package of generated adapter
+     * @return Returns properties or null if some are not supported
+     */
+    private List<Property> collect(TypeElement type, PackageElement pkg) {
+
+        // the properties by serialized name
+        Map<String, Property> properties = new LinkedHashMap<>();
+
+        // all the names read (serialized names and alternates)
+        Set<String> names = new HashSet<>();
+
+        // the target type (inherited members are resolved as its members)
+        var target = (DeclaredType) type.asType();
+
+        // the current class in hierarchy
+        var current = type;
+
+        // all valid indicator
+        var valid = true;
+
+        while(current != null && !current.getQualifiedName().contentEquals("java.lang.Object")){
+
+            // same package members are accessible
+            var samePackage = this.processingEnv.getElementUtils().getPackageOf(current).equals(pkg);
+
+            for(var field : ElementFilter.fieldsIn(current.getEnclosedElements())){
+
+                // skip fields excluded by Gson
+                if(field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)){
+                    continue;
+                }
+
+                // resolve property
+                var property = this.resolve(target, field, samePackage);
+
+                // not supported
+                if(property == null){
+                    valid = false;
+                    continue;
+                }
+
+                // duplicate name (Gson rejects these at runtime, the generated switch would not compile)
+                var duplicate = !names.add(property.name) ? property.name : null;
+
+                for(var alternate : property.alternates){
+                    if(!names.add(alternate) && duplicate == null){
+                        duplicate = alternate;
+                    }
+                }
+
+                if(duplicate != null){
+                    this.error(field, "Duplicate JSON field name '" + duplicate + "'");
+                    valid = false;
+                    continue;
+                }
+
+                properties.put(property.name, property);
+            }
+
+            // move to super class
+            var superType = current.getSuperclass();
+            current = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+        }
+
+        return valid ? new ArrayList<>(properties.values()) : null;
+    }
+
+    /**
+     * Resolve the property of field
+     *
+     * Same as Gson reflective binding, fields are read and written directly
+     *
+     * @param target The target type
+     * @param field The field
+     * @param samePackage The declaring class is in adapter package
+     * @return Returns property or null if not supported
+     */
+    private Property resolve(DeclaredType target, VariableElement field, boolean samePackage) {
+
+        // the field name
+        var fieldName = field.getSimpleName().toString();
+
+        // the field-level adapter is not applied by generated code
+        if(this.annotation(field, JSON_ADAPTER) != null){
+            this.error(field, "Field '" + fieldName + "' of @JsonCompiled class should not use @JsonAdapter");
+            return null;
+        }
+
+        // field visibility
+        var modifiers = field.getModifiers();
+        var visible = modifiers.contains(Modifier.PUBLIC) || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+
+        // fields are accessed directly
+        if(!visible || modifiers.contains(Modifier.FINAL)){
+            this.error(field, "Field '" + fieldName + "' of @JsonCompiled class should be non-final and accessible from package");
+            return null;
+        }
+
+        // the property (inherited type variables are bound by target, e.g. T of Base<String> is String)
+        var property = new Property();
+        property.type = this.processingEnv.getTypeUtils().asMemberOf(target, field);
+        property.name = fieldName;
+        property.field = fieldName;
+        property.alternates = new ArrayList<>();
+
+        // apply serialized name
+        var serializedName = this.annotation(field, SERIALIZED_NAME);
+
+        if(serializedName != null){
+            for(var entry : serializedName.getElementValues().entrySet()){
+
+                // the attribute name
+                var attribute = entry.getKey().getSimpleName().toString();
+
+                if("value".equals(attribute)){
+                    property.name = (String) entry.getValue().getValue();
+                }
+
+                if("alternate".equals(attribute)){
+                    for(var alternate : (List<?>) entry.getValue().getValue()){
+                        property.alternates.add((String) ((AnnotationValue) alternate).getValue());
+                    }
+                }
+            }
+        }
+
+        return property;
+    }
+
+    /**
+     * Gets the annotation of element by type name
+     *
+     * @param element The annotated element
+     * @param name The annotation type name
+     * @return Returns the annotation or null if not present
+     */
+    private AnnotationMirror annotation(Element element, String name) {
+
+        for(AnnotationMirror mirror : element.getAnnotationMirrors()){
+            if(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)){
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Write service registrations for generated factories
+     *
+     * The registrations of previous (incremental) compilations are kept
+     */
+    private void writeServices() {
+
+        // nothing generated
+        if(this.generated.isEmpty()){
+            return;
+        }
+
+        // the resource path
+        var path = "META-INF/services/" + SERVICE;
+
+        // the existing registrations first
+        var names = new LinkedHashSet<String>(this.readServices(path));
+        names.addAll(this.generated);
+
+        try (Writer writer = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path).openWriter()) {
+            for(var name : names){
+                writer.write(name);
+                writer.write("\n");
+            }
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write JSON adapter services: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Read the registrations of existing service resource
+     *
+     * @param path The resource path
+     * @return Returns the registered names or empty if no resource
+     */
+    private List<String> readServices(String path) {
+
+        // the registered names
+        var names = new ArrayList<String>();
+
+        try (var reader = new BufferedReader(this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path).openReader(true))) {
+
+            for(var line = reader.readLine(); line != null; line = reader.readLine()){
+
+                // drop comments and blanks
+                var comment = line.indexOf('#');
+                var name = (comment < 0 ? line : line.substring(0, comment)).trim();
+
+                if(!name.isEmpty()){
+                    names.add(name);
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // no resource yet
+        }
+
+        return names;
+    }
+
+    /**
+     * Report an error on element
+     *
+     * @param element The element
+     * @param message The message
+     */
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * The bound property
+     */
+    static class Property {
+
+        /**
+         * The JSON name
+         */
+        String name;
+
+        /**
+         * The alternate JSON names
+         */
+        List<String> alternates;
+
+        /**
+         * The property type
+         */
+        TypeMirror type;
+
+        /**
+         * The field name
+         */
+        String field;
+    }
+}
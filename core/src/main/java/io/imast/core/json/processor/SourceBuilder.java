@@ -0,0 +1,413 @@
+package io.imast.core.json.processor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+
+/**
+ * The source builder of generated JSON adapter
+ *
+ * @author davitp
+ */
+class SourceBuilder {
+
+    /**
+     * The package name
+     */
+    private final String packageName;
+
+    /**
+     * The generated class simple name
+     */
+    private final String className;
+
+    /**
+     * The target type canonical name
+     */
+    private final String targetName;
+
+    /**
+     * The bound properties
+     */
+    private final List<JsonCompiledProcessor.Property> properties;
+
+    /**
+     * The source code
+     */
+    private final StringBuilder source;
+
+    /**
+     * Creates new instance of source builder
+     *
+     * @param packageName The package name
+     * @param className The generated class simple name
+     * @param targetName The target type canonical name
+     * @param properties The bound properties
+     */
+    SourceBuilder(String packageName, String className, String targetName, List<JsonCompiledProcessor.Property> properties) {
+        this.packageName = packageName;
+        this.className = className;
+        this.targetName = targetName;
+        this.properties = properties;
+        this.source = new StringBuilder();
+    }
+
+    /**
+     * Build the source code
+     *
+     * @return Returns the source code
+     */
+    String build() {
+
+        // package
+        if(!this.packageName.isEmpty()){
+            this.line(0, "package " + this.packageName + ";").line(0, "");
+        }
+
+        // class header
+        this.line(0, "/**")
+            .line(0, " * The generated JSON adapter for {@link " + this.targetName + "}")
+            .line(0, " */")
+            .line(0, "@javax.annotation.processing.Generated(\"" + JsonCompiledProcessor.class.getName() + "\")")
+            .line(0, "public final class " + this.className + " implements io.imast.core.json.JsonCompiledFactory {")
+            .line(0, "");
+
+        // the target type
+        this.line(1, "@Override")
+            .line(1, "public Class<?> getType() {")
+            .line(2, "return " + this.targetName + ".class;")
+            .line(1, "}")
+            .line(0, "");
+
+        // the factory method
+        this.line(1, "@Override")
+            .line(1, "@SuppressWarnings(\"unchecked\")")
+            .line(1, "public <T> com.google.gson.TypeAdapter<T> create(com.google.gson.Gson gson, com.google.gson.reflect.TypeToken<T> type) {")
+            .line(2, "if (type.getRawType() != " + this.targetName + ".class) {")
+            .line(3, "return null;")
+            .line(2, "}")
+            .line(2, "return (com.google.gson.TypeAdapter<T>) new Adapter(gson);")
+            .line(1, "}")
+            .line(0, "");
+
+        // the adapter
+        this.line(1, "private static final class Adapter extends com.google.gson.TypeAdapter<" + this.targetName + "> {")
+            .line(0, "")
+            .line(2, "private final com.google.gson.Gson gson;")
+            .line(0, "");
+
+        // lazily resolved delegate adapters
+        for(var i = 0; i < this.properties.size(); i++){
+            var property = this.properties.get(i);
+
+            if(this.delegated(property.type)){
+                var type = this.render(property.type);
+                this.line(2, "private com.google.gson.TypeAdapter<" + type + "> adapter" + i + ";")
+                    .line(0, "");
+            }
+        }
+
+        this.line(2, "Adapter(com.google.gson.Gson gson) {")
+            .line(3, "this.gson = gson;")
+            .line(2, "}")
+            .line(0, "");
+
+        for(var i = 0; i < this.properties.size(); i++){
+            var property = this.properties.get(i);
+
+            if(this.delegated(property.type)){
+                var type = this.render(property.type);
+                this.line(2, "private com.google.gson.TypeAdapter<" + type + "> adapter" + i + "() {")
+                    .line(3, "if (this.adapter" + i + " == null) {")
+                    .line(4, "this.adapter" + i + " = this.gson.getAdapter(new com.google.gson.reflect.TypeToken<" + type + ">() {});")
+                    .line(3, "}")
+                    .line(3, "return this.adapter" + i + ";")
+                    .line(2, "}")
+                    .line(0, "");
+            }
+        }
+
+        this.writeMethod();
+        this.readMethod();
+        this.readCharMethod();
+
+        this.line(1, "}")
+            .line(0, "}");
+
+        return this.source.toString();
+    }
+
+    /**
+     * Build the write method
+     */
+    private void writeMethod() {
+        this.line(2, "@Override")
+            .line(2, "public void write(com.google.gson.stream.JsonWriter out, " + this.targetName + " value) throws java.io.IOException {")
+            .line(3, "if (value == null) {")
+            .line(4, "out.nullValue();")
+            .line(4, "return;")
+            .line(3, "}")
+            .line(3, "out.beginObject();");
+
+        for(var i = 0; i < this.properties.size(); i++){
+            var property = this.properties.get(i);
+            var field = "value." + property.field;
+
+            this.line(3, "out.name(" + this.literal(property.name) + ");");
+
+            switch(property.type.getKind()){
+                case BOOLEAN:
+                case INT:
+                case LONG:
+                case SHORT:
+                case BYTE:
+                case DOUBLE:
+                    this.line(3, "out.value(" + field + ");");
+                    break;
+                case FLOAT:
+                    this.line(3, "out.value(Float.valueOf(" + field + "));");
+                    break;
+                case CHAR:
+                    this.line(3, "out.value(String.valueOf(" + field + "));");
+                    break;
+                default:
+                    this.line(3, "{")
+                        .line(4, "var v = " + field + ";")
+                        .line(4, "if (v == null) {")
+                        .line(5, "out.nullValue();")
+                        .line(4, "} else {")
+                        .line(5, this.isString(property.type) ? "out.value(v);" : "this.adapter" + i + "().write(out, v);")
+                        .line(4, "}")
+                        .line(3, "}");
+            }
+        }
+
+        this.line(3, "out.endObject();")
+            .line(2, "}")
+            .line(0, "");
+    }
+
+    /**
+     * Build the read method
+     */
+    private void readMethod() {
+        this.line(2, "@Override")
+            .line(2, "public " + this.targetName + " read(com.google.gson.stream.JsonReader in) throws java.io.IOException {")
+            .line(3, "if (in.peek() == com.google.gson.stream.JsonToken.NULL) {")
+            .line(4, "in.nextNull();")
+            .line(4, "return null;")
+            .line(3, "}")
+            .line(3, "var value = new " + this.targetName + "();")
+            .line(3, "in.beginObject();")
+            .line(3, "while (in.hasNext()) {")
+            .line(4, "switch (in.nextName()) {");
+
+        for(var i = 0; i < this.properties.size(); i++){
+            var property = this.properties.get(i);
+
+            // all names of property
+            this.line(5, "case " + this.literal(property.name) + ":");
+            for(var alternate : property.alternates){
+                this.line(5, "case " + this.literal(alternate) + ":");
+            }
+
+            // primitives keep default value on JSON null
+            if(property.type.getKind().isPrimitive()){
+                this.line(6, "if (in.peek() == com.google.gson.stream.JsonToken.NULL) {")
+                    .line(7, "in.nextNull();")
+                    .line(6, "} else {")
+                    .line(7, this.assign(property, this.readPrimitive(property.type.getKind())))
+                    .line(6, "}");
+            } else if(this.isString(property.type)){
+                this.line(6, "if (in.peek() == com.google.gson.stream.JsonToken.NULL) {")
+                    .line(7, "in.nextNull();")
+                    .line(7, this.assign(property, "null"))
+                    .line(6, "} else if (in.peek() == com.google.gson.stream.JsonToken.BOOLEAN) {")
+                    .line(7, this.assign(property, "Boolean.toString(in.nextBoolean())"))
+                    .line(6, "} else {")
+                    .line(7, this.assign(property, "in.nextString()"))
+                    .line(6, "}");
+            } else {
+                this.line(6, this.assign(property, "this.adapter" + i + "().read(in)"));
+            }
+
+            this.line(6, "break;");
+        }
+
+        this.line(5, "default:")
+            .line(6, "in.skipValue();")
+            .line(4, "}")
+            .line(3, "}")
+            .line(3, "in.endObject();")
+            .line(3, "return value;")
+            .line(2, "}");
+    }
+
+    /**
+     * Build the char read method (if any char property)
+     */
+    private void readCharMethod() {
+
+        // no char properties
+        if(this.properties.stream().noneMatch(property -> property.type.getKind() == TypeKind.CHAR)){
+            return;
+        }
+
+        // same as Gson character adapter
+        this.line(0, "")
+            .line(2, "private static char readChar(com.google.gson.stream.JsonReader in) throws java.io.IOException {")
+            .line(3, "var text = in.nextString();")
+            .line(3, "if (text.length() != 1) {")
+            .line(4, "throw new com.google.gson.JsonSyntaxException(\"Expecting character, got: \" + text);")
+            .line(3, "}")
+            .line(3, "return text.charAt(0);")
+            .line(2, "}");
+    }
+
+    /**
+     * Gets the read expression for primitive
+     *
+     * @param kind The primitive kind
+     * @return Returns the read expression
+     */
+    private String readPrimitive(TypeKind kind) {
+        switch(kind){
+            case BOOLEAN:
+                return "in.peek() == com.google.gson.stream.JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean()";
+            case INT:
+                return "in.nextInt()";
+            case LONG:
+                return "in.nextLong()";
+            case SHORT:
+                return "(short) in.nextInt()";
+            case BYTE:
+                return "(byte) in.nextInt()";
+            case DOUBLE:
+                return "in.nextDouble()";
+            case FLOAT:
+                return "(float) in.nextDouble()";
+            case CHAR:
+                return "readChar(in)";
+            default:
+                throw new IllegalArgumentException("Unsupported primitive " + kind);
+        }
+    }
+
+    /**
+     * Gets the assignment statement for property
+     *
+     * @param property The property
+     * @param expression The value expression
+     * @return Returns the statement
+     */
+    private String assign(JsonCompiledProcessor.Property property, String expression) {
+        return "value." + property.field + " = " + expression + ";";
+    }
+
+    /**
+     * Checks if type is handled by delegate adapter
+     *
+     * @param type The type to check
+     * @return Returns true if delegated
+     */
+    private boolean delegated(TypeMirror type) {
+        return !type.getKind().isPrimitive() && !this.isString(type);
+    }
+
+    /**
+     * Checks if type is string
+     *
+     * @param type The type to check
+     * @return Returns true if string
+     */
+    private boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.lang.String");
+    }
+
+    /**
+     * Render the type without type-use annotations
+     *
+     * @param type The type to render
+     * @return Returns source form of type
+     */
+    private String render(TypeMirror type) {
+        switch(type.getKind()){
+            case DECLARED:
+                var declared = (DeclaredType) type;
+                var name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+
+                // raw or non-generic type
+                if(declared.getTypeArguments().isEmpty()){
+                    return name;
+                }
+
+                return name + declared.getTypeArguments().stream().map(this::render).collect(Collectors.joining(", ", "<", ">"));
+            case ARRAY:
+                return this.render(((ArrayType) type).getComponentType()) + "[]";
+            case WILDCARD:
+                var wildcard = (WildcardType) type;
+
+                if(wildcard.getExtendsBound() != null){
+                    return "? extends " + this.render(wildcard.getExtendsBound());
+                }
+
+                if(wildcard.getSuperBound() != null){
+                    return "? super " + this.render(wildcard.getSuperBound());
+                }
+
+                return "?";
+            default:
+                return type.getKind().isPrimitive() ? type.getKind().name().toLowerCase() : type.toString();
+        }
+    }
+
+    /**
+     * Gets the Java string literal
+     *
+     * @param value The value
+     * @return Returns the literal
+     */
+    private String literal(String value) {
+
+        // the literal builder
+        var builder = new StringBuilder("\"");
+
+        for(var i = 0; i < value.length(); i++){
+            var c = value.charAt(i);
+
+            if(c == '"' || c == '\\'){
+                builder.append('\\').append(c);
+            } else if(c < 0x20 || c > 0x7e){
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Append a line with indentation
+     *
+     * @param indent The indentation level
+     * @param text The line text
+     * @return Returns the builder
+     */
+    private SourceBuilder line(int indent, String text) {
+
+        // indentation
+        for(var i = 0; i < indent; i++){
+            this.source.append("    ");
+        }
+
+        this.source.append(text).append('\n');
+
+        return this;
+    }
+}
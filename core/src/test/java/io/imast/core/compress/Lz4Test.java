@@ -0,0 +1,171 @@
+package io.imast.core.compress;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The LZ4 block format tests
+ *
+ * The vectors in resources are produced by liblz4 1.9.4 (LZ4_compress_default,
+ * and LZ4_compress_HC at level 12 for "text-hc"): {@code <name>.lz4} is the
+ * block and {@code <name>.bin} is the expected plaintext
+ *
+ * @author davitp
+ */
+public class Lz4Test {
+
+    /**
+     * The reference vector names
+     */
+    private static final List<String> VECTORS = List.of("empty", "single", "literals", "overlap", "run", "pattern", "random", "text", "text-hc", "bytes");
+
+    /**
+     * Read the vector resource
+     *
+     * @param name The vector name
+     * @param extension The file extension
+     * @return Returns the resource bytes
+     */
+    private static byte[] vector(String name, String extension) {
+
+        try (var stream = Lz4Test.class.getResourceAsStream("lz4/" + name + extension)) {
+
+            if(stream == null){
+                throw new IllegalStateException("Missing LZ4 vector " + name + extension);
+            }
+
+            return stream.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Test
+    void referenceBlocksAreDecoded() {
+
+        for(var name : VECTORS){
+
+            // the reference block and plaintext
+            var block = vector(name, ".lz4");
+            var plain = vector(name, ".bin");
+
+            assertArrayEquals(plain, Lz4.decompress(block, plain.length), name);
+        }
+    }
+
+    @Test
+    void referenceBlocksAreDecodedFromDirectBuffers() {
+
+        for(var name : VECTORS){
+
+            // the reference block and plaintext
+            var block = vector(name, ".lz4");
+            var plain = vector(name, ".bin");
+
+            // the direct buffers
+            var src = ByteBuffer.allocateDirect(block.length).put(block).flip();
+            var dst = ByteBuffer.allocateDirect(plain.length);
+
+            assertEquals(plain.length, Lz4.decompress(src, dst), name);
+
+            // the decoded bytes
+            var decoded = new byte[plain.length];
+            dst.flip().get(decoded);
+
+            assertArrayEquals(plain, decoded, name);
+        }
+    }
+
+    @Test
+    void compressedBlocksRoundTrip() {
+
+        for(var name : VECTORS){
+
+            // the plaintext
+            var plain = vector(name, ".bin");
+            var block = Lz4.compress(plain);
+
+            assertTrue(block.length <= Lz4.maxCompressedLength(plain.length), name);
+            assertArrayEquals(plain, Lz4.decompress(block, plain.length), name);
+        }
+    }
+
+    @Test
+    void codecRoundTrip() {
+
+        // the codec
+        var codec = new Lz4Codec();
+
+        for(var name : VECTORS){
+
+            // the plaintext
+            var plain = vector(name, ".bin");
+            var encoded = codec.encode(plain, 0, plain.length);
+
+            assertArrayEquals(plain, codec.decode(encoded, 0, encoded.length), name);
+        }
+    }
+
+    @Test
+    void truncatedBlocksAreRejected() {
+
+        // the reference block
+        var block = vector("text", ".lz4");
+        var plain = vector("text", ".bin");
+
+        for(var length : new int[] { 1, block.length / 2, block.length - 1 }){
+
+            // the truncated block
+            var truncated = Arrays.copyOf(block, length);
+
+            assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(truncated, plain.length));
+        }
+    }
+
+    @Test
+    void undersizedDestinationIsRejected() {
+
+        // the reference block
+        var block = vector("run", ".lz4");
+
+        assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(block, 100));
+    }
+
+    @Test
+    void overflowingLengthsAreRejected() {
+
+        // the literal length summing past int range
+        var literals = new byte[9_000_000];
+        literals[0] = (byte) 0xF0;
+        Arrays.fill(literals, 1, literals.length - 1, (byte) 0xFF);
+
+        assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(literals, 0, literals.length, new byte[16], 0, 16));
+
+        // the match length summing past int range
+        var match = new byte[9_000_000];
+        match[0] = (byte) 0x1F;
+        match[1] = 'x';
+        match[2] = 1;
+        Arrays.fill(match, 4, match.length - 1, (byte) 0xFF);
+
+        assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(match, 0, match.length, new byte[16], 0, 16));
+    }
+
+    @Test
+    void codecLengthBeyondBlockIsRejected() {
+
+        // the varint length of Integer.MAX_VALUE before a 1 byte block
+        var payload = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x10 };
+
+        assertThrows(IllegalArgumentException.class, () -> new Lz4Codec().decode(payload, 0, payload.length));
+    }
+}
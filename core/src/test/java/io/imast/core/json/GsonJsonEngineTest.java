@@ -0,0 +1,19 @@
+package io.imast.core.json;
+
+/**
+ * The conformance of default Gson engine
+ *
+ * @author davitp
+ */
+public class GsonJsonEngineTest extends JsonEngineConformance {
+
+    /**
+     * Gets the engine under test
+     *
+     * @return Returns the Gson engine
+     */
+    @Override
+    protected JsonEngine engine() {
+        return new GsonJsonEngine();
+    }
+}
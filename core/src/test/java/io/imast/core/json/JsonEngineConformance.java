@@ -0,0 +1,377 @@
+package io.imast.core.json;
+
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The conformance suite every JSON engine should pass
+ *
+ * Engine modules extend the suite and provide the engine under test, so all
+ * engines are held to the same behavior of the default Gson engine
+ *
+ * @author davitp
+ */
+public abstract class JsonEngineConformance {
+
+    /**
+     * Gets the engine under test
+     *
+     * @return Returns the engine
+     */
+    protected abstract JsonEngine engine();
+
+    /**
+     * Write compact and read back
+     *
+     * @param <T> The type of value
+     * @param value The value
+     * @param type The type of value
+     * @return Returns the value read back
+     */
+    private <T> T roundTrip(T value, Type type) {
+        return this.engine().from(this.engine().to(value, false), type);
+    }
+
+    @Test
+    void nullValuesAreWrittenAndRead() {
+
+        // the sample with nulls only
+        var sample = new Sample();
+        var json = this.engine().to(sample, false);
+
+        assertTrue(json.contains("\"name\":null"), json);
+        assertTrue(json.contains("\"count\":null"), json);
+
+        // read back
+        var copy = this.roundTrip(sample, Sample.class);
+
+        assertNull(copy.name);
+        assertNull(copy.count);
+        assertNull(copy.tags);
+        assertNull(copy.timeout);
+        assertNull(copy.byKey);
+    }
+
+    @Test
+    void nullDocumentsAreNull() {
+        assertEquals("null", this.engine().to(null, false));
+        assertNull(this.engine().from((String) null, Sample.class));
+        assertNull(this.engine().from("null", Sample.class));
+        assertNull(this.engine().adapt(null, Sample.class));
+    }
+
+    @Test
+    void explicitNullsAndMissingFieldsAreNull() {
+
+        // the sample
+        Sample sample = this.engine().from("{\"name\":null,\"tags\":null}", Sample.class);
+
+        assertNull(sample.name);
+        assertNull(sample.tags);
+        assertNull(sample.count);
+    }
+
+    @Test
+    void datesUseProfileFormat() {
+
+        // the date at second precision (the format has no millis)
+        var date = Date.from(Instant.parse("2021-03-01T10:15:30Z"));
+        var sample = new Sample();
+
+        sample.created = date;
+
+        assertEquals(date, this.roundTrip(sample, Sample.class).created);
+
+        // the text form of profile
+        Sample parsed = this.engine().from("{\"created\":\"2021-03-01T12:15:30+0200\"}", Sample.class);
+
+        assertEquals(date, parsed.created);
+    }
+
+    @Test
+    void javaTimeValuesRoundTrip() {
+
+        // the sample with java.time values
+        var sample = new Sample();
+
+        sample.zoned = ZonedDateTime.of(2021, 3, 1, 10, 15, 30, 0, ZoneId.of("Europe/Paris"));
+        sample.day = LocalDate.of(2021, 3, 1);
+        sample.instant = Instant.parse("2021-03-01T10:15:30.125Z");
+
+        // read back
+        var copy = this.roundTrip(sample, Sample.class);
+
+        assertEquals(sample.zoned.toInstant(), copy.zoned.toInstant());
+        assertEquals(sample.day, copy.day);
+        assertEquals(sample.instant, copy.instant);
+
+        // the ISO-8601 text
+        Sample parsed = this.engine().from("{\"day\":\"2021-03-01\",\"instant\":\"2021-03-01T10:15:30.125Z\"}", Sample.class);
+
+        assertEquals(sample.day, parsed.day);
+        assertEquals(sample.instant, parsed.instant);
+    }
+
+    @Test
+    void durationsAreIsoText() {
+
+        // the sample with duration
+        var sample = new Sample();
+
+        sample.timeout = Duration.ofMinutes(90);
+
+        // the text form
+        var json = this.engine().to(sample, false);
+
+        assertTrue(json.contains("\"timeout\":\"PT1H30M\""), json);
+        assertEquals(sample.timeout, this.roundTrip(sample, Sample.class).timeout);
+    }
+
+    @Test
+    void durationsAreReadFromSecondsAndNanos() {
+
+        // the legacy object form
+        Sample sample = this.engine().from("{\"timeout\":{\"seconds\":5400,\"nanos\":500}}", Sample.class);
+
+        assertEquals(Duration.ofSeconds(5400, 500), sample.timeout);
+    }
+
+    @Test
+    void serializedNamesAreUsed() {
+
+        // the sample with renamed field
+        var sample = new Sample();
+
+        sample.displayName = "John";
+
+        // the text form
+        var json = this.engine().to(sample, false);
+
+        assertTrue(json.contains("\"display_name\":\"John\""), json);
+        assertFalse(json.contains("\"displayName\""), json);
+        assertEquals("John", this.roundTrip(sample, Sample.class).displayName);
+    }
+
+    @Test
+    void serializedNameAlternatesAreRead() {
+
+        // the alternate name
+        Sample sample = this.engine().from("{\"displayName\":\"Anna\"}", Sample.class);
+
+        assertEquals("Anna", sample.displayName);
+    }
+
+    @Test
+    void complexMapKeysRoundTrip() {
+
+        // the map of object keys
+        var sample = new Sample();
+
+        sample.byKey = new LinkedHashMap<>();
+        sample.byKey.put(new Key("a", 1), "first");
+        sample.byKey.put(new Key("b", 2), "second");
+
+        assertEquals(sample.byKey, this.roundTrip(sample, Sample.class).byKey);
+    }
+
+    @Test
+    void complexMapKeysAreArraysOfPairs() {
+
+        // the map of object keys
+        var map = new LinkedHashMap<Key, String>();
+
+        map.put(new Key("a", 1), "first");
+
+        // the type of map
+        var type = new TypeToken<Map<Key, String>>(){}.getType();
+        var json = this.engine().to(map, false);
+
+        assertEquals("[[{\"group\":\"a\",\"index\":1},\"first\"]]", json);
+        assertEquals(map, this.engine().from(json, type));
+    }
+
+    @Test
+    void simpleMapKeysAreObjects() {
+
+        // the map of string keys
+        var map = new LinkedHashMap<String, Integer>();
+
+        map.put("a", 1);
+        map.put("b", 2);
+
+        // the type of map
+        var type = new TypeToken<Map<String, Integer>>(){}.getType();
+        var json = this.engine().to(map, false);
+
+        assertEquals("{\"a\":1,\"b\":2}", json);
+        assertEquals(map, this.engine().from(json, type));
+    }
+
+    @Test
+    void unknownPropertiesAreIgnored() {
+
+        // the document with unknown scalar, object and array properties
+        var json = "{\"name\":\"n\",\"unknown\":1,\"other\":{\"a\":[1,2,{\"b\":null}]},\"more\":[{\"x\":1}],\"count\":3}";
+
+        // the sample
+        Sample sample = this.engine().from(json, Sample.class);
+
+        assertEquals("n", sample.name);
+        assertEquals(Integer.valueOf(3), sample.count);
+    }
+
+    @Test
+    void genericListsRoundTrip() {
+
+        // the list of samples
+        var first = new Sample();
+
+        first.name = "first";
+        first.tags = List.of("x", "y");
+
+        // the type of list
+        var type = new TypeToken<List<Sample>>(){}.getType();
+        List<Sample> copy = this.roundTrip(List.of(first, new Sample()), type);
+
+        assertEquals(2, copy.size());
+        assertEquals("first", copy.get(0).name);
+        assertEquals(List.of("x", "y"), copy.get(0).tags);
+        assertNull(copy.get(1).name);
+    }
+
+    /**
+     * The sample document
+     */
+    static class Sample {
+
+        /**
+         * The name
+         */
+        String name;
+
+        /**
+         * The count
+         */
+        Integer count;
+
+        /**
+         * The tags
+         */
+        List<String> tags;
+
+        /**
+         * The legacy date
+         */
+        Date created;
+
+        /**
+         * The zoned time
+         */
+        ZonedDateTime zoned;
+
+        /**
+         * The local date
+         */
+        LocalDate day;
+
+        /**
+         * The instant
+         */
+        Instant instant;
+
+        /**
+         * The timeout
+         */
+        Duration timeout;
+
+        /**
+         * The renamed field
+         */
+        @SerializedName(value = "display_name", alternate = { "displayName" })
+        String displayName;
+
+        /**
+         * The map of object keys
+         */
+        Map<Key, String> byKey;
+    }
+
+    /**
+     * The complex map key
+     */
+    static class Key {
+
+        /**
+         * The group
+         */
+        String group;
+
+        /**
+         * The index
+         */
+        int index;
+
+        /**
+         * Creates new instance of key
+         */
+        Key() {
+        }
+
+        /**
+         * Creates new instance of key
+         *
+         * @param group The group
+         * @param index The index
+         */
+        Key(String group, int index) {
+            this.group = group;
+            this.index = index;
+        }
+
+        /**
+         * Checks if other is the same key
+         *
+         * @param other The other object
+         * @return Returns true if equal
+         */
+        @Override
+        public boolean equals(Object other) {
+
+            if(!(other instanceof Key)){
+                return false;
+            }
+
+            // the other key
+            var key = (Key) other;
+
+            return Objects.equals(this.group, key.group) && this.index == key.index;
+        }
+
+        /**
+         * Gets the hash code of key
+         *
+         * @return Returns the hash code
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.group, this.index);
+        }
+    }
+}
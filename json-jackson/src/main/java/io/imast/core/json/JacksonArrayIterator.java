@@ -0,0 +1,150 @@
+package io.imast.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * The lazy iterator over elements of a top-level JSON array based on Jackson
+ * 
+ * @author davitp
+ * @param <T> The type of element
+ */
+public class JacksonArrayIterator<T> implements JsonIterator<T> {
+    
+    /**
+     * The underlying parser
+     */
+    private final JsonParser parser;
+    
+    /**
+     * The element reader
+     */
+    private final ObjectReader reader;
+    
+    /**
+     * The array is open indicator
+     */
+    private boolean started;
+    
+    /**
+     * The current token is the next element indicator
+     */
+    private boolean peeked;
+    
+    /**
+     * The array is fully consumed indicator
+     */
+    private boolean finished;
+
+    /**
+     * Creates new instance of Jackson array iterator
+     * 
+     * @param parser The parser positioned before the array
+     * @param reader The element reader
+     */
+    JacksonArrayIterator(JsonParser parser, ObjectReader reader) {
+        this.parser = parser;
+        this.reader = reader;
+        this.started = false;
+        this.peeked = false;
+        this.finished = false;
+    }
+
+    /**
+     * Checks if array has more elements
+     * 
+     * @return Returns true if next element is available
+     */
+    @Override
+    public boolean hasNext() {
+        
+        // nothing more to read
+        if(this.finished){
+            return false;
+        }
+        
+        // element is already peeked
+        if(this.peeked){
+            return true;
+        }
+        
+        try {
+            // open the array on first access
+            if(!this.started){
+                
+                // the first token
+                var first = this.parser.nextToken();
+                
+                // empty document or explicit null is treated as an empty array
+                if(first == null || first == JsonToken.VALUE_NULL){
+                    this.finished = true;
+                    return false;
+                }
+                
+                // should be an array
+                if(first != JsonToken.START_ARRAY){
+                    throw new IllegalStateException("Expected JSON array but was " + first);
+                }
+                
+                this.started = true;
+            }
+            
+            // move to the next element
+            var token = this.parser.nextToken();
+            
+            // end of array
+            if(token == JsonToken.END_ARRAY || token == null){
+                this.finished = true;
+                return false;
+            }
+            
+            this.peeked = true;
+            
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Reads the next element
+     * 
+     * @return Returns the next element
+     */
+    @Override
+    public T next() {
+        
+        // check element availability
+        if(!this.hasNext()){
+            throw new NoSuchElementException();
+        }
+        
+        try {
+            this.peeked = false;
+            
+            // explicit null element
+            if(this.parser.currentToken() == JsonToken.VALUE_NULL){
+                return null;
+            }
+            
+            return this.reader.readValue(this.parser);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Closes the underlying parser
+     * 
+     * @throws IOException 
+     */
+    @Override
+    public void close() throws IOException {
+        this.finished = true;
+        this.parser.close();
+    }
+}
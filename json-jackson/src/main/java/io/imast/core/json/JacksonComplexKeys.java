@@ -0,0 +1,412 @@
+package io.imast.core.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The Gson complex map key handling for Jackson
+ *
+ * Same as Gson with complex map key serialization, maps having keys written
+ * as JSON objects or arrays are written as array of [key, value] pairs and
+ * both the pairs and the object form are accepted on read. Maps of scalar
+ * keys keep the Jackson handling.
+ *
+ * @author davitp
+ */
+final class JacksonComplexKeys {
+
+    /**
+     * Hidden constructor of module holder
+     */
+    private JacksonComplexKeys() {
+    }
+
+    /**
+     * Creates the module of complex key maps
+     *
+     * @return Returns the module
+     */
+    static SimpleModule module() {
+
+        // the module
+        var module = new SimpleModule("imast-complex-map-keys");
+
+        module.setSerializerModifier(new BeanSerializerModifier() {
+
+            /**
+             * Wrap the serializer of maps with non-scalar keys
+             *
+             * @param config The serialization config
+             * @param type The map type
+             * @param description The type description
+             * @param serializer The default serializer
+             * @return Returns the serializer
+             */
+            @Override
+            public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType type, BeanDescription description, JsonSerializer<?> serializer) {
+                return isScalar(type.getKeyType().getRawClass()) ? serializer : new PairsSerializer(serializer);
+            }
+        });
+
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+
+            /**
+             * Replace the deserializer of maps with declared non-scalar keys
+             *
+             * @param config The deserialization config
+             * @param type The map type
+             * @param description The type description
+             * @param deserializer The default deserializer
+             * @return Returns the deserializer
+             */
+            @Override
+            public JsonDeserializer<?> modifyMapDeserializer(DeserializationConfig config, MapType type, BeanDescription description, JsonDeserializer<?> deserializer) {
+
+                // the declared key type
+                var keyType = type.getKeyType().getRawClass();
+
+                return isScalar(keyType) || keyType == Object.class ? deserializer : new PairsDeserializer(type, null, null);
+            }
+        });
+
+        return module;
+    }
+
+    /**
+     * Checks if values of type are written as JSON scalars
+     *
+     * @param type The type
+     * @return Returns true if scalar
+     */
+    static boolean isScalar(Class<?> type) {
+        return type.isPrimitive()
+                || CharSequence.class.isAssignableFrom(type)
+                || Number.class.isAssignableFrom(type)
+                || Boolean.class == type
+                || Character.class == type
+                || Enum.class.isAssignableFrom(type)
+                || UUID.class == type
+                || Date.class.isAssignableFrom(type)
+                || (TemporalAccessor.class.isAssignableFrom(type) && type != TemporalAccessor.class);
+    }
+
+    /**
+     * The map serializer writing pairs for complex keys
+     */
+    static final class PairsSerializer extends StdSerializer<Map<?, ?>> implements ContextualSerializer, ResolvableSerializer {
+
+        /**
+         * The default map serializer
+         */
+        private final JsonSerializer<Object> delegate;
+
+        /**
+         * Creates new instance of pairs serializer
+         *
+         * @param delegate The default map serializer
+         */
+        @SuppressWarnings("unchecked")
+        PairsSerializer(JsonSerializer<?> delegate) {
+            super(Map.class, false);
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        /**
+         * Contextualize the default serializer
+         *
+         * @param provider The serializer provider
+         * @param property The property
+         * @return Returns the contextual serializer
+         * @throws JsonMappingException
+         */
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+
+            if(!(this.delegate instanceof ContextualSerializer)){
+                return this;
+            }
+
+            // the contextual default
+            var contextual = ((ContextualSerializer) this.delegate).createContextual(provider, property);
+
+            return contextual == this.delegate ? this : new PairsSerializer(contextual);
+        }
+
+        /**
+         * Resolve the default serializer
+         *
+         * @param provider The serializer provider
+         * @throws JsonMappingException
+         */
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if(this.delegate instanceof ResolvableSerializer){
+                ((ResolvableSerializer) this.delegate).resolve(provider);
+            }
+        }
+
+        /**
+         * Checks if map is empty for inclusion
+         *
+         * @param provider The serializer provider
+         * @param value The map
+         * @return Returns true if empty
+         */
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Map<?, ?> value) {
+            return this.delegate.isEmpty(provider, value);
+        }
+
+        /**
+         * Write the map as pairs if any key is complex
+         *
+         * @param map The map
+         * @param generator The generator
+         * @param provider The serializer provider
+         * @throws IOException
+         */
+        @Override
+        public void serialize(Map<?, ?> map, JsonGenerator generator, SerializerProvider provider) throws IOException {
+
+            // scalar keys only
+            if(!hasComplexKeys(map)){
+                this.delegate.serialize(map, generator, provider);
+                return;
+            }
+
+            generator.writeStartArray();
+
+            for(var entry : map.entrySet()){
+                generator.writeStartArray();
+                provider.defaultSerializeValue(entry.getKey(), generator);
+                provider.defaultSerializeValue(entry.getValue(), generator);
+                generator.writeEndArray();
+            }
+
+            generator.writeEndArray();
+        }
+
+        /**
+         * Checks if any key of map is complex
+         *
+         * @param map The map
+         * @return Returns true if complex keys found
+         */
+        private static boolean hasComplexKeys(Map<?, ?> map) {
+
+            for(var key : map.keySet()){
+                if(key != null && !isScalar(key.getClass())){
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The map deserializer reading pairs or objects for complex keys
+     */
+    static final class PairsDeserializer extends StdDeserializer<Map<Object, Object>> implements ContextualDeserializer {
+
+        /**
+         * The map type
+         */
+        private final MapType type;
+
+        /**
+         * The key deserializer
+         */
+        private final JsonDeserializer<Object> keys;
+
+        /**
+         * The value deserializer
+         */
+        private final JsonDeserializer<Object> values;
+
+        /**
+         * Creates new instance of pairs deserializer
+         *
+         * @param type The map type
+         * @param keys The key deserializer (null before contextualization)
+         * @param values The value deserializer (null before contextualization)
+         */
+        PairsDeserializer(MapType type, JsonDeserializer<Object> keys, JsonDeserializer<Object> values) {
+            super(type);
+            this.type = type;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        /**
+         * Resolve the key and value deserializers
+         *
+         * @param context The deserialization context
+         * @param property The property
+         * @return Returns the contextual deserializer
+         * @throws JsonMappingException
+         */
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext context, BeanProperty property) throws JsonMappingException {
+            return new PairsDeserializer(this.type, context.findContextualValueDeserializer(this.type.getKeyType(), property), context.findContextualValueDeserializer(this.type.getContentType(), property));
+        }
+
+        /**
+         * Read the map from pairs or object
+         *
+         * @param parser The parser
+         * @param context The deserialization context
+         * @return Returns the map
+         * @throws IOException
+         */
+        @Override
+        public Map<Object, Object> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+
+            // the map
+            var map = this.create(context);
+
+            // the pairs form
+            if(parser.currentToken() == JsonToken.START_ARRAY){
+
+                while(parser.nextToken() != JsonToken.END_ARRAY){
+
+                    if(parser.currentToken() != JsonToken.START_ARRAY){
+                        return this.mismatch(parser, context);
+                    }
+
+                    // the pair
+                    parser.nextToken();
+
+                    var key = this.read(this.keys, parser, context);
+
+                    parser.nextToken();
+
+                    var value = this.read(this.values, parser, context);
+
+                    if(parser.nextToken() != JsonToken.END_ARRAY){
+                        return this.mismatch(parser, context);
+                    }
+
+                    map.put(key, value);
+                }
+
+                return map;
+            }
+
+            // the object form (names are read as key values)
+            var token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+
+            for(; token == JsonToken.FIELD_NAME; token = parser.nextToken()){
+
+                // the key from name
+                var name = TextNode.valueOf(parser.getCurrentName()).traverse(parser.getCodec());
+
+                name.nextToken();
+
+                var key = this.read(this.keys, name, context);
+
+                parser.nextToken();
+
+                map.put(key, this.read(this.values, parser, context));
+            }
+
+            if(token != JsonToken.END_OBJECT){
+                return this.mismatch(parser, context);
+            }
+
+            return map;
+        }
+
+        /**
+         * Read the value at current token
+         *
+         * @param deserializer The deserializer
+         * @param parser The parser
+         * @param context The deserialization context
+         * @return Returns the value
+         * @throws IOException
+         */
+        private Object read(JsonDeserializer<Object> deserializer, JsonParser parser, DeserializationContext context) throws IOException {
+            return parser.currentToken() == JsonToken.VALUE_NULL ? deserializer.getNullValue(context) : deserializer.deserialize(parser, context);
+        }
+
+        /**
+         * Report the unexpected token
+         *
+         * @param parser The parser
+         * @param context The deserialization context
+         * @return Never returns
+         * @throws IOException
+         */
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> mismatch(JsonParser parser, DeserializationContext context) throws IOException {
+            return (Map<Object, Object>) context.handleUnexpectedToken(this.type, parser);
+        }
+
+        /**
+         * Creates the map instance
+         *
+         * @param context The deserialization context
+         * @return Returns the map
+         * @throws IOException
+         */
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> create(DeserializationContext context) throws IOException {
+
+            // the map class
+            var raw = this.type.getRawClass();
+
+            // interfaces get the Gson defaults
+            if(raw.isInterface() || Modifier.isAbstract(raw.getModifiers())){
+
+                if(SortedMap.class.isAssignableFrom(raw)){
+                    return new TreeMap<>();
+                }
+
+                if(ConcurrentMap.class.isAssignableFrom(raw)){
+                    return new ConcurrentHashMap<>();
+                }
+
+                return new LinkedHashMap<>();
+            }
+
+            try {
+                return (Map<Object, Object>) ClassUtil.createInstance(raw, true);
+            } catch (IllegalArgumentException ex) {
+                return (Map<Object, Object>) context.handleInstantiationProblem(raw, null, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.imast.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Jackson deserializer for Duration type compatible with {@link DurationConverter}
+ * 
+ * @author davitp
+ */
+public class JacksonDurationDeserializer extends StdDeserializer<Duration> {
+
+    /**
+     * Creates new instance of duration deserializer
+     */
+    public JacksonDurationDeserializer() {
+        super(Duration.class);
+    }
+
+    /**
+     * Deserialize ISO-8601 string or (seconds, nanos) object to a Duration
+     * 
+     * @param parser The JSON parser
+     * @param context The deserialization context
+     * @return Returns converted duration
+     * @throws IOException 
+     */
+    @Override
+    public Duration deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        
+        // if JSON object, consider as (seconds, nanos) pair
+        if(parser.currentToken() == JsonToken.START_OBJECT){
+            
+            // as object
+            JsonNode obj = parser.readValueAsTree();
+            
+            // build duration from seconds and nanos
+            return Duration.ofSeconds(obj.get("seconds").asLong(), obj.get("nanos").asInt());
+        }
+        
+        return Duration.parse(parser.getValueAsString());
+    }
+}
@@ -0,0 +1,75 @@
+package io.imast.core.json;
+
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.google.gson.annotations.SerializedName;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Jackson annotation introspector honoring Gson's {@link SerializedName}
+ *
+ * The value is the property name on write and read, the alternates are read
+ * as aliases, Jackson annotations are considered otherwise
+ *
+ * @author davitp
+ */
+class JacksonGsonAnnotations extends JacksonAnnotationIntrospector {
+
+    /**
+     * Gets the property name for serialization
+     *
+     * @param annotated The annotated member
+     * @return Returns the name or null if not specified
+     */
+    @Override
+    public PropertyName findNameForSerialization(Annotated annotated) {
+
+        // the Gson name
+        var name = annotated.getAnnotation(SerializedName.class);
+
+        return name != null ? PropertyName.construct(name.value()) : super.findNameForSerialization(annotated);
+    }
+
+    /**
+     * Gets the property name for deserialization
+     *
+     * @param annotated The annotated member
+     * @return Returns the name or null if not specified
+     */
+    @Override
+    public PropertyName findNameForDeserialization(Annotated annotated) {
+
+        // the Gson name
+        var name = annotated.getAnnotation(SerializedName.class);
+
+        return name != null ? PropertyName.construct(name.value()) : super.findNameForDeserialization(annotated);
+    }
+
+    /**
+     * Gets the alternate names accepted on read
+     *
+     * @param annotated The annotated member
+     * @return Returns the aliases or null if none
+     */
+    @Override
+    public List<PropertyName> findPropertyAliases(Annotated annotated) {
+
+        // the Gson name
+        var name = annotated.getAnnotation(SerializedName.class);
+
+        if(name == null || name.alternate().length == 0){
+            return super.findPropertyAliases(annotated);
+        }
+
+        // the alternates
+        var aliases = new ArrayList<PropertyName>(name.alternate().length);
+
+        for(var alternate : name.alternate()){
+            aliases.add(PropertyName.construct(alternate));
+        }
+
+        return aliases;
+    }
+}
@@ -0,0 +1,308 @@
+package io.imast.core.json;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.TimeZone;
+
+/**
+ * The Jackson-based JSON engine
+ *
+ * Binds fields (not accessors) to follow Gson semantics, writes nulls, ignores
+ * unknown properties and keeps java.time values in ISO-8601 form. Gson's
+ * {@code @SerializedName} and complex map keys are honored. Unlike Gson,
+ * target types need a no-argument constructor and other Gson annotations are
+ * not considered, so the engine is opt-in: having the module on the class path
+ * does not change {@link Json}, it is used only when selected with the
+ * "io.imast.json.engine" system property set to "jackson".
+ *
+ * @author davitp
+ */
+public class JacksonJsonEngine implements JsonEngine {
+
+    /**
+     * The engine name
+     */
+    public static final String NAME = "jackson";
+
+    /**
+     * The date format (same as Gson profile)
+     */
+    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ";
+
+    /**
+     * The object mapper
+     */
+    private final ObjectMapper mapper;
+
+    /**
+     * The pretty writer
+     */
+    private final ObjectWriter pretty;
+
+    /**
+     * The compact writer
+     */
+    private final ObjectWriter compact;
+
+    /**
+     * Creates new instance of Jackson engine with default mapper
+     */
+    public JacksonJsonEngine() {
+        this(createMapper());
+    }
+
+    /**
+     * Creates new instance of Jackson engine
+     *
+     * @param mapper The configured object mapper
+     */
+    public JacksonJsonEngine(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.pretty = mapper.writerWithDefaultPrettyPrinter();
+        this.compact = mapper.writer();
+    }
+
+    /**
+     * Creates the object mapper matching Gson profile behavior
+     *
+     * @return Returns new object mapper
+     */
+    public static ObjectMapper createMapper(){
+
+        // the duration handling compatible with gson converter
+        var durations = new SimpleModule("imast-duration")
+                .addDeserializer(Duration.class, new JacksonDurationDeserializer());
+
+        // the date format in the local time zone (as gson does)
+        var dateFormat = new SimpleDateFormat(DATE_FORMAT);
+
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(durations)
+                .registerModule(JacksonComplexKeys.module())
+                .setAnnotationIntrospector(new JacksonGsonAnnotations())
+                .setDateFormat(dateFormat)
+                .setTimeZone(TimeZone.getDefault())
+                .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                .disable(MapperFeature.AUTO_DETECT_GETTERS)
+                .disable(MapperFeature.AUTO_DETECT_IS_GETTERS)
+                .disable(MapperFeature.AUTO_DETECT_SETTERS)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Gets the writer by pretty option
+     *
+     * @param pretty Use pretty printing
+     * @return Returns object writer
+     */
+    private ObjectWriter writer(boolean pretty){
+        return pretty ? this.pretty : this.compact;
+    }
+
+    /**
+     * Gets the Jackson type for the given type
+     *
+     * @param type The reflection type
+     * @return Returns Jackson type
+     */
+    private JavaType javaType(Type type){
+        return this.mapper.getTypeFactory().constructType(type);
+    }
+
+    /**
+     * Gets the engine name
+     *
+     * @return Returns the engine name
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Gets the engine priority (below Gson, so it is used only when selected by name)
+     *
+     * @return Returns the priority
+     */
+    @Override
+    public int getPriority() {
+        return -10;
+    }
+
+    /**
+     * Convert the object to JSON string
+     *
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns serialized string
+     */
+    @Override
+    public String to(Object object, boolean pretty) {
+        try {
+            return this.writer(pretty).writeValueAsString(object);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Write the object as JSON directly into the appendable
+     *
+     * @param object The object to serialize
+     * @param output The target output
+     * @param pretty Use pretty printing
+     */
+    @Override
+    public void to(Object object, Appendable output, boolean pretty) {
+
+        // writers are used directly
+        if(output instanceof Writer){
+            try {
+                this.writer(pretty).writeValue((Writer) output, object);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            return;
+        }
+
+        try {
+            output.append(this.to(object, pretty));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Write the object as UTF-8 JSON directly into the stream
+     *
+     * @param object The object to serialize
+     * @param output The target stream
+     * @param pretty Use pretty printing
+     */
+    @Override
+    public void to(Object object, OutputStream output, boolean pretty) {
+        try {
+            this.writer(pretty).writeValue(output, object);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Convert the object to UTF-8 JSON bytes
+     *
+     * @param object The object to serialize
+     * @param pretty Use pretty printing
+     * @return Returns UTF-8 encoded JSON
+     */
+    @Override
+    public byte[] toBytes(Object object, boolean pretty) {
+        try {
+            return this.writer(pretty).writeValueAsBytes(object);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Import JSON text in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param json The JSON text
+     * @param classType The class type
+     * @return The object
+     */
+    @Override
+    public <T> T from(String json, Type classType) {
+
+        // gson returns null for null input
+        if(json == null){
+            return null;
+        }
+
+        try {
+            return this.mapper.readValue(json, this.javaType(classType));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Import JSON stream in to the object
+     *
+     * @param <T> The T parameter for input
+     * @param jsonReader The JSON reader
+     * @param classType The class type
+     * @return The object
+     */
+    @Override
+    public <T> T from(Reader jsonReader, Type classType) {
+        try {
+            return this.mapper.readValue(jsonReader, this.javaType(classType));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Adapt the object to the target type with exact same schema
+     *
+     * @param <T> The target type
+     * @param object The object to adapt
+     * @param targetType The target type
+     * @return Returns adapted object
+     */
+    @Override
+    public <T> T adapt(Object object, Type targetType) {
+
+        // nothing to adapt
+        if(object == null){
+            return null;
+        }
+
+        return this.mapper.convertValue(object, this.javaType(targetType));
+    }
+
+    /**
+     * Iterate elements of a top-level JSON array lazily
+     *
+     * @param <T> The type of element
+     * @param jsonReader The JSON reader
+     * @param elementType The element type
+     * @return Returns closeable iterator over the array elements
+     */
+    @Override
+    public <T> JsonIterator<T> iterate(Reader jsonReader, Type elementType) {
+        try {
+            return new JacksonArrayIterator<>(this.mapper.getFactory().createParser(jsonReader), this.mapper.readerFor(this.javaType(elementType)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
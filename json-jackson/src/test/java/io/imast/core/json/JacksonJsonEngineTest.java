@@ -0,0 +1,19 @@
+package io.imast.core.json;
+
+/**
+ * The conformance of Jackson engine
+ *
+ * @author davitp
+ */
+public class JacksonJsonEngineTest extends JsonEngineConformance {
+
+    /**
+     * Gets the engine under test
+     *
+     * @return Returns the Jackson engine
+     */
+    @Override
+    protected JsonEngine engine() {
+        return new JacksonJsonEngine();
+    }
+}